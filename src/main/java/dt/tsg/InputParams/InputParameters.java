@@ -1,5 +1,7 @@
 package dt.tsg.InputParams;
 
+import dt.tsg.utils.GenerationException;
+
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -44,6 +46,35 @@ public class InputParameters {
     private boolean maximizeWCET = false;           // controls max-WCET objective for the CP-Solver
     private boolean deadlineEqualToPeriod = false;  // controls the generation of implicit deadlines
 
+    // CP Model Options
+    public enum NoOverlapEncoding {PAIRWISE, PERRESOURCE, CUMULATIVE}
+
+    private NoOverlapEncoding noOverlapEncoding = NoOverlapEncoding.PAIRWISE;  // controls how NoOverlap constraints are added to the CP Model
+    private boolean symmetryBreaking = false;       // enables ordering constraints for interchangeable resources
+    private int modelCacheSize = 0;                 // number of reusable CP Model structures kept between generations, 0 disables the cache
+    public enum SolverProfile {HINT, FIXED, AUTOMATIC}
+
+    private SolverProfile solverProfile = SolverProfile.HINT;                   // controls the search strategy and presolve of the CP-Solver
+    private ArrayList<SolverProfile> solverRace = new ArrayList<>();            // profiles that race on copies of the CP Model, empty disables racing
+    private double timeLimit = 0;                   // wall-clock time limit of the CP-Solver per task set in seconds, 0 disables the limit
+    private double deterministicTimeLimit = 0;      // deterministic time limit of the CP-Solver per task set, 0 disables the limit
+    private int maxLimitEscalations = 3;            // number of times the scheduling limit of an infeasible mixed periodic task set is doubled
+    private boolean feasibilityPreChecks = true;    // enables necessary feasibility conditions that are checked before the CP Model is built
+    private boolean explainInfeasibility = false;   // enables the explanation of infeasible task sets and the memo of infeasible configurations
+    private int solutionConsumerThreads = 0;        // number of threads that post-process additional solutions during the search, 0 post-processes them after the search
+    public enum HintStrategy {RANDOM, LISTSCHEDULING}
+
+    private HintStrategy hintStrategy = HintStrategy.RANDOM;  // controls how the hints of the CP Model are chosen
+    public enum Engine {CPSAT, HEURISTIC}
+
+    private Engine engine = Engine.CPSAT;           // controls whether the schedule is found by the CP-Solver or by the heuristic engine
+    private int heuristicIterations = 50;           // number of greedy passes of the heuristic engine before it gives up
+    public enum DistanceMetric {HAMMING, L1}
+
+    private int minSolutionDistance = 0;            // minimum distance between the WCET/resource vectors of additional solutions, 0 enumerates the solutions of one search
+    private DistanceMetric distanceMetric = DistanceMetric.HAMMING;     // the distance between two solutions, see "CSPModelFunctions.addSolutionDistanceConstraint"
+    private Long seed = null;                       // the root seed of all random numbers, null draws a random seed
+
     // Distributions for periodicity, period length, residency constraints, number of tasks, number of resources
     public enum Distribution {UNIFORM, GEOMETRIC, POISSON, BINOMIAL}
 
@@ -92,6 +123,7 @@ public class InputParameters {
      * @param warnings List of Strings in which warnings are saved.
      * @return InputParameter object.
      * @throws Exception if path variable is null.
+     * @throws GenerationException if the file cannot be read or does not specify the generation method.
      */
     public static InputParameters readInputFile(String path, ArrayList<String> warnings) throws Exception {
         if (path == null) throw new Exception("File path is null");
@@ -105,10 +137,26 @@ public class InputParameters {
             }
         } catch (Exception e) {
             System.out.println(e.getMessage());
-            System.exit(-1);
+            throw new GenerationException(GenerationException.Reason.INVALID_INPUT, "Failed to read the input file " + path + ": " + e.getMessage(), e);
         }
 
-        String[] allLines = content.toString().split("\n");
+        return parseInput(content.toString(), warnings);
+    }
+
+    /**
+     * Reads the InputParameters from the content of an input file, see "readInputFile".
+     *
+     * @param content  the content of the input file, with one keyword per line.
+     * @param warnings List of Strings in which warnings are saved.
+     * @return InputParameter object.
+     * @throws GenerationException if the content does not specify the generation method.
+     */
+    public static InputParameters parseInput(String content, ArrayList<String> warnings) {
+        // the keywords and values are read up to the last character of a line, which is the carriage return of a Windows line break
+        String[] allLines = content.split("\r?\n");
+        for (int i = 0; i < allLines.length; i++) {
+            allLines[i] = allLines[i] + "\r";
+        }
         // read the first line to determine what Generation Method is used
         if (allLines[0].toLowerCase().contains("basic")) {
             InputParameters inputs = new InputParameters();
@@ -490,6 +538,7 @@ public class InputParameters {
                     }
                     case "deadlineequaltoperiod" -> inputs.setDeadlineEqualToPeriod(true);
                     default -> {
+                        if (readModelOption(keywordsubstring, line, inputs, warnings)) break;
                         System.out.println("Warning: Could not recognize the keyword when reading input-file.\nKeyword: " + keywordsubstring);
                         warnings.add("Warning: Could not recognize the keyword when reading input-file.\nKeyword: " + keywordsubstring);
                     }
@@ -712,6 +761,7 @@ public class InputParameters {
                         inputs.setResidencyBinomialN(residencyBinomialN);
                     }
                     default -> {
+                        if (readModelOption(keywordsubstring, line, inputs, warnings)) break;
                         System.out.println("Warning: Could not recognize the keyword when reading input-file.\nKeyword: " + keywordsubstring);
                         warnings.add("Warning: Could not recognize the keyword when reading input-file.\nKeyword: " + keywordsubstring);
                     }
@@ -723,9 +773,157 @@ public class InputParameters {
             return inputs;
         } else {
             System.out.println("Unable to recognize the Generation Method at line 0 of the input file.\nMake sure to specify the generation method (\"TGFF\" or \"Basic\") in the first line of the input file.");
-            System.exit(-1);
+            throw new GenerationException(GenerationException.Reason.INVALID_INPUT, "Unable to recognize the Generation Method at line 0 of the input file");
+        }
+    }
+
+    /**
+     * Reads the CP Model and Solver options that are shared by the Basic and the TGFF input file.
+     *
+     * @param keyword  the keyword of the current line.
+     * @param line     the current line of the input file.
+     * @param inputs   the InputParameters object the option is written to.
+     * @param warnings List of Strings in which warnings are saved.
+     * @return true if the keyword is a CP Model or Solver option, false otherwise.
+     */
+    private static boolean readModelOption(String keyword, String line, InputParameters inputs, ArrayList<String> warnings) {
+        switch (keyword) {
+            case "nooverlapencoding" -> {
+                String encodingString = line.substring(line.indexOf(" ") + 1, line.length() - 1).toUpperCase();
+                NoOverlapEncoding encoding = NoOverlapEncoding.PAIRWISE;
+                switch (encodingString) {
+                    case "PAIRWISE" -> encoding = NoOverlapEncoding.PAIRWISE;
+                    case "PERRESOURCE" -> encoding = NoOverlapEncoding.PERRESOURCE;
+                    case "CUMULATIVE" -> encoding = NoOverlapEncoding.CUMULATIVE;
+                    default -> {
+                        System.out.println("WARNING: NoOverlap encoding not recognized during input-file reading.\nEncoding = " + encodingString + ". Using PAIRWISE encoding.");
+                        warnings.add("WARNING: NoOverlap encoding not recognized during input-file reading.\nEncoding = " + encodingString + ". Using PAIRWISE encoding.");
+                    }
+                }
+                inputs.setNoOverlapEncoding(encoding);
+            }
+            case "symmetrybreaking" -> inputs.setSymmetryBreaking(true);
+            case "modelcachesize" -> {
+                String cacheSizeString = line.substring(line.indexOf(" ") + 1, line.length() - 1);
+                int cacheSize = Integer.parseInt(cacheSizeString);
+                inputs.setModelCacheSize(cacheSize);
+            }
+            case "solverprofile" -> {
+                String profileString = line.substring(line.indexOf(" ") + 1, line.length() - 1).toUpperCase();
+                inputs.setSolverProfile(readSolverProfile(profileString, warnings));
+            }
+            case "solverrace" -> {
+                String profilesString = line.substring(line.indexOf(" ") + 1, line.length() - 1).toUpperCase();
+                ArrayList<SolverProfile> profiles = new ArrayList<>();
+                for (String profileString : profilesString.split(",")) {
+                    profiles.add(readSolverProfile(profileString.trim(), warnings));
+                }
+                inputs.setSolverRace(profiles);
+            }
+            case "timelimit" -> {
+                String timeLimitString = line.substring(line.indexOf(" ") + 1, line.length() - 1);
+                inputs.setTimeLimit(Double.parseDouble(timeLimitString));
+            }
+            case "deterministictimelimit" -> {
+                String timeLimitString = line.substring(line.indexOf(" ") + 1, line.length() - 1);
+                inputs.setDeterministicTimeLimit(Double.parseDouble(timeLimitString));
+            }
+            case "maxlimitescalations" -> {
+                String escalationString = line.substring(line.indexOf(" ") + 1, line.length() - 1);
+                int escalations = Integer.parseInt(escalationString);
+                inputs.setMaxLimitEscalations(escalations);
+            }
+            case "nofeasibilityprechecks" -> inputs.setFeasibilityPreChecks(false);
+            case "explaininfeasibility" -> inputs.setExplainInfeasibility(true);
+            case "hintstrategy" -> {
+                String strategyString = line.substring(line.indexOf(" ") + 1, line.length() - 1).toUpperCase();
+                HintStrategy strategy = HintStrategy.RANDOM;
+                switch (strategyString) {
+                    case "RANDOM" -> strategy = HintStrategy.RANDOM;
+                    case "LISTSCHEDULING" -> strategy = HintStrategy.LISTSCHEDULING;
+                    default -> {
+                        System.out.println("WARNING: Hint strategy not recognized during input-file reading.\nStrategy = " + strategyString + ". Using RANDOM hints.");
+                        warnings.add("WARNING: Hint strategy not recognized during input-file reading.\nStrategy = " + strategyString + ". Using RANDOM hints.");
+                    }
+                }
+                inputs.setHintStrategy(strategy);
+            }
+            case "engine" -> {
+                String engineString = line.substring(line.indexOf(" ") + 1, line.length() - 1).toUpperCase();
+                Engine engine = Engine.CPSAT;
+                switch (engineString) {
+                    case "CPSAT" -> engine = Engine.CPSAT;
+                    case "HEURISTIC" -> engine = Engine.HEURISTIC;
+                    default -> {
+                        System.out.println("WARNING: Engine not recognized during input-file reading.\nEngine = " + engineString + ". Using the CPSAT engine.");
+                        warnings.add("WARNING: Engine not recognized during input-file reading.\nEngine = " + engineString + ". Using the CPSAT engine.");
+                    }
+                }
+                inputs.setEngine(engine);
+            }
+            case "heuristiciterations" -> {
+                String iterationString = line.substring(line.indexOf(" ") + 1, line.length() - 1);
+                int iterations = Integer.parseInt(iterationString);
+                inputs.setHeuristicIterations(iterations);
+            }
+            case "seed" -> {
+                String seedString = line.substring(line.indexOf(" ") + 1, line.length() - 1);
+                inputs.setSeed(Long.parseLong(seedString));
+            }
+            case "mindistance" -> {
+                String distanceString = line.substring(line.indexOf(" ") + 1, line.length() - 1);
+                int distance = Integer.parseInt(distanceString);
+                inputs.setMinSolutionDistance(distance);
+            }
+            case "distancemetric" -> {
+                String metricString = line.substring(line.indexOf(" ") + 1, line.length() - 1).toUpperCase();
+                DistanceMetric metric = DistanceMetric.HAMMING;
+                switch (metricString) {
+                    case "HAMMING" -> metric = DistanceMetric.HAMMING;
+                    case "L1" -> metric = DistanceMetric.L1;
+                    default -> {
+                        System.out.println("WARNING: Distance metric not recognized during input-file reading.\nMetric = " + metricString + ". Using the HAMMING distance.");
+                        warnings.add("WARNING: Distance metric not recognized during input-file reading.\nMetric = " + metricString + ". Using the HAMMING distance.");
+                    }
+                }
+                inputs.setDistanceMetric(metric);
+            }
+            case "solutionconsumerthreads" -> {
+                String threadString = line.substring(line.indexOf(" ") + 1, line.length() - 1);
+                int threads = Integer.parseInt(threadString);
+                inputs.setSolutionConsumerThreads(threads);
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a solver profile, unknown profiles are replaced by the HINT profile.
+     *
+     * @param profileString the name of the profile in upper case.
+     * @param warnings      List of Strings in which warnings are saved.
+     * @return the solver profile.
+     */
+    private static SolverProfile readSolverProfile(String profileString, ArrayList<String> warnings) {
+        switch (profileString) {
+            case "HINT" -> {
+                return SolverProfile.HINT;
+            }
+            case "FIXED" -> {
+                return SolverProfile.FIXED;
+            }
+            case "AUTOMATIC" -> {
+                return SolverProfile.AUTOMATIC;
+            }
+            default -> {
+                System.out.println("WARNING: Solver profile not recognized during input-file reading.\nProfile = " + profileString + ". Using HINT profile.");
+                warnings.add("WARNING: Solver profile not recognized during input-file reading.\nProfile = " + profileString + ". Using HINT profile.");
+                return SolverProfile.HINT;
+            }
         }
-        return null;
     }
 
     @Override
@@ -789,6 +987,23 @@ public class InputParameters {
                 ", \nNOResBinomialP=" + NOResourcesBinomialP +
                 ", \nNOResBinomialN=" + NOResourcesBinomialN +
                 ", \ndeadlineEqualToPeriod=" + deadlineEqualToPeriod +
+                ", \nnoOverlapEncoding=" + noOverlapEncoding +
+                ", \nsymmetryBreaking=" + symmetryBreaking +
+                ", \nmodelCacheSize=" + modelCacheSize +
+                ", \nsolverProfile=" + solverProfile +
+                ", \nsolverRace=" + solverRace +
+                ", \ntimeLimit=" + timeLimit +
+                ", \ndeterministicTimeLimit=" + deterministicTimeLimit +
+                ", \nmaxLimitEscalations=" + maxLimitEscalations +
+                ", \nsolutionConsumerThreads=" + solutionConsumerThreads +
+                ", \nfeasibilityPreChecks=" + feasibilityPreChecks +
+                ", \nexplainInfeasibility=" + explainInfeasibility +
+                ", \nhintStrategy=" + hintStrategy +
+                ", \nengine=" + engine +
+                ", \nheuristicIterations=" + heuristicIterations +
+                ", \nminSolutionDistance=" + minSolutionDistance +
+                ", \ndistanceMetric=" + distanceMetric +
+                ", \nseed=" + seed +
                 '}';
     }
 
@@ -842,13 +1057,15 @@ public class InputParameters {
 
     /**
      * Wrapper function for Sanity Checks. It executes the sanityChecks() function of Task Generation Input Parameters Class.
+     *
+     * @throws GenerationException if the input parameters did not pass the sanity checks.
      */
     public void executeSanityChecks() {
         String sanitycheckstatus = this.sanityChecks();
         if (sanitycheckstatus != null) {
             System.out.println("=================CRITICAL ERROR, CONSTRAINTS DID NOT PASS SANITY CHECKS=================");
             System.out.println(sanitycheckstatus);
-            System.exit(-1);
+            throw new GenerationException(GenerationException.Reason.INVALID_INPUT, sanitycheckstatus);
         }
     }
 
@@ -1315,4 +1532,140 @@ public class InputParameters {
     public void setDeadlineEqualToPeriod(boolean deadlineEqualToPeriod) {
         this.deadlineEqualToPeriod = deadlineEqualToPeriod;
     }
+
+    public NoOverlapEncoding getNoOverlapEncoding() {
+        return noOverlapEncoding;
+    }
+
+    public void setNoOverlapEncoding(NoOverlapEncoding noOverlapEncoding) {
+        this.noOverlapEncoding = noOverlapEncoding;
+    }
+
+    public boolean isSymmetryBreaking() {
+        return symmetryBreaking;
+    }
+
+    public void setSymmetryBreaking(boolean symmetryBreaking) {
+        this.symmetryBreaking = symmetryBreaking;
+    }
+
+    public int getModelCacheSize() {
+        return modelCacheSize;
+    }
+
+    public void setModelCacheSize(int modelCacheSize) {
+        this.modelCacheSize = modelCacheSize;
+    }
+
+    public int getSolutionConsumerThreads() {
+        return solutionConsumerThreads;
+    }
+
+    public void setSolutionConsumerThreads(int solutionConsumerThreads) {
+        this.solutionConsumerThreads = solutionConsumerThreads;
+    }
+
+    public SolverProfile getSolverProfile() {
+        return solverProfile;
+    }
+
+    public void setSolverProfile(SolverProfile solverProfile) {
+        this.solverProfile = solverProfile;
+    }
+
+    public ArrayList<SolverProfile> getSolverRace() {
+        return solverRace;
+    }
+
+    public void setSolverRace(ArrayList<SolverProfile> solverRace) {
+        this.solverRace = solverRace;
+    }
+
+    public double getTimeLimit() {
+        return timeLimit;
+    }
+
+    public void setTimeLimit(double timeLimit) {
+        this.timeLimit = timeLimit;
+    }
+
+    public double getDeterministicTimeLimit() {
+        return deterministicTimeLimit;
+    }
+
+    public void setDeterministicTimeLimit(double deterministicTimeLimit) {
+        this.deterministicTimeLimit = deterministicTimeLimit;
+    }
+
+    public int getMaxLimitEscalations() {
+        return maxLimitEscalations;
+    }
+
+    public void setMaxLimitEscalations(int maxLimitEscalations) {
+        this.maxLimitEscalations = maxLimitEscalations;
+    }
+
+    public boolean isFeasibilityPreChecks() {
+        return feasibilityPreChecks;
+    }
+
+    public void setFeasibilityPreChecks(boolean feasibilityPreChecks) {
+        this.feasibilityPreChecks = feasibilityPreChecks;
+    }
+
+    public boolean isExplainInfeasibility() {
+        return explainInfeasibility;
+    }
+
+    public void setExplainInfeasibility(boolean explainInfeasibility) {
+        this.explainInfeasibility = explainInfeasibility;
+    }
+
+    public HintStrategy getHintStrategy() {
+        return hintStrategy;
+    }
+
+    public void setHintStrategy(HintStrategy hintStrategy) {
+        this.hintStrategy = hintStrategy;
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(Engine engine) {
+        this.engine = engine;
+    }
+
+    public int getHeuristicIterations() {
+        return heuristicIterations;
+    }
+
+    public void setHeuristicIterations(int heuristicIterations) {
+        this.heuristicIterations = heuristicIterations;
+    }
+
+    public int getMinSolutionDistance() {
+        return minSolutionDistance;
+    }
+
+    public void setMinSolutionDistance(int minSolutionDistance) {
+        this.minSolutionDistance = minSolutionDistance;
+    }
+
+    public DistanceMetric getDistanceMetric() {
+        return distanceMetric;
+    }
+
+    public void setDistanceMetric(DistanceMetric distanceMetric) {
+        this.distanceMetric = distanceMetric;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
 }
@@ -1,10 +1,18 @@
 package dt.tsg;
 
+import dt.tsg.server.GenerationServer;
 import dt.tsg.task.TaskGenerationFramework;
 
+import java.util.Arrays;
+
 public class Main {
     public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--serve")) {
+            // resident server mode, see "GenerationServer"
+            GenerationServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         TaskGenerationFramework.main(args);
 
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,9 @@
 package dt.tsg.cspModel;
 
 import com.google.ortools.sat.*;
+import com.google.ortools.util.Domain;
 import dt.tsg.InputParams.InputParameters;
+import dt.tsg.listScheduling.ListScheduler;
 import dt.tsg.task.Task;
 import dt.tsg.task.TaskInstance;
 import dt.tsg.utils.GenerationResult;
@@ -14,62 +16,255 @@ public class CSPModelFunctions {
 
     /**
      * Adds NoOverlap Constraints between all tasks to the CP Model.
+     * Only pairs of tasks with intersecting windows receive a constraint, see "TaskWindowIndex".
      *
      * @param taskList     List of all tasks.
      * @param cspModel     The CP Model object.
      * @param modelTaskMap Map of all CP Model tasks.
+     * @param windowIndex  The index over the windows of all CP Model tasks.
+     * @return the number of task pairs that received a NoOverlap constraint.
      */
-    public static void addNoOverlapConstraintsToModel(ArrayList<Task> taskList, CpModel cspModel, Map<Integer, ModelTask> modelTaskMap, Utils utils) {
+    public static int addNoOverlapConstraintsToModel(ArrayList<Task> taskList, CpModel cspModel, Map<Integer, ModelTask> modelTaskMap, TaskWindowIndex windowIndex, Utils utils) {
         // Add No Overlap Constraints
-        int numberOfSkips = 0;
-        for (Task firstTask : taskList) {
-            for (Task secondTask : taskList) {
-                if (firstTask.getIdentifier() < secondTask.getIdentifier()) {
-                    BoolVar t2t = cspModel.newBoolVar("t2t_" + firstTask.getIdentifier() + "_" + secondTask.getIdentifier());
-                    //System.out.println("t2t_" + firstTask.getIdentifier() + "_" + secondTask.getIdentifier());
-                    ModelTask firstModelTask = modelTaskMap.get(firstTask.getIdentifier());
-                    ModelTask secondModelTask = modelTaskMap.get(secondTask.getIdentifier());
-                    // skip tasks with non-intersecting domains
-                    // first task domain ends before the second task domain begins
-                    if (firstModelTask.getEnd().getDomain().max() < secondModelTask.getStart().getDomain().min()) {
-                        numberOfSkips++;
-                        continue;
-                    }
-                    // first task domain begins after second task domain has ended
-                    if (firstModelTask.getStart().getDomain().min() > secondModelTask.getEnd().getDomain().max()) {
-                        numberOfSkips++;
-                        continue;
-                    }
+        // tasks with non-intersecting domains are skipped by the window index
+        ArrayList<int[]> overlappingPairs = windowIndex.getOverlappingPairs();
+        for (int[] pair : overlappingPairs) {
+            Task firstTask = taskList.get(pair[0]);
+            Task secondTask = taskList.get(pair[1]);
+            BoolVar t2t = cspModel.newBoolVar("t2t_" + firstTask.getIdentifier() + "_" + secondTask.getIdentifier());
+            ModelTask firstModelTask = modelTaskMap.get(firstTask.getIdentifier());
+            ModelTask secondModelTask = modelTaskMap.get(secondTask.getIdentifier());
+
+            cspModel.addEquality(firstModelTask.getResource(), secondModelTask.getResource()).onlyEnforceIf(t2t);
+            cspModel.addDifferent(firstModelTask.getResource(), secondModelTask.getResource()).onlyEnforceIf(t2t.not());
+            //cspModel.addNoOverlap(list).onlyEnforceIf(t2t.not()); breaks the model
+
+            // Use OptionalIntervalVars to add conditional NoOverlap Constraints to the Model
+            firstModelTask.setInterval(cspModel.newOptionalIntervalVar(
+                    firstModelTask.getStart(),
+                    firstModelTask.getWcet(),
+                    firstModelTask.getEnd(),
+                    t2t,
+                    "interval" + firstTask.getIdentifier()));
+
+            secondModelTask.setInterval(cspModel.newOptionalIntervalVar(
+                    secondModelTask.getStart(),
+                    secondModelTask.getWcet(),
+                    secondModelTask.getEnd(),
+                    t2t,
+                    "interval" + secondTask.getIdentifier()));
+
+            ArrayList<IntervalVar> list = new ArrayList<>();
+            list.add(firstModelTask.getInterval());
+            list.add(secondModelTask.getInterval());
+
+            cspModel.addNoOverlap(list);
+        }
+        long numberOfSkips = (long) windowIndex.size() * (windowIndex.size() - 1) / 2 - overlappingPairs.size();
+        utils.DebugPrint("NumberOfNoOverlapSkips: " + numberOfSkips);
+        return overlappingPairs.size();
+    }
 
-                    cspModel.addEquality(firstModelTask.getResource(), secondModelTask.getResource()).onlyEnforceIf(t2t);
-                    cspModel.addDifferent(firstModelTask.getResource(), secondModelTask.getResource()).onlyEnforceIf(t2t.not());
-                    //cspModel.addNoOverlap(list).onlyEnforceIf(t2t.not()); breaks the model
+    /**
+     * Adds NoOverlap Constraints between all tasks to the CP Model using one NoOverlap Constraint per resource.
+     * Every task receives one presence literal and one optional interval per resource it is allowed to be scheduled on.
+     * Exactly one presence literal of each task is true, and the resource IntVar of the task is linked to it.
+     * In contrast to the pairwise encoding, the model grows linearly with the number of tasks.
+     *
+     * @param taskList     List of all tasks.
+     * @param cspModel     The CP Model object.
+     * @param modelTaskMap Map of all CP Model tasks.
+     * @param numResou     The number of resources.
+     * @param utils        The Utils object.
+     */
+    public static void addPerResourceNoOverlapConstraintsToModel(ArrayList<Task> taskList, CpModel cspModel, Map<Integer, ModelTask> modelTaskMap, int numResou, Utils utils) {
+        // collect the intervals that may be scheduled on each resource
+        Map<Integer, ArrayList<IntervalVar>> intervalsPerResource = new HashMap<>();
+        for (int resource = 0; resource < numResou; resource++) {
+            intervalsPerResource.put(resource, new ArrayList<>());
+        }
+
+        int numberOfPresenceLiterals = 0;
+        for (Task task : taskList) {
+            ModelTask modelTask = modelTaskMap.get(task.getIdentifier());
+            String suffix = "_" + task.getIdentifier();
 
-                    // Use OptionalIntervalVars to add conditional NoOverlap Constraints to the Model
-                    firstModelTask.setInterval(cspModel.newOptionalIntervalVar(
-                            firstModelTask.getStart(),
-                            firstModelTask.getWcet(),
-                            firstModelTask.getEnd(),
-                            t2t,
-                            "interval" + firstTask.getIdentifier()));
+            // resources the task is allowed to be scheduled on
+            ArrayList<Integer> allowedResources = new ArrayList<>();
+            if (task.getResourceConstraint().isEmpty()) {
+                for (int resource = 0; resource < numResou; resource++) allowedResources.add(resource);
+            } else {
+                allowedResources.addAll(task.getResourceConstraint());
+            }
 
-                    secondModelTask.setInterval(cspModel.newOptionalIntervalVar(
-                            secondModelTask.getStart(),
-                            secondModelTask.getWcet(),
-                            secondModelTask.getEnd(),
-                            t2t,
-                            "interval" + secondTask.getIdentifier()));
+            if (allowedResources.size() == 1) {
+                // the task is fixed to one resource, its interval is always present
+                IntervalVar interval = cspModel.newIntervalVar(modelTask.getStart(), modelTask.getWcet(), modelTask.getEnd(), "interval" + suffix);
+                modelTask.setInterval(interval);
+                intervalsPerResource.get(allowedResources.get(0)).add(interval);
+                continue;
+            }
 
-                    ArrayList<IntervalVar> list = new ArrayList<>();
-                    list.add(firstModelTask.getInterval());
-                    list.add(secondModelTask.getInterval());
+            if (modelTask.isPeriodicInstance()) {
+                // periodic task instances share the presence literals of their original task
+                modelTask.getResourcePresence().forEach((resource, presence) -> {
+                    IntervalVar interval = cspModel.newOptionalIntervalVar(modelTask.getStart(), modelTask.getWcet(), modelTask.getEnd(), presence, "interval" + suffix + "_" + resource);
+                    intervalsPerResource.get(resource).add(interval);
+                });
+                continue;
+            }
 
-                    cspModel.addNoOverlap(list);
+            ArrayList<Literal> presenceLiterals = new ArrayList<>();
+            for (Integer resource : allowedResources) {
+                BoolVar presence = cspModel.newBoolVar("presence" + suffix + "_" + resource);
+                // the task is scheduled on this resource if and only if the presence literal is true
+                cspModel.addEquality(modelTask.getResource(), resource).onlyEnforceIf(presence);
+                IntervalVar interval = cspModel.newOptionalIntervalVar(modelTask.getStart(), modelTask.getWcet(), modelTask.getEnd(), presence, "interval" + suffix + "_" + resource);
+                intervalsPerResource.get(resource).add(interval);
+                modelTask.getResourcePresence().put(resource, presence);
+                presenceLiterals.add(presence);
+                numberOfPresenceLiterals++;
+            }
+            cspModel.addExactlyOne(presenceLiterals);
+        }
 
+        // tasks scheduled on the same resource must not overlap
+        for (ArrayList<IntervalVar> intervals : intervalsPerResource.values()) {
+            if (intervals.size() > 1) cspModel.addNoOverlap(intervals);
+        }
+        utils.DebugPrint("NumberOfPresenceLiterals: " + numberOfPresenceLiterals);
+    }
+
+    /**
+     * Groups resources that are interchangeable in the CP Model.
+     * Two resources are interchangeable if every task that may be scheduled on one of them may also be scheduled on the other.
+     * Periodic task instances are skipped, since they share the resource constraints of their original task.
+     *
+     * @param taskList List of all tasks.
+     * @param numResou The number of resources.
+     * @return all groups with at least two interchangeable resources, each sorted by the resource id.
+     */
+    public static ArrayList<ArrayList<Integer>> getInterchangeableResourceGroups(ArrayList<Task> taskList, int numResou) {
+        Map<BitSet, ArrayList<Integer>> resourcesByAllowedTasks = new LinkedHashMap<>();   // maps the set of tasks that may use a resource to all resources with that set
+        for (int resource = 0; resource < numResou; resource++) {
+            BitSet allowedTasks = new BitSet();
+            for (Task task : taskList) {
+                if (task instanceof TaskInstance) continue;
+                if (task.getResourceConstraint().isEmpty() || task.getResourceConstraint().contains(resource)) {
+                    allowedTasks.set(task.getIdentifier());
                 }
             }
+            resourcesByAllowedTasks.computeIfAbsent(allowedTasks, k -> new ArrayList<>()).add(resource);
+        }
+
+        ArrayList<ArrayList<Integer>> groups = new ArrayList<>();
+        for (ArrayList<Integer> group : resourcesByAllowedTasks.values()) {
+            if (group.size() > 1) groups.add(group);
+        }
+        return groups;
+    }
+
+    /**
+     * Adds first-use ordering constraints for groups of interchangeable resources, see "getInterchangeableResourceGroups".
+     * Permuting the resources of such a group yields an equivalent solution, so the solver would explore up to numResou! equivalent branches.
+     * Within a group, resource j may only be used by a task if resource j-1 of the group is already used by a task with a smaller id.
+     * Every solution can be relabelled to satisfy this ordering, so no task set is lost.
+     * Must be added after the NoOverlap constraints, as the presence literals of the per-resource encoding are reused.
+     *
+     * @param taskList     List of all tasks.
+     * @param cspModel     The CP Model object.
+     * @param modelTaskMap Map of all CP Model tasks.
+     * @param numResou     The number of resources.
+     * @param utils        The Utils object.
+     */
+    public static void addResourceSymmetryBreakingToModel(ArrayList<Task> taskList, CpModel cspModel, Map<Integer, ModelTask> modelTaskMap, int numResou, Utils utils) {
+        for (ArrayList<Integer> group : getInterchangeableResourceGroups(taskList, numResou)) {
+            // original tasks that may be scheduled on the group, ordered by their id
+            ArrayList<Task> groupTasks = new ArrayList<>();
+            for (Task task : taskList) {
+                if (task instanceof TaskInstance || modelTaskMap.get(task.getIdentifier()).getResource() == null) continue;
+                if (task.getResourceConstraint().isEmpty() || task.getResourceConstraint().contains(group.get(0))) {
+                    groupTasks.add(task);
+                }
+            }
+
+            Literal[] usedBefore = null;      // usedBefore[j] is true if resource j of the group is used by a previous task
+            for (Task task : groupTasks) {
+                ModelTask modelTask = modelTaskMap.get(task.getIdentifier());
+                Literal[] usedSoFar = new Literal[group.size()];
+                for (int j = 0; j < group.size(); j++) {
+                    int resource = group.get(j);
+                    Literal uses = modelTask.getResourcePresence().get(resource);
+                    if (uses == null) {
+                        // the pairwise encoding has no presence literals, link a new literal to the resource IntVar
+                        BoolVar usesResource = cspModel.newBoolVar("uses_" + task.getIdentifier() + "_" + resource);
+                        cspModel.addEquality(modelTask.getResource(), resource).onlyEnforceIf(usesResource);
+                        cspModel.addDifferent(modelTask.getResource(), resource).onlyEnforceIf(usesResource.not());
+                        uses = usesResource;
+                    }
+
+                    // resource j may only be used if resource j-1 was used by a previous task
+                    if (j > 0) {
+                        if (usedBefore == null) {
+                            cspModel.addBoolAnd(new Literal[]{uses.not()});
+                        } else {
+                            cspModel.addImplication(uses, usedBefore[j - 1]);
+                        }
+                    }
+
+                    if (usedBefore == null) {
+                        usedSoFar[j] = uses;
+                    } else {
+                        // usedSoFar[j] == usedBefore[j] OR uses
+                        BoolVar used = cspModel.newBoolVar("used_" + task.getIdentifier() + "_" + resource);
+                        cspModel.addImplication(usedBefore[j], used);
+                        cspModel.addImplication(uses, used);
+                        cspModel.addBoolOr(new Literal[]{usedBefore[j], uses}).onlyEnforceIf(used);
+                        usedSoFar[j] = used;
+                    }
+                }
+                usedBefore = usedSoFar;
+            }
+            utils.DebugPrint("Added symmetry breaking for the interchangeable resources " + group + " and " + groupTasks.size() + " tasks.");
         }
-        utils.DebugPrint("NumberOfNoOverlapSkips: " + numberOfSkips);
+    }
+
+    /**
+     * Checks whether the resources can be modelled as a single cumulative resource with a capacity equal to the number of resources.
+     * This is the case if no task is residency constrained, which makes all resources interchangeable.
+     * Periodic task instances must be scheduled on the same resource as their original task, which a cumulative resource cannot guarantee.
+     *
+     * @param taskList List of all tasks.
+     * @return true if the cumulative formulation can be used for the task list.
+     */
+    public static boolean supportsCumulativeResources(ArrayList<Task> taskList) {
+        for (Task task : taskList) {
+            if (!task.getResourceConstraint().isEmpty() || task instanceof TaskInstance) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Adds a single Cumulative Constraint with a capacity equal to the number of resources to the CP Model.
+     * The Model Tasks do not have a resource IntVar in this formulation, resources are assigned after solving the model.
+     * Requires that all resources are interchangeable, see "supportsCumulativeResources".
+     *
+     * @param taskList     List of all tasks.
+     * @param cspModel     The CP Model object.
+     * @param modelTaskMap Map of all CP Model tasks.
+     * @param numResou     The number of resources.
+     * @param utils        The Utils object.
+     */
+    public static void addCumulativeConstraintToModel(ArrayList<Task> taskList, CpModel cspModel, Map<Integer, ModelTask> modelTaskMap, int numResou, Utils utils) {
+        CumulativeConstraint cumulative = cspModel.addCumulative(numResou);
+        for (Task task : taskList) {
+            ModelTask modelTask = modelTaskMap.get(task.getIdentifier());
+            IntervalVar interval = cspModel.newIntervalVar(modelTask.getStart(), modelTask.getWcet(), modelTask.getEnd(), "interval_" + task.getIdentifier());
+            modelTask.setInterval(interval);
+            // every task occupies exactly one resource while it is scheduled
+            cumulative.addDemand(interval, 1);
+        }
+        utils.DebugPrint("Added cumulative constraint with capacity " + numResou + " for " + taskList.size() + " tasks.");
     }
 
     /**
@@ -143,9 +338,10 @@ public class CSPModelFunctions {
      * @param taskList           The List of all Tasks.
      * @param numResou           The number of resources.
      * @param dynamicConstraints Dynamic Constraints. See "buildDynamicConstraints"
+     * @param cumulativeResources if true, no resource IntVars are generated. See "addCumulativeConstraintToModel"
      * @return Map<Integer, ModelTask> which maps the taskIds to the equivalent ModelTask object that is used in the CP Model
      */
-    public static Map<Integer, ModelTask> buildCSPModelTasksAndConstraints(CpModel cspModel, int limit, ArrayList<Task> taskList, int numResou, DynamicConstraints dynamicConstraints, boolean phased_releaseTimes, Utils utils, InputParameters inputs) {
+    public static Map<Integer, ModelTask> buildCSPModelTasksAndConstraints(CpModel cspModel, int limit, ArrayList<Task> taskList, int numResou, DynamicConstraints dynamicConstraints, boolean phased_releaseTimes, boolean cumulativeResources, Utils utils, InputParameters inputs) {
 
         IntVar helper = cspModel.newIntVar(1, 1, "helper=1");
 
@@ -158,16 +354,29 @@ public class CSPModelFunctions {
 
             ModelTask modelTask = new ModelTask();
 
-            generateIntegerVariableDomains(cspModel, limit, taskList, phased_releaseTimes, task, modelTask, suffix, inputs);
+            if (task instanceof TaskInstance taskInstance) {
+                // instances of periodic tasks have no variables of their own, they are shifted by a multiple of the period relative to the original task
+                // the phase of the original task is already part of its start and end variables
+                long offset = (long) taskInstance.getInstance_number() * task.getPeriod();
+                modelTask.setPeriodicInstanceOf(modelTaskMap.get(taskInstance.getOriginal_task_ID()), offset);
+                utils.DebugPrint("Task " + task.getIdentifier() + " is instance " + taskInstance.getInstance_number() + " of task " + taskInstance.getOriginal_task_ID() + ", offset: " + offset);
+                modelTaskMap.put(taskID, modelTask);
+                continue;
+            }
+
+            generateIntegerVariableDomains(cspModel, limit, phased_releaseTimes, task, modelTask, suffix, inputs);
 
-            utils.DebugPrint("DOMAIN for task " + task.getIdentifier() + ": START:" + modelTask.getStart().getDomain() + " - END:" + modelTask.getEnd().getDomain() + " - WCET:" + modelTask.getWcet().getDomain());
+            utils.DebugPrint("DOMAIN for task " + task.getIdentifier() + ": START:" + modelTask.getStartVar().getDomain() + " - END:" + modelTask.getEndVar().getDomain() + " - WCET:" + modelTask.getWcet().getDomain());
 
             // Set lower and upper limit for WCET
             cspModel.addGreaterOrEqual(modelTask.getWcet(), dynamicConstraints.getCp_wcet_min());
             cspModel.addGreaterOrEqual(dynamicConstraints.getCp_wcet_max(), modelTask.getWcet());
 
             // Set resource constraints
-            if (task.getResourceConstraint().isEmpty()) {
+            if (cumulativeResources) {
+                // resources are interchangeable and assigned after solving the model
+                utils.DebugPrint("No resource variable for task " + task.getIdentifier() + ", resources are modelled cumulatively.");
+            } else if (task.getResourceConstraint().isEmpty()) {
                 // task is "free", set domain to [0,numResources-1]
                 modelTask.setResource(cspModel.newIntVar(0, numResou - 1, "resource" + suffix));
             } else {
@@ -176,26 +385,18 @@ public class CSPModelFunctions {
                     // task can only run on one resource
                     modelTask.setResource(cspModel.newIntVar(task.getResourceConstraint().get(0), task.getResourceConstraint().get(0), "resource" + suffix));
                 } else {
-                    // multi-resource-constraint - add NotEquality Constraints to every impossible resource value
-                    modelTask.setResource(cspModel.newIntVar(0, numResou - 1, "resource" + suffix));
-                    for (int l = 0; l < numResou; l++) {
-                        if (!task.getResourceConstraint().contains(l)) {
-                            // task cannot be scheduled on resource "l"
-                            cspModel.addDifferent(modelTask.getResource(), l);
-                        }
-                    }
+                    // multi-resource-constraint - the domain only contains the allowed resources, periodic task instances share this variable
+                    long[] allowedResources = task.getResourceConstraint().stream().mapToLong(Integer::longValue).toArray();
+                    modelTask.setResource(cspModel.newIntVarFromDomain(Domain.fromValues(allowedResources), "resource" + suffix));
                 }
             }
 
             //Make sure the end variable is always start+WCET
-            LinearExpr offset = LinearExpr.weightedSum(new IntVar[]{modelTask.getStart(), modelTask.getWcet()}, new long[]{1, 1});   //this is equal to "start*1+1*WCET"
-            cspModel.addEquality(offset, modelTask.getEnd());
+            LinearExpr offset = LinearExpr.weightedSum(new IntVar[]{modelTask.getStartVar(), modelTask.getWcet()}, new long[]{1, 1});   //this is equal to "start*1+1*WCET"
+            cspModel.addEquality(offset, modelTask.getEndVar());
 
             shiftTaskVariablesAndDynamicConstraints(cspModel, dynamicConstraints, task, modelTask, helper);
 
-            // enforce equal parameters for instances of periodic tasks
-            enforceEqualParametersForPeriodicTaskInstances(cspModel, taskList, phased_releaseTimes, task, modelTaskMap, modelTask, helper);
-
             // put the new modelTask into the modelTaskMap
             modelTaskMap.put(taskID, modelTask);
         }
@@ -211,14 +412,30 @@ public class CSPModelFunctions {
      *
      * @param cspModel            The CP-Model object
      * @param limit               The scheduling limit / hyperperiod.
-     * @param taskList            The complete list of tasks
      * @param phased_releaseTimes Boolean that determines if phased releaseTimes are used
      * @param task                The current Task
      * @param modelTask           The CP-Model Task corresponding to the actual Task
      * @param suffix              The task suffix, used for naming CP-Variables
      * @param inputs              The input constraints
      */
-    private static void generateIntegerVariableDomains(CpModel cspModel, int limit, ArrayList<Task> taskList, boolean phased_releaseTimes, Task task, ModelTask modelTask, String suffix, InputParameters inputs) {
+    private static void generateIntegerVariableDomains(CpModel cspModel, int limit, boolean phased_releaseTimes, Task task, ModelTask modelTask, String suffix, InputParameters inputs) {
+        int[] bounds = getVariableBounds(limit, phased_releaseTimes, task, inputs);
+        modelTask.setWcet(cspModel.newIntVar(bounds[0], bounds[1], "wcet" + suffix));
+        modelTask.setStart(cspModel.newIntVar(bounds[2], bounds[3], "start" + suffix));
+        modelTask.setEnd(cspModel.newIntVar(bounds[4], bounds[5], "end" + suffix));   //add +1 because the minimum WCET is 1
+    }
+
+    /**
+     * Returns the bounds of the Integer Variable Domains WCET, Start, End for the specific task, see "generateIntegerVariableDomains".
+     * The bounds do not depend on a CP Model, so they are also used by the heuristic engine, see "HeuristicEngine".
+     *
+     * @param limit               The scheduling limit / hyperperiod.
+     * @param phased_releaseTimes Boolean that determines if phased releaseTimes are used
+     * @param task                The current Task, not a periodic task instance
+     * @param inputs              The input constraints
+     * @return the bounds {wcet lowerbound, wcet upperbound, start lowerbound, start upperbound, end lowerbound, end upperbound}.
+     */
+    public static int[] getVariableBounds(int limit, boolean phased_releaseTimes, Task task, InputParameters inputs) {
         //generate Integer Variables
         if (task.isPeriodic()) {
             // task is periodic
@@ -236,88 +453,37 @@ public class CSPModelFunctions {
             }
             if (wcet_upperbound > inputs.getMax_deadline() - inputs.getMin_releaseTime() && inputs.getMax_deadline() != -1 && inputs.getMin_releaseTime() != -1)
                 wcet_upperbound = inputs.getMax_deadline() - inputs.getMin_releaseTime();
-            modelTask.setWcet(cspModel.newIntVar(wcet_lowerbound, wcet_upperbound, "wcet" + suffix));
 
 
             // set start and end domain according to the period and user inputs
-            if (task instanceof TaskInstance) {
-                // task is an instance of a periodic task, change variable domains depending on the original task
-                if (phased_releaseTimes) {
-                    // adjust the period to the phase of the original task
-                    int originalTaskPhase = taskList.get(((TaskInstance) task).getOriginal_task_ID()).getPhase();
-                    // the task must start and end within the period
-                    int periodStart = ((TaskInstance) task).getInstance_number() * task.getPeriod() + originalTaskPhase;
-                    int periodEnd = (((TaskInstance) task).getInstance_number() + 1) * task.getPeriod() + originalTaskPhase;
-                    // take the user inputs into consideration
-                    int start_lowerbound = periodStart;
-                    int start_upperbound = periodEnd - 1;
-                    if (inputs.getMin_releaseTime() > -1) {
-                        // the start variable cannot be smaller than the period + minimum releasetime, otherwise we would miss the minimum releasetime input constraint
-                        start_lowerbound += inputs.getMin_releaseTime();
-                    }
-                    int end_lowerbound = periodStart + 1;
-                    int end_upperbound = getEndUpperbound(task, inputs, periodEnd);
-
-                    // the end lowerbound must always be at minimum the start lowerbound + 1.
-                    if (end_lowerbound < start_lowerbound + 1) end_lowerbound = start_lowerbound + 1;
-                    // the start upperbound must always be at most the end upperbound -1.
-                    if (start_upperbound > end_upperbound - 1) start_upperbound = end_upperbound - 1;
-
-                    modelTask.setStart(cspModel.newIntVar(start_lowerbound, start_upperbound, "start" + suffix));
-                    modelTask.setEnd(cspModel.newIntVar(end_lowerbound, end_upperbound, "end" + suffix));   //add +1 because the minimum WCET is 1
-                } else {
-                    // the original task has an implicit phase of 0
-                    int periodStart = ((TaskInstance) task).getInstance_number() * task.getPeriod();
-                    int periodEnd = (((TaskInstance) task).getInstance_number() + 1) * task.getPeriod();
-                    // take the user inputs into consideration
-                    int start_lowerbound = periodStart;
-                    int start_upperbound = periodEnd - 1;
-                    if (inputs.getMin_releaseTime() > -1) {
-                        // the start variable cannot be smaller than the period + minimum releasetime, otherwise we would miss the minimum releasetime input constraint
-                        start_lowerbound += inputs.getMin_releaseTime();
-                    }
-                    int end_lowerbound = periodStart + 1;
-                    int end_upperbound = getEndUpperbound(task, inputs, periodEnd);
-
-                    // the end lowerbound must always be at minimum the start lowerbound + 1.
-                    if (end_lowerbound < start_lowerbound + 1) end_lowerbound = start_lowerbound + 1;
-                    // the start upperbound must always be at most the end upperbound -1.
-                    if (start_upperbound > end_upperbound - 1) start_upperbound = end_upperbound - 1;
-
-                    modelTask.setStart(cspModel.newIntVar(start_lowerbound, start_upperbound, "start" + suffix));
-                    modelTask.setEnd(cspModel.newIntVar(end_lowerbound, end_upperbound, "end" + suffix));   //add +1 because the minimum WCET is 1
-                }
+            // only original periodic tasks have own variables, instances are shifted copies of them
+            int periodStart;
+            int periodEnd;
+            if (phased_releaseTimes) {
+                // domain starts at the releasetime and ends at releasetime + period
+                periodStart = task.getPhase();
+                periodEnd = task.getPhase() + task.getPeriod();
             } else {
-                // task is an original periodic task
-                int periodStart;
-                int periodEnd;
-                if (phased_releaseTimes) {
-                    // domain starts at the releasetime and ends at releasetime + period
-                    periodStart = task.getPhase();
-                    periodEnd = task.getPhase() + task.getPeriod();
-                } else {
-                    // domain is only restricted by period and starts at 0
-                    periodStart = 0;
-                    periodEnd = task.getPeriod();
-                }
-                // take the user inputs into consideration
-                int start_lowerbound = periodStart;
-                int start_upperbound = periodEnd - 1;
-                if (inputs.getMin_releaseTime() > -1) {
-                    // the start variable cannot be smaller than the period + minimum releasetime, otherwise we would miss the minimum releasetime input constraint
-                    start_lowerbound += inputs.getMin_releaseTime();
-                }
-                int end_lowerbound = periodStart + 1;
-                int end_upperbound = getEndUpperbound(task, inputs, periodEnd);
+                // domain is only restricted by period and starts at 0
+                periodStart = 0;
+                periodEnd = task.getPeriod();
+            }
+            // take the user inputs into consideration
+            int start_lowerbound = periodStart;
+            int start_upperbound = periodEnd - 1;
+            if (inputs.getMin_releaseTime() > -1) {
+                // the start variable cannot be smaller than the period + minimum releasetime, otherwise we would miss the minimum releasetime input constraint
+                start_lowerbound += inputs.getMin_releaseTime();
+            }
+            int end_lowerbound = periodStart + 1;
+            int end_upperbound = getEndUpperbound(task, inputs, periodEnd);
 
-                // the end lowerbound must always be at minimum the start lowerbound + 1.
-                if (end_lowerbound < start_lowerbound + 1) end_lowerbound = start_lowerbound + 1;
-                // the start upperbound must always be at most the end upperbound -1.
-                if (start_upperbound > end_upperbound - 1) start_upperbound = end_upperbound - 1;
+            // the end lowerbound must always be at minimum the start lowerbound + 1.
+            if (end_lowerbound < start_lowerbound + 1) end_lowerbound = start_lowerbound + 1;
+            // the start upperbound must always be at most the end upperbound -1.
+            if (start_upperbound > end_upperbound - 1) start_upperbound = end_upperbound - 1;
 
-                modelTask.setStart(cspModel.newIntVar(start_lowerbound, start_upperbound, "start" + suffix));
-                modelTask.setEnd(cspModel.newIntVar(end_lowerbound, end_upperbound, "end" + suffix));   //add +1 because the minimum WCET is 1
-            }
+            return new int[]{wcet_lowerbound, wcet_upperbound, start_lowerbound, start_upperbound, end_lowerbound, end_upperbound};
         } else {
             // task is not periodic, we cannot further constrain the domain
             // we constrain aperiodic tasks to a min/max RT/Deadline/WCET
@@ -332,7 +498,6 @@ public class CSPModelFunctions {
                 // use the input max wcet for the upperbound
                 wcet_upperbound = Math.min(inputs.getMax_WCET(), limit);
             }
-            modelTask.setWcet(cspModel.newIntVar(wcet_lowerbound, wcet_upperbound, "wcet" + suffix));
             int start_lowerbound = 0;
             int start_upperbound = limit - 1;
             if (inputs.getMin_releaseTime() > -1) {
@@ -351,8 +516,7 @@ public class CSPModelFunctions {
             // the start upperbound must always be at most the end upperbound -1.
             if (start_upperbound > end_upperbound - 1) start_upperbound = end_upperbound - 1;
 
-            modelTask.setStart(cspModel.newIntVar(start_lowerbound, start_upperbound, "start" + suffix));
-            modelTask.setEnd(cspModel.newIntVar(end_lowerbound, end_upperbound, "end" + suffix));   //add +1 because the minimum WCET is 1
+            return new int[]{wcet_lowerbound, wcet_upperbound, start_lowerbound, start_upperbound, end_lowerbound, end_upperbound};
         }
     }
 
@@ -364,7 +528,7 @@ public class CSPModelFunctions {
      * @param periodEnd the end of the period of the task.
      * @return the upper bound of the end IntVar.
      */
-    private static int getEndUpperbound(Task task, InputParameters inputs, int periodEnd) {
+    static int getEndUpperbound(Task task, InputParameters inputs, int periodEnd) {
         int end_upperbound = periodEnd;
         if (inputs.getMax_deadline() > -1) {
             // set the upperbound of the end variable to: period_upperbound - (period - max deadline)
@@ -378,74 +542,6 @@ public class CSPModelFunctions {
         return end_upperbound;
     }
 
-    /**
-     * This function enforces equal relative release times and deadlines between original periodic tasks and periodic task instances.
-     *
-     * @param cspModel            the CPModel object.
-     * @param taskList            the list of tasks.
-     * @param phased_releaseTimes boolean variable that controls the generation of phases for tasks.
-     * @param task                the task currently worked on.
-     * @param modelTaskMap        the hashmap that maps tasks to Model Tasks.
-     * @param modelTask           the corresponding Model Task.
-     * @param helper              a helper object that is equal to 1 for linear expressions.
-     */
-    private static void enforceEqualParametersForPeriodicTaskInstances(CpModel cspModel, ArrayList<Task> taskList, boolean phased_releaseTimes, Task task, Map<Integer, ModelTask> modelTaskMap, ModelTask modelTask, IntVar helper) {
-
-        if (task.isPeriodic()) {
-            // task is periodic
-            if (task instanceof TaskInstance) {
-                // task is a task instance
-                // enforce that the periodic task instance has the same WCET/resource relative to the original task
-                int originalTaskID = ((TaskInstance) task).getOriginal_task_ID();
-                // WCET
-                cspModel.addEquality(modelTaskMap.get(originalTaskID).getWcet(), modelTask.getWcet());
-                // Resource
-                cspModel.addEquality(modelTaskMap.get(originalTaskID).getResource(), modelTask.getResource());
-
-                int periodStart = ((TaskInstance) task).getInstance_number() * task.getPeriod();
-                int periodEnd = (((TaskInstance) task).getInstance_number() + 1) * task.getPeriod();
-
-                // ReleaseTimes == the relative offset from periodStart, set start IntVar of this task to be equal to this task's periodStart+releaseTime of the original task
-                // calculate the relative offset (releasetime) of the original task
-                if (phased_releaseTimes) {
-                    // periodStart of the original task is its phase, releaseTime of the original task is equal to the start IntVar - phase
-                    int originalTaskPhase = taskList.get(originalTaskID).getPhase();
-                    LinearExpr releaseTimeOfOriginalTask = LinearExpr.weightedSum(new IntVar[]{modelTaskMap.get(originalTaskID).getStart(), helper}, new long[]{1, -originalTaskPhase});
-                    // calculate the relative offset of this task
-                    int phasedPeriodStart = periodStart + originalTaskPhase;
-                    LinearExpr relativeReleasetime = LinearExpr.weightedSum(new LinearArgument[]{releaseTimeOfOriginalTask, helper}, new long[]{1, phasedPeriodStart});
-                    cspModel.addEquality(modelTask.getStart(), relativeReleasetime);
-                    //System.out.println("RT for Task " + task.getIdentifier() + ": originalTask-Phase=" + originalTaskPhase + " originalTask-StartDomain=" + modelTaskMap.get(originalTaskID).start.getDomain() + " periodStart=" + periodStart + " taskStartDomain=" + modelTask.start.getDomain() );
-                } else {
-                    // periodStart of the original task is 0, releaseTime of the original task is equal to the start IntVar
-                    // calculate the relative offset of this task
-                    LinearExpr relativeReleasetime = LinearExpr.weightedSum(new IntVar[]{modelTaskMap.get(originalTaskID).getStart(), helper}, new long[]{1, periodStart});
-                    cspModel.addEquality(modelTask.getStart(), relativeReleasetime);
-                }
-                //utils.DebugPrint("added relative releasetime to task " + task.getIdentifier());
-                // Deadlines - probably not necessary since deadlines are dependent on start + wcet
-                if (phased_releaseTimes) {
-                    // periodEnd of the original task is its phase + period, deadline of the original task is equal to the period + phase - end IntVar
-                    int originalTaskPeriodEnd = taskList.get(originalTaskID).getPhase() + taskList.get(originalTaskID).getPeriod();
-                    LinearExpr deadlineOfOriginalTask = LinearExpr.weightedSum(new IntVar[]{modelTaskMap.get(originalTaskID).getEnd(), helper}, new long[]{-1, originalTaskPeriodEnd});
-                    // calculate the relative offset of this task
-                    int phasedPeriodEnd = periodEnd + taskList.get(originalTaskID).getPhase();
-                    LinearExpr relativeDeadline = LinearExpr.weightedSum(new LinearArgument[]{deadlineOfOriginalTask, helper}, new long[]{-1, phasedPeriodEnd});
-                    cspModel.addEquality(modelTask.getEnd(), relativeDeadline);
-                    //System.out.println("RT for Task " + task.getIdentifier() + ": originalTask-PeriodEnd=" + originalTaskPeriodEnd + " originalTaskEndDomain=" + modelTaskMap.get(originalTaskID).end.getDomain() + " phasedPeriodEnd=" + phasedPeriodEnd + " taskEndDomain=" + modelTask.end.getDomain() );
-                } else {
-                    // periodEnd of the original task is its period, deadline of the original task is equal to the end IntVar - period
-                    int originalTaskPeriodEnd = taskList.get(originalTaskID).getPeriod();
-                    LinearExpr deadlineOfOriginalTask = LinearExpr.weightedSum(new IntVar[]{modelTaskMap.get(originalTaskID).getEnd(), helper}, new long[]{-1, originalTaskPeriodEnd});
-                    // calculate the relative offset of this task
-                    LinearExpr relativeDeadline = LinearExpr.weightedSum(new LinearArgument[]{deadlineOfOriginalTask, helper}, new long[]{-1, periodEnd});
-                    cspModel.addEquality(modelTask.getEnd(), relativeDeadline);
-                }
-                //utils.DebugPrint("added relative deadline to task " + task.getIdentifier());
-            }
-        }
-    }
-
     /**
      * Shift values to account for dynamic constraints.
      *
@@ -457,7 +553,7 @@ public class CSPModelFunctions {
      */
     private static void shiftTaskVariablesAndDynamicConstraints(CpModel cspModel, DynamicConstraints dynamicConstraints, Task task, ModelTask modelTask, IntVar helper) {
 
-        if (!(task instanceof TaskInstance)) {
+        if (!modelTask.isPeriodicInstance()) {
             // skip task instances, as their start and end values are directly related to the original periodic task
             // Add relationships between Task start and end to CP_RELEASETIME_MIN,
             // CP_RELEASETIME_MAX, CP_DEADLINE_MIN, CP_DEADLINE_MAX
@@ -488,8 +584,9 @@ public class CSPModelFunctions {
      * @param taskList     List of all tasks
      * @param cspModel     The CP Model Object
      * @param modelTaskMap Map of all CP Model tasks
+     * @param windowIndex  The index over the windows of all CP Model tasks.
      */
-    public static void addPrecedenceConstraintsToModel(ArrayList<Task> taskList, CpModel cspModel, Map<Integer, ModelTask> modelTaskMap, Utils utils) {
+    public static void addPrecedenceConstraintsToModel(ArrayList<Task> taskList, CpModel cspModel, Map<Integer, ModelTask> modelTaskMap, TaskWindowIndex windowIndex, Utils utils) {
 
         for (Task task : taskList) {
             if (!task.getPredecessors().isEmpty()) {
@@ -498,12 +595,7 @@ public class CSPModelFunctions {
                     ModelTask firstModelTask = modelTaskMap.get(task.getIdentifier());
                     ModelTask secondModelTask = modelTaskMap.get(predID);
                     // skip tasks with non-intersecting domains
-                    // first task domain ends before the second task domain begins
-                    if (firstModelTask.getEnd().getDomain().max() < secondModelTask.getStart().getDomain().min()) {
-                        continue;
-                    }
-                    // first task domain begins after second task domain has ended
-                    if (firstModelTask.getStart().getDomain().min() > secondModelTask.getEnd().getDomain().max()) {
+                    if (!windowIndex.overlaps(task.getIdentifier(), predID)) {
                         continue;
                     }
                     cspModel.addGreaterOrEqual(firstModelTask.getStart(), secondModelTask.getEnd());
@@ -531,6 +623,22 @@ public class CSPModelFunctions {
 
         GenerationResult generationResult = new GenerationResult();
 
+        if (inputs.getHintStrategy() == InputParameters.HintStrategy.LISTSCHEDULING) {
+            // the random WCET hints are kept for all tasks that still fit with them
+            Map<Integer, Integer> preferredWCETs = new HashMap<>();
+            for (Task task : taskList) {
+                if (task instanceof TaskInstance) continue;
+                preferredWCETs.put(task.getIdentifier(), getRandomWCETHint(modelTaskMap.size(), limit, task, numResources, inputs, utils));
+            }
+            int[] schedule = ListScheduler.schedule(taskList, modelTaskMap, numResources, preferredWCETs, inputs, utils);
+            if (schedule != null) {
+                addScheduleHintsToModel(cspModel, modelTaskMap, taskList, schedule, dynamicConstraints, generationResult, inputs, utils);
+                return generationResult;
+            }
+            System.out.println("WARNING: List scheduling did not find a schedule for all tasks. Using random hints instead.");
+            warnings.add("WARNING: List scheduling did not find a schedule for all tasks. Using random hints instead.");
+        }
+
         // Hints should be as random as possible, while still falling inside the IntVar domains
         for (Task task : taskList) {
             if (task instanceof TaskInstance) continue; // skip periodic task instances
@@ -542,7 +650,8 @@ public class CSPModelFunctions {
             // End
             //addHintToTaskEnd(cspModel, modelTaskMap, Debug, limit, task, random, generationResult, utils, warnings);
             // Resource
-            addHintToTaskResource(cspModel, modelTaskMap, task, numResources, generationResult, utils, warnings);
+            if (modelTaskMap.get(task.getIdentifier()).getResource() != null)
+                addHintToTaskResource(cspModel, modelTaskMap, task, numResources, generationResult, utils, warnings);
         }
 
         addHintToDynamicConstraints(cspModel, dynamicConstraints, limit, generationResult, inputs, utils);
@@ -551,6 +660,76 @@ public class CSPModelFunctions {
 
     }
 
+    /**
+     * Adds a schedule as hints to the start, end, WCET and resource of every Model Task, see "ListScheduler.schedule".
+     * The dynamic constraints are hinted with the smallest and largest values of the schedule, unless the input parameters fix them.
+     *
+     * @param cspModel           the CPModel object.
+     * @param modelTaskMap       the Hashmap that maps task ids to the Model Tasks
+     * @param taskList           the list of tasks.
+     * @param schedule           the schedule in the format of a solution buffer, see "ScheduledTask.copySolutionValues".
+     * @param dynamicConstraints the DynamicConstraints object.
+     * @param generationResult   the Generation Result object for saving hints.
+     * @param inputs             the InputParameters object.
+     * @param utils              the Utils object.
+     */
+    private static void addScheduleHintsToModel(CpModel cspModel, Map<Integer, ModelTask> modelTaskMap, ArrayList<Task> taskList, int[] schedule, DynamicConstraints dynamicConstraints, GenerationResult generationResult, InputParameters inputs, Utils utils) {
+        int min_releasetime_hint = Integer.MAX_VALUE;
+        int max_releasetime_hint = 0;
+        int min_deadline_hint = Integer.MAX_VALUE;
+        int max_deadline_hint = 0;
+        int min_wcet_hint = Integer.MAX_VALUE;
+        int max_wcet_hint = 0;
+
+        for (Task task : taskList) {
+            if (task instanceof TaskInstance) continue; // periodic task instances share the variables of the original task
+            int taskID = task.getIdentifier();
+            ModelTask modelTask = modelTaskMap.get(taskID);
+            int start = schedule[taskID * 4];
+            int end = schedule[taskID * 4 + 1];
+            int wcet = schedule[taskID * 4 + 2];
+            int resource = schedule[taskID * 4 + 3];
+
+            cspModel.addHint(modelTask.getStartVar(), start);
+            cspModel.addHint(modelTask.getEndVar(), end);
+            cspModel.addHint(modelTask.getWcet(), wcet);
+            generationResult.startHints.add(start);
+            generationResult.endHints.add(end);
+            generationResult.wcetHints.add(wcet);
+            if (modelTask.getResource() != null) {
+                cspModel.addHint(modelTask.getResource(), resource);
+                generationResult.resourceHints.add(resource);
+            }
+            modelTask.getResourcePresence().forEach((presenceResource, presence) -> {
+                if (presence instanceof BoolVar presenceVar) cspModel.addHint(presenceVar, presenceResource == resource ? 1 : 0);
+            });
+
+            // the dynamic release times and deadlines are relative to the phase, see "shiftTaskVariablesAndDynamicConstraints"
+            min_releasetime_hint = Math.min(min_releasetime_hint, start - task.getPhase());
+            max_releasetime_hint = Math.max(max_releasetime_hint, start - task.getPhase());
+            min_deadline_hint = Math.min(min_deadline_hint, end - task.getPhase());
+            max_deadline_hint = Math.max(max_deadline_hint, end - task.getPhase());
+            min_wcet_hint = Math.min(min_wcet_hint, wcet);
+            max_wcet_hint = Math.max(max_wcet_hint, wcet);
+        }
+        utils.DebugPrint("Added list schedule hints: " + Arrays.toString(schedule));
+
+        if (inputs.getMin_releaseTime() != -1) min_releasetime_hint = inputs.getMin_releaseTime();
+        if (inputs.getMax_releaseTime() != -1) max_releasetime_hint = inputs.getMax_releaseTime();
+        if (inputs.getMin_deadline() != -1) min_deadline_hint = inputs.getMin_deadline();
+        if (inputs.getMax_deadline() != -1 && !inputs.isDeadlineEqualToPeriod()) max_deadline_hint = inputs.getMax_deadline();
+        if (inputs.getMin_WCET() != -1) min_wcet_hint = inputs.getMin_WCET();
+        if (inputs.getMax_WCET() != -1) max_wcet_hint = inputs.getMax_WCET();
+
+        cspModel.addHint(dynamicConstraints.getCp_releasetime_min(), min_releasetime_hint);
+        cspModel.addHint(dynamicConstraints.getCp_releasetime_max(), max_releasetime_hint);
+        cspModel.addHint(dynamicConstraints.getCp_deadline_min(), min_deadline_hint);
+        cspModel.addHint(dynamicConstraints.getCp_deadline_max(), max_deadline_hint);
+        cspModel.addHint(dynamicConstraints.getCp_wcet_min(), min_wcet_hint);
+        cspModel.addHint(dynamicConstraints.getCp_wcet_max(), max_wcet_hint);
+        generationResult.dynamicHints = new ArrayList<>(List.of(min_releasetime_hint, max_releasetime_hint, min_deadline_hint, max_deadline_hint, min_wcet_hint, max_wcet_hint));
+    }
+
     /**
      * Adds DecisionStrategies to the CPModel
      *
@@ -562,8 +741,9 @@ public class CSPModelFunctions {
         ArrayList<IntVar> WCETs = new ArrayList<>();
         ArrayList<IntVar> ends = new ArrayList<>();
         modelTaskMap.forEach((Integer i, ModelTask m) -> {
+            if (m.isPeriodicInstance()) return;     // instances share the variables of their original task
             WCETs.add(m.getWcet());
-            ends.add(m.getEnd());
+            ends.add(m.getEndVar());
         });
         IntVar[] allWCETs = WCETs.toArray(new IntVar[0]);
         cspModel.addDecisionStrategy(allWCETs, DecisionStrategyProto.VariableSelectionStrategy.CHOOSE_FIRST, DecisionStrategyProto.DomainReductionStrategy.SELECT_MAX_VALUE);
@@ -666,6 +846,23 @@ public class CSPModelFunctions {
      * @param utils            the Utils object.
      */
     private static void addHintToTaskWCET(CpModel cspModel, Map<Integer, ModelTask> modelTaskMap, int limit, Task task, int numResources, GenerationResult generationResult, InputParameters inputs, Utils utils) {
+        int hint = getRandomWCETHint(modelTaskMap.size(), limit, task, numResources, inputs, utils);
+        cspModel.addHint(modelTaskMap.get(task.getIdentifier()).getWcet(), hint);
+        generationResult.wcetHints.add(hint);
+    }
+
+    /**
+     * Returns a random WCET hint for a Model Task.
+     *
+     * @param numTasks     the number of tasks, including the periodic task instances.
+     * @param limit        the scheduling limit.
+     * @param task         the task for which a hint is chosen.
+     * @param numResources the number of resources.
+     * @param inputs       the Input Parameter object.
+     * @param utils        the Utils object.
+     * @return the WCET hint.
+     */
+    public static int getRandomWCETHint(int numTasks, int limit, Task task, int numResources, InputParameters inputs, Utils utils) {
         // add random hint for WCET
         int hint;
         if (task.isPeriodic()) {
@@ -691,16 +888,14 @@ public class CSPModelFunctions {
 
         } else {
             // Task is not periodic, add a hint for WCET with domain [1,limit*#Resources/#tasks]
-            int upperBound = Math.max(1, (limit * numResources) / modelTaskMap.values().size());
+            int upperBound = Math.max(1, (limit * numResources) / numTasks);
             if (inputs.getMax_WCET() != -1 && inputs.getMax_WCET() < upperBound) {
                 upperBound = inputs.getMax_WCET();
             }
             hint = utils.random.nextInt(1, upperBound + 1);      //+1 is necessary since bound is exclusive
             utils.DebugPrint("Added Hint to task " + task.getIdentifier() + ": wcet=" + hint + " upperbound:" + upperBound);
         }
-
-        cspModel.addHint(modelTaskMap.get(task.getIdentifier()).getWcet(), hint);
-        generationResult.wcetHints.add(hint);
+        return hint;
     }
 
     @Deprecated
@@ -725,7 +920,7 @@ public class CSPModelFunctions {
             startHint = RandomNumberGeneration.getNumWithDistribution(0, limit - 1, InputParameters.Distribution.GEOMETRIC, utils, 0.0, -1, -1, warnings);
         }
         // add the hint
-        cspModel.addHint(modelTaskMap.get(task.getIdentifier()).getStart(), startHint);
+        cspModel.addHint(modelTaskMap.get(task.getIdentifier()).getStartVar(), startHint);
         generationResult.startHints.add(startHint);
         //utils.DebugPrint("Added Hint to task " + task.getIdentifier() + ": start=" + startHint);
     }
@@ -752,7 +947,7 @@ public class CSPModelFunctions {
             endHint = RandomNumberGeneration.getNumWithDistribution(1, limit, InputParameters.Distribution.GEOMETRIC, utils, 0.0, -1, -1, warnings);
         }
         // add the hint
-        cspModel.addHint(modelTaskMap.get(task.getIdentifier()).getEnd(), endHint);
+        cspModel.addHint(modelTaskMap.get(task.getIdentifier()).getEndVar(), endHint);
         generationResult.endHints.add(endHint);
         //utils.DebugPrint("Added Hint to task " + task.getIdentifier() + ": end=" + endHint);
     }
@@ -798,24 +993,72 @@ public class CSPModelFunctions {
      * @param utils the Utils object.
      */
     public static void setSolverParameters(CpSolver solver, int numberOfWorkerThreads, int solutionCount, Utils utils) {
+        setSolverParameters(solver, InputParameters.SolverProfile.HINT, numberOfWorkerThreads, solutionCount, utils);
+    }
 
-        // Set the Search Strategy
-        solver.getParameters().setRandomizeSearch(true);
-        solver.getParameters().setSearchBranching(SatParameters.SearchBranching.HINT_SEARCH);
+    /***
+     * Limits the search of the solver, a limit of 0 or less is ignored
+     * The solver returns the status UNKNOWN if a limit runs out before it found a solution or proved that there is none.
+     * @param solver the Solver object.
+     * @param timeLimit the wall-clock time limit in seconds.
+     * @param deterministicTimeLimit the deterministic time limit, which does not depend on the load of the machine.
+     */
+    public static void setSolverTimeLimits(CpSolver solver, double timeLimit, double deterministicTimeLimit) {
+        if (timeLimit > 0) solver.getParameters().setMaxTimeInSeconds(timeLimit);
+        if (deterministicTimeLimit > 0) solver.getParameters().setMaxDeterministicTime(deterministicTimeLimit);
+    }
 
-        // repair Hints
-        solver.getParameters().setRepairHint(true);
-        solver.getParameters().setHintConflictLimit(10000);
-        // solver.getParameters().setFixVariablesToTheirHintedValue(true);      // forces variables to be their hint value
+    /***
+     * Sets solver parameters according to a solver profile
+     * HINT follows and repairs the hints with presolve disabled, FIXED follows the decision strategies of the model starting from the hints,
+     * AUTOMATIC lets the solver choose its search with presolve enabled and uses the hints as a first guess.
+     * @param solver the Solver object.
+     * @param profile the solver profile.
+     * @param numberOfWorkerThreads the number of worker threads specified by the user.
+     * @param solutionCount the number of sultions that should be found by the solver.
+     * @param utils the Utils object.
+     */
+    public static void setSolverParameters(CpSolver solver, InputParameters.SolverProfile profile, int numberOfWorkerThreads, int solutionCount, Utils utils) {
+        setSolverParameters(solver, profile, numberOfWorkerThreads, numberOfWorkerThreads, solutionCount, utils);
+    }
 
-        // Asks the Solver not to pre-solve the Model
-        solver.getParameters().setCpModelPresolve(false);
+    /***
+     * Sets solver parameters according to a solver profile, with the worker threads leased from the core budget, see "SolverCoreBudget".
+     * The search mode follows the requested number of worker threads: a single requested worker enumerates all solutions, any other request
+     * searches with the leased workers in parallel, even if only one worker was leased. So the search does not change with the load of the machine.
+     * @param solver the Solver object.
+     * @param profile the solver profile.
+     * @param requestedWorkerThreads the number of worker threads specified by the user.
+     * @param leasedWorkerThreads the number of worker threads the solver may use.
+     * @param solutionCount the number of sultions that should be found by the solver.
+     * @param utils the Utils object.
+     */
+    public static void setSolverParameters(CpSolver solver, InputParameters.SolverProfile profile, int requestedWorkerThreads, int leasedWorkerThreads, int solutionCount, Utils utils) {
+
+        // Set the Search Strategy, the randomised search follows the seed of the generation
+        solver.getParameters().setRandomizeSearch(true);
+        solver.getParameters().setRandomSeed(utils.getSolverSeed());
+        switch (profile) {
+            case HINT -> {
+                solver.getParameters().setSearchBranching(SatParameters.SearchBranching.HINT_SEARCH);
+
+                // repair Hints
+                solver.getParameters().setRepairHint(true);
+                solver.getParameters().setHintConflictLimit(10000);
+                // solver.getParameters().setFixVariablesToTheirHintedValue(true);      // forces variables to be their hint value
+            }
+            case FIXED -> solver.getParameters().setSearchBranching(SatParameters.SearchBranching.FIXED_SEARCH);
+            case AUTOMATIC -> solver.getParameters().setSearchBranching(SatParameters.SearchBranching.AUTOMATIC_SEARCH);
+        }
+
+        // Asks the Solver not to pre-solve the Model, unless it chooses its own search
+        solver.getParameters().setCpModelPresolve(profile == InputParameters.SolverProfile.AUTOMATIC);
         solver.getParameters().setKeepAllFeasibleSolutionsInPresolve(true);
         solver.getParameters().setUseSatInprocessing(false);
 
         // Use multiple workers or enumerate all solutions
-        if (numberOfWorkerThreads != 1) {
-            solver.getParameters().setNumWorkers(numberOfWorkerThreads);
+        if (requestedWorkerThreads != 1) {
+            solver.getParameters().setNumWorkers(leasedWorkerThreads);
         } else {
             solver.getParameters().setEnumerateAllSolutions(true);
         }
@@ -829,6 +1072,51 @@ public class CSPModelFunctions {
         }
     }
 
+    /**
+     * Adds a constraint that keeps the next solution at a minimum distance to a previous solution.
+     * The distance is measured on the WCET and resource vectors of the tasks that are not periodic task instances, resources of the cumulative formulation are not part of the CP Model and are ignored.
+     * HAMMING counts the WCETs and resources that differ, L1 sums up the absolute differences of the WCETs and resources.
+     *
+     * @param cspModel     the CP Model object.
+     * @param modelTaskMap maps the task ids to the Model Tasks.
+     * @param taskList     the complete list of tasks.
+     * @param solution     the solution buffer of the previous solution, see "ScheduledTask.copySolutionValues".
+     * @param minDistance  the minimum distance.
+     * @param metric       the distance metric.
+     * @param limit        the scheduling limit, the upper bound of every WCET.
+     * @param numResources the number of resources.
+     */
+    public static void addSolutionDistanceConstraint(CpModel cspModel, Map<Integer, ModelTask> modelTaskMap, ArrayList<Task> taskList, int[] solution, int minDistance, InputParameters.DistanceMetric metric, int limit, int numResources) {
+        LinearExprBuilder distance = LinearExpr.newBuilder();
+        for (Task task : taskList) {
+            if (task instanceof TaskInstance) continue;
+            int taskID = task.getIdentifier();
+            ModelTask modelTask = modelTaskMap.get(taskID);
+            addDistanceTerm(cspModel, distance, modelTask.getWcet(), solution[taskID * 4 + 2], metric, limit, "wcetDistance_" + taskID);
+            if (modelTask.getResource() != null)
+                addDistanceTerm(cspModel, distance, modelTask.getResource(), solution[taskID * 4 + 3], metric, numResources, "resourceDistance_" + taskID);
+        }
+        cspModel.addGreaterOrEqual(distance, minDistance);
+    }
+
+    /**
+     * Adds the distance between a variable and its previous value to a sum, see "addSolutionDistanceConstraint".
+     */
+    private static void addDistanceTerm(CpModel cspModel, LinearExprBuilder distance, IntVar var, int previousValue, InputParameters.DistanceMetric metric, int maxDistance, String name) {
+        switch (metric) {
+            case HAMMING -> {
+                BoolVar differs = cspModel.newBoolVar(name);
+                cspModel.addDifferent(var, previousValue).onlyEnforceIf(differs);
+                distance.add(differs);
+            }
+            case L1 -> {
+                IntVar difference = cspModel.newIntVar(0, maxDistance, name);
+                cspModel.addAbsEquality(difference, LinearExpr.affine(var, 1, -previousValue));
+                distance.add(difference);
+            }
+        }
+    }
+
     /**
      * Adds a WCET objective for maximizing the sum of all WCETs integer variables.
      *
@@ -852,7 +1140,7 @@ public class CSPModelFunctions {
     public static void addScheduleLengthObjective(int limit, ArrayList<Task> taskList, CpModel cspModel, Map<Integer, ModelTask> modelTaskMap) {
 
         IntVar objVar = cspModel.newIntVar(0, limit, "totalLength");
-        List<IntVar> ends = new ArrayList<>();
+        List<LinearArgument> ends = new ArrayList<>();
         for (Task task : taskList) {
             ends.add(modelTaskMap.get(task.getIdentifier()).getEnd());
         }
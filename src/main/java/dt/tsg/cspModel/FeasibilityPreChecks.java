@@ -0,0 +1,248 @@
+package dt.tsg.cspModel;
+
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.task.Task;
+import dt.tsg.task.TaskInstance;
+
+import java.util.*;
+
+/**
+ * Necessary conditions for the feasibility of a task list, checked before the CP Model is built.
+ * Every check only uses the domains that "CSPModelFunctions.buildCSPModelTasksAndConstraints" would create, so a task list that fails a check has no solution.
+ * A task list that passes all checks can still be infeasible.
+ * <p>
+ * The window of a task is [minimum of its start domain, maximum of its end domain], see "TaskWindowIndex".
+ * The checks are:
+ * (1) the WCET domain of every task is not empty, and its minimum WCET fits into its window,
+ * (2) the minimum WCET of all tasks fits onto all resources within the union of their windows,
+ * (3) the minimum WCET of all tasks that are restricted to a set of resources fits onto these resources (Hall's condition),
+ * (4) every precedence chain finishes within the window of its last task, if all tasks start as early as possible with their minimum WCET.
+ */
+public class FeasibilityPreChecks {
+
+    /**
+     * Runs all checks on the task list.
+     *
+     * @param taskList the complete list of tasks, including the periodic task instances.
+     * @param limit    the scheduling limit.
+     * @param numResou the total number of resources.
+     * @param inputs   the InputParameters object.
+     * @return the violated conditions, empty if all checks passed.
+     */
+    public static ArrayList<String> check(ArrayList<Task> taskList, int limit, int numResou, InputParameters inputs) {
+        ArrayList<String> violations = new ArrayList<>();
+        int[][] windows = getWindows(taskList, limit, inputs);
+        int minWCET = getMinimumWCET(inputs);
+
+        checkWCETDomains(taskList, windows, limit, minWCET, inputs, violations);
+        checkUtilisation(taskList, windows, minWCET, numResou, violations);
+        checkResidencyCapacity(taskList, windows, minWCET, numResou, violations);
+        checkPrecedenceChains(taskList, windows, minWCET, violations);
+        return violations;
+    }
+
+    /**
+     * Returns the windows of all tasks, instances of periodic tasks are shifted copies of the window of the original task.
+     *
+     * @param taskList the complete list of tasks.
+     * @param limit    the scheduling limit.
+     * @param inputs   the InputParameters object.
+     * @return the windows {earliest start, latest end}, indexed by the task id.
+     */
+    static int[][] getWindows(ArrayList<Task> taskList, int limit, InputParameters inputs) {
+        int[][] windows = new int[taskList.size()][];
+        for (Task task : taskList) {
+            if (task instanceof TaskInstance) continue;
+            windows[task.getIdentifier()] = getWindow(task, limit, inputs);
+        }
+        for (Task task : taskList) {
+            if (!(task instanceof TaskInstance taskInstance)) continue;
+            int[] originalWindow = windows[taskInstance.getOriginal_task_ID()];
+            int offset = taskInstance.getInstance_number() * task.getPeriod();
+            windows[task.getIdentifier()] = new int[]{originalWindow[0] + offset, originalWindow[1] + offset};
+        }
+        return windows;
+    }
+
+    /**
+     * Returns the window of a task that is not a periodic instance, see "CSPModelFunctions.generateIntegerVariableDomains".
+     *
+     * @param task   the task.
+     * @param limit  the scheduling limit.
+     * @param inputs the InputParameters object.
+     * @return the window {earliest start, latest end}.
+     */
+    private static int[] getWindow(Task task, int limit, InputParameters inputs) {
+        int start_lowerbound = 0;
+        int end_upperbound;
+        if (task.isPeriodic()) {
+            int periodStart = inputs.PhasedReleaseTimes() ? task.getPhase() : 0;
+            start_lowerbound = periodStart;
+            end_upperbound = CSPModelFunctions.getEndUpperbound(task, inputs, periodStart + task.getPeriod());
+        } else {
+            end_upperbound = limit;
+            if (inputs.getMax_deadline() > -1) end_upperbound = Math.min(inputs.getMax_deadline(), limit);
+        }
+        if (inputs.getMin_releaseTime() > -1) start_lowerbound += inputs.getMin_releaseTime();
+        return new int[]{start_lowerbound, end_upperbound};
+    }
+
+    /**
+     * Returns the lower bound of all WCET domains.
+     *
+     * @param inputs the InputParameters object.
+     * @return the minimum WCET of every task.
+     */
+    private static int getMinimumWCET(InputParameters inputs) {
+        return inputs.getMin_WCET() > -1 ? inputs.getMin_WCET() : 1;
+    }
+
+    /**
+     * Returns the upper bound of the WCET domain of a task, see "CSPModelFunctions.generateIntegerVariableDomains".
+     *
+     * @param task   the task.
+     * @param limit  the scheduling limit.
+     * @param inputs the InputParameters object.
+     * @return the maximum WCET of the task.
+     */
+    private static int getMaximumWCET(Task task, int limit, InputParameters inputs) {
+        if (!task.isPeriodic()) {
+            return inputs.getMax_WCET() > -1 ? Math.min(inputs.getMax_WCET(), limit) : limit;
+        }
+        int wcet_upperbound = inputs.getMax_WCET() > -1 ? Math.min(task.getPeriod(), inputs.getMax_WCET()) : task.getPeriod();
+        if (inputs.getMax_deadline() != -1 && inputs.getMin_releaseTime() != -1)
+            wcet_upperbound = Math.min(wcet_upperbound, inputs.getMax_deadline() - inputs.getMin_releaseTime());
+        return wcet_upperbound;
+    }
+
+    /**
+     * Checks that the WCET domain of every task is not empty and that the minimum WCET fits into the window of the task.
+     * Instances of periodic tasks share the domains of the original task and are skipped.
+     */
+    private static void checkWCETDomains(ArrayList<Task> taskList, int[][] windows, int limit, int minWCET, InputParameters inputs, ArrayList<String> violations) {
+        for (Task task : taskList) {
+            if (task instanceof TaskInstance) continue;
+            int[] window = windows[task.getIdentifier()];
+            int maxWCET = getMaximumWCET(task, limit, inputs);
+            if (minWCET > maxWCET) {
+                violations.add("Task " + task.getIdentifier() + ": the minimum WCET " + minWCET + " is larger than the maximum WCET " + maxWCET + ".");
+            } else if (window[0] + Math.max(minWCET, 1) > window[1]) {
+                // the start domain must not be empty, even for a WCET of 0
+                violations.add("Task " + task.getIdentifier() + ": the minimum WCET " + minWCET + " does not fit into the window [" + window[0] + "," + window[1] + "].");
+            }
+        }
+    }
+
+    /**
+     * Checks that the minimum WCET of all tasks fits onto all resources within the union of all windows.
+     */
+    private static void checkUtilisation(ArrayList<Task> taskList, int[][] windows, int minWCET, int numResou, ArrayList<String> violations) {
+        if (taskList.isEmpty()) return;
+        long demand = (long) taskList.size() * minWCET;
+        long capacity = (long) numResou * getSpan(taskList, windows);
+        if (demand > capacity) {
+            violations.add("The minimum WCET of all " + taskList.size() + " tasks is " + demand + ", but " + numResou + " resources only provide " + capacity + " time units.");
+        }
+    }
+
+    /**
+     * Checks Hall's condition for the residency constraints:
+     * the tasks whose allowed resources are a subset of the resource set S must fit onto the |S| resources of S.
+     * Only the resource sets of residency constrained tasks are checked, which covers every task that is pinned to a single resource.
+     */
+    private static void checkResidencyCapacity(ArrayList<Task> taskList, int[][] windows, int minWCET, int numResou, ArrayList<String> violations) {
+        // group the tasks by their set of allowed resources, resources that do not exist are never allowed
+        Map<Set<Integer>, ArrayList<Task>> residencyGroups = new HashMap<>();
+        for (Task task : taskList) {
+            if (task.getResourceConstraint().isEmpty()) continue;
+            Set<Integer> allowedResources = new TreeSet<>();
+            for (Integer resource : task.getResourceConstraint()) {
+                if (resource >= 0 && resource < numResou) allowedResources.add(resource);
+            }
+            if (allowedResources.isEmpty()) {
+                // instances have the same residency constraints as the original task
+                if (!(task instanceof TaskInstance))
+                    violations.add("Task " + task.getIdentifier() + ": none of the resources " + task.getResourceConstraint() + " exist, the number of resources is " + numResou + ".");
+                continue;
+            }
+            residencyGroups.computeIfAbsent(allowedResources, resources -> new ArrayList<>()).add(task);
+        }
+
+        for (Set<Integer> resourceSet : residencyGroups.keySet()) {
+            ArrayList<Task> restrictedTasks = new ArrayList<>();
+            residencyGroups.forEach((allowedResources, tasks) -> {
+                if (resourceSet.containsAll(allowedResources)) restrictedTasks.addAll(tasks);
+            });
+            long demand = (long) restrictedTasks.size() * minWCET;
+            long capacity = (long) resourceSet.size() * getSpan(restrictedTasks, windows);
+            if (demand > capacity) {
+                violations.add("The minimum WCET of the " + restrictedTasks.size() + " tasks restricted to the resources " + resourceSet + " is " + demand + ", but these resources only provide " + capacity + " time units.");
+            }
+        }
+    }
+
+    /**
+     * Checks that every precedence chain finishes within the window of its last task.
+     * The earliest end of a task is its earliest start plus the minimum WCET, where the earliest start is the maximum of its window start and the earliest ends of its predecessors.
+     * Tasks are visited in topological order, precedence relations between tasks with disjoint windows are ignored like in "CSPModelFunctions.addPrecedenceConstraintsToModel".
+     */
+    private static void checkPrecedenceChains(ArrayList<Task> taskList, int[][] windows, int minWCET, ArrayList<String> violations) {
+        // the precedence constraints of the CP Model are read from the predecessors, the successors are derived from them
+        ArrayList<ArrayList<Integer>> successors = new ArrayList<>();
+        taskList.forEach(task -> successors.add(new ArrayList<>()));
+        int[] remainingPredecessors = new int[taskList.size()];
+        long[] earliestEnd = new long[taskList.size()];
+        Deque<Integer> readyTasks = new ArrayDeque<>();
+        for (Task task : taskList) {
+            for (Integer predID : task.getPredecessors()) {
+                successors.get(predID).add(task.getIdentifier());
+            }
+            remainingPredecessors[task.getIdentifier()] = task.getPredecessors().size();
+            earliestEnd[task.getIdentifier()] = windows[task.getIdentifier()][0];
+            if (task.getPredecessors().isEmpty()) readyTasks.add(task.getIdentifier());
+        }
+
+        while (!readyTasks.isEmpty()) {
+            int taskID = readyTasks.poll();
+            // the earliest start is stored in earliestEnd until all predecessors are visited
+            earliestEnd[taskID] += minWCET;
+            if (earliestEnd[taskID] > windows[taskID][1]) {
+                violations.add("Task " + taskID + ": the precedence chain ending in this task needs until " + earliestEnd[taskID] + ", but the window of the task ends at " + windows[taskID][1] + ".");
+                // report every chain only once
+                earliestEnd[taskID] = windows[taskID][1];
+            }
+            for (Integer successorID : successors.get(taskID)) {
+                if (overlaps(windows[taskID], windows[successorID])) {
+                    earliestEnd[successorID] = Math.max(earliestEnd[successorID], earliestEnd[taskID]);
+                }
+                remainingPredecessors[successorID]--;
+                if (remainingPredecessors[successorID] == 0) readyTasks.add(successorID);
+            }
+        }
+        // tasks on a cycle are never visited, cycles are reported by "BasicPrecedenceConstraints.dfsFindCycle"
+    }
+
+    /**
+     * Returns the length of the union of the windows of the given tasks.
+     *
+     * @param tasks   the tasks.
+     * @param windows the windows of all tasks.
+     * @return the latest end minus the earliest start of all windows.
+     */
+    private static int getSpan(ArrayList<Task> tasks, int[][] windows) {
+        int earliestStart = Integer.MAX_VALUE;
+        int latestEnd = Integer.MIN_VALUE;
+        for (Task task : tasks) {
+            earliestStart = Math.min(earliestStart, windows[task.getIdentifier()][0]);
+            latestEnd = Math.max(latestEnd, windows[task.getIdentifier()][1]);
+        }
+        return Math.max(0, latestEnd - earliestStart);
+    }
+
+    /**
+     * Returns true if both windows intersect, see "TaskWindowIndex.overlaps".
+     */
+    private static boolean overlaps(int[] first, int[] second) {
+        return first[1] >= second[0] && first[0] <= second[1];
+    }
+}
@@ -0,0 +1,217 @@
+package dt.tsg.cspModel;
+
+import com.google.ortools.sat.*;
+import com.google.ortools.util.Domain;
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.task.Task;
+import dt.tsg.task.TaskInstance;
+import dt.tsg.utils.Utils;
+
+import java.util.*;
+
+/**
+ * Explains why a task list is infeasible, in terms of the input parameters.
+ * <p>
+ * The constraints that follow from the input parameters are split into groups, and every group is only enforced if its assumption literal is true.
+ * The periods of periodic tasks, the number of resources and the NoOverlap constraints are always enforced.
+ * If the model is infeasible with all assumptions, the solver returns a subset of the assumptions that is sufficient for infeasibility (the core),
+ * which is then reduced by dropping every group that is not needed. The remaining groups conflict with each other.
+ * The explanation model is built separately, so the CP Model that is solved for the task set is not slowed down by the assumption literals.
+ */
+public class InfeasibilityExplanation {
+
+    /**
+     * The groups of constraints that can be part of an explanation, with the input parameters they follow from.
+     */
+    public enum ConstraintGroup {
+        RELEASE_TIME("release time bounds (releasetimes)"),
+        DEADLINE("deadline bounds (deadlines)"),
+        WCET("WCET bounds (wcet)"),
+        RESIDENCY("residency constraints (residencyconstraints, multiresidency)"),
+        PRECEDENCE("precedence relations (totalprecedencerelations)"),
+        SCHEDULING_LIMIT("scheduling limit of aperiodic tasks (schedulinglimit)");
+
+        private final String description;
+
+        ConstraintGroup(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * Builds the explanation model for the task list and returns the conflicting constraint groups.
+     *
+     * @param taskList the complete list of tasks, including the periodic task instances.
+     * @param limit    the scheduling limit.
+     * @param numResou the total number of resources.
+     * @param inputs   the InputParameters object.
+     * @param utils    the Utils object.
+     * @return the conflicting constraint groups, empty if the task list is infeasible even without all groups, or null if the explanation model is not infeasible.
+     */
+    public static ArrayList<ConstraintGroup> explain(ArrayList<Task> taskList, int limit, int numResou, InputParameters inputs, Utils utils) {
+        CpModel explanationModel = new CpModel();
+        Map<ConstraintGroup, BoolVar> assumptions = new EnumMap<>(ConstraintGroup.class);
+        for (ConstraintGroup group : ConstraintGroup.values()) {
+            assumptions.put(group, explanationModel.newBoolVar("assume_" + group));
+        }
+
+        Map<Integer, ModelTask> modelTaskMap = buildExplanationTasks(explanationModel, taskList, limit, numResou, inputs, assumptions);
+        addGuardedPrecedenceConstraints(explanationModel, taskList, limit, inputs, modelTaskMap, assumptions.get(ConstraintGroup.PRECEDENCE));
+        addPerResourceNoOverlap(explanationModel, taskList, numResou, modelTaskMap);
+
+        ArrayList<ConstraintGroup> core = solveWithAssumptions(explanationModel, new ArrayList<>(assumptions.keySet()), assumptions, inputs);
+        if (core == null) {
+            utils.DebugPrint("The explanation model is not infeasible with all assumptions.");
+            return null;
+        }
+
+        // drop every group that is not needed for the infeasibility
+        for (ConstraintGroup group : new ArrayList<>(core)) {
+            if (!core.contains(group)) continue;
+            ArrayList<ConstraintGroup> reducedGroups = new ArrayList<>(core);
+            reducedGroups.remove(group);
+            ArrayList<ConstraintGroup> reducedCore = solveWithAssumptions(explanationModel, reducedGroups, assumptions, inputs);
+            if (reducedCore != null) core = reducedCore;
+        }
+        utils.DebugPrint("Infeasibility explained by: " + core);
+        return core;
+    }
+
+    /**
+     * Generates the variables of all tasks and the guarded constraints of the release time, deadline, WCET, residency and scheduling limit groups.
+     * The domains only contain the period of periodic tasks, every other bound is a guarded constraint, see "CSPModelFunctions.generateIntegerVariableDomains".
+     *
+     * @return Map which maps the task ids to the Model Tasks of the explanation model.
+     */
+    private static Map<Integer, ModelTask> buildExplanationTasks(CpModel explanationModel, ArrayList<Task> taskList, int limit, int numResou, InputParameters inputs, Map<ConstraintGroup, BoolVar> assumptions) {
+        // aperiodic tasks may end after the scheduling limit if the limit is not enforced
+        long horizon = (long) limit * (taskList.size() + 1);
+        int wcet_lowerbound = inputs.getMin_WCET() == 0 ? 0 : 1;
+
+        Map<Integer, ModelTask> modelTaskMap = new HashMap<>();
+        for (Task task : taskList) {
+            int taskID = task.getIdentifier();
+            String suffix = "_" + taskID;
+            ModelTask modelTask = new ModelTask();
+            if (task instanceof TaskInstance taskInstance) {
+                modelTask.setPeriodicInstanceOf(modelTaskMap.get(taskInstance.getOriginal_task_ID()), (long) taskInstance.getInstance_number() * task.getPeriod());
+                modelTaskMap.put(taskID, modelTask);
+                continue;
+            }
+
+            // release times and deadlines are relative to the start of the first period
+            long periodStart = task.isPeriodic() && inputs.PhasedReleaseTimes() ? task.getPhase() : 0;
+            if (task.isPeriodic()) {
+                modelTask.setStart(explanationModel.newIntVar(periodStart, periodStart + task.getPeriod() - 1, "start" + suffix));
+                modelTask.setEnd(explanationModel.newIntVar(periodStart + 1, periodStart + task.getPeriod(), "end" + suffix));
+                modelTask.setWcet(explanationModel.newIntVar(wcet_lowerbound, task.getPeriod(), "wcet" + suffix));
+            } else {
+                modelTask.setStart(explanationModel.newIntVar(0, horizon - 1, "start" + suffix));
+                modelTask.setEnd(explanationModel.newIntVar(1, horizon, "end" + suffix));
+                modelTask.setWcet(explanationModel.newIntVar(wcet_lowerbound, horizon, "wcet" + suffix));
+                explanationModel.addLessOrEqual(modelTask.getEndVar(), limit).onlyEnforceIf(assumptions.get(ConstraintGroup.SCHEDULING_LIMIT));
+            }
+            explanationModel.addEquality(LinearExpr.sum(new IntVar[]{modelTask.getStartVar(), modelTask.getWcet()}), modelTask.getEndVar());
+            modelTask.setResource(explanationModel.newIntVar(0, numResou - 1, "resource" + suffix));
+
+            BoolVar releaseTime = assumptions.get(ConstraintGroup.RELEASE_TIME);
+            if (inputs.getMin_releaseTime() > -1)
+                explanationModel.addGreaterOrEqual(modelTask.getStartVar(), periodStart + inputs.getMin_releaseTime()).onlyEnforceIf(releaseTime);
+            if (inputs.getMax_releaseTime() > -1)
+                explanationModel.addLessOrEqual(modelTask.getStartVar(), periodStart + inputs.getMax_releaseTime()).onlyEnforceIf(releaseTime);
+
+            // periodic tasks ignore the maximum deadline if the deadline is equal to the period, see "CSPModelFunctions.getEndUpperbound"
+            BoolVar deadline = assumptions.get(ConstraintGroup.DEADLINE);
+            if (inputs.getMin_deadline() > -1)
+                explanationModel.addGreaterOrEqual(modelTask.getEndVar(), periodStart + inputs.getMin_deadline()).onlyEnforceIf(deadline);
+            if (inputs.getMax_deadline() > -1 && !(task.isPeriodic() && inputs.isDeadlineEqualToPeriod()))
+                explanationModel.addLessOrEqual(modelTask.getEndVar(), periodStart + inputs.getMax_deadline()).onlyEnforceIf(deadline);
+
+            BoolVar wcet = assumptions.get(ConstraintGroup.WCET);
+            if (inputs.getMin_WCET() > -1)
+                explanationModel.addGreaterOrEqual(modelTask.getWcet(), inputs.getMin_WCET()).onlyEnforceIf(wcet);
+            if (inputs.getMax_WCET() > -1)
+                explanationModel.addLessOrEqual(modelTask.getWcet(), inputs.getMax_WCET()).onlyEnforceIf(wcet);
+
+            if (!task.getResourceConstraint().isEmpty()) {
+                long[] allowedResources = task.getResourceConstraint().stream().mapToLong(Integer::longValue).toArray();
+                explanationModel.addLinearExpressionInDomain(modelTask.getResource(), Domain.fromValues(allowedResources)).onlyEnforceIf(assumptions.get(ConstraintGroup.RESIDENCY));
+            }
+            modelTaskMap.put(taskID, modelTask);
+        }
+        return modelTaskMap;
+    }
+
+    /**
+     * Adds the precedence constraints, guarded by the precedence assumption.
+     * Like in "CSPModelFunctions.addPrecedenceConstraintsToModel", tasks whose windows in the CP Model do not intersect are not constrained.
+     */
+    private static void addGuardedPrecedenceConstraints(CpModel explanationModel, ArrayList<Task> taskList, int limit, InputParameters inputs, Map<Integer, ModelTask> modelTaskMap, BoolVar precedence) {
+        int[][] windows = FeasibilityPreChecks.getWindows(taskList, limit, inputs);
+        for (Task task : taskList) {
+            for (Integer predID : task.getPredecessors()) {
+                int[] window = windows[task.getIdentifier()];
+                int[] predecessorWindow = windows[predID];
+                if (window[1] < predecessorWindow[0] || window[0] > predecessorWindow[1]) continue;
+                explanationModel.addGreaterOrEqual(modelTaskMap.get(task.getIdentifier()).getStart(), modelTaskMap.get(predID).getEnd()).onlyEnforceIf(precedence);
+            }
+        }
+    }
+
+    /**
+     * Adds one NoOverlap constraint per resource, every task may use every resource since residency constraints are guarded.
+     * Periodic task instances share the presence literals of their original task, see "CSPModelFunctions.addPerResourceNoOverlapConstraintsToModel".
+     */
+    private static void addPerResourceNoOverlap(CpModel explanationModel, ArrayList<Task> taskList, int numResou, Map<Integer, ModelTask> modelTaskMap) {
+        ArrayList<ArrayList<IntervalVar>> intervalsPerResource = new ArrayList<>();
+        for (int resource = 0; resource < numResou; resource++) {
+            intervalsPerResource.add(new ArrayList<>());
+        }
+        for (Task task : taskList) {
+            ModelTask modelTask = modelTaskMap.get(task.getIdentifier());
+            String suffix = "_" + task.getIdentifier();
+            if (!modelTask.isPeriodicInstance()) {
+                ArrayList<Literal> presenceLiterals = new ArrayList<>();
+                for (int resource = 0; resource < numResou; resource++) {
+                    BoolVar presence = explanationModel.newBoolVar("presence" + suffix + "_" + resource);
+                    explanationModel.addEquality(modelTask.getResource(), resource).onlyEnforceIf(presence);
+                    modelTask.getResourcePresence().put(resource, presence);
+                    presenceLiterals.add(presence);
+                }
+                explanationModel.addExactlyOne(presenceLiterals);
+            }
+            modelTask.getResourcePresence().forEach((resource, presence) ->
+                    intervalsPerResource.get(resource).add(explanationModel.newOptionalIntervalVar(modelTask.getStart(), modelTask.getWcet(), modelTask.getEnd(), presence, "interval" + suffix + "_" + resource)));
+        }
+        intervalsPerResource.forEach(explanationModel::addNoOverlap);
+    }
+
+    /**
+     * Solves the explanation model while the given groups are assumed to hold, the other groups may be violated.
+     *
+     * @return the groups of the core returned by the solver, or null if the model is not infeasible with these assumptions.
+     */
+    private static ArrayList<ConstraintGroup> solveWithAssumptions(CpModel explanationModel, List<ConstraintGroup> groups, Map<ConstraintGroup, BoolVar> assumptions, InputParameters inputs) {
+        explanationModel.clearAssumptions();
+        for (ConstraintGroup group : groups) {
+            explanationModel.addAssumption(assumptions.get(group));
+        }
+
+        // a single worker returns the core of the search that proved infeasibility
+        CpSolver solver = new CpSolver();
+        solver.getParameters().setNumWorkers(1);
+        CSPModelFunctions.setSolverTimeLimits(solver, inputs.getTimeLimit(), inputs.getDeterministicTimeLimit());
+        if (solver.solve(explanationModel) != CpSolverStatus.INFEASIBLE) return null;
+
+        ArrayList<ConstraintGroup> core = new ArrayList<>();
+        List<Integer> coreLiterals = solver.sufficientAssumptionsForInfeasibility();
+        for (ConstraintGroup group : groups) {
+            if (coreLiterals.contains(assumptions.get(group).getIndex())) core.add(group);
+        }
+        return core;
+    }
+}
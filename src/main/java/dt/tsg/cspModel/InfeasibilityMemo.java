@@ -0,0 +1,69 @@
+package dt.tsg.cspModel;
+
+import dt.tsg.cspModel.InfeasibilityExplanation.ConstraintGroup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the configurations that were proven infeasible, keyed by their fingerprint. See "ModelTemplate.fingerprint".
+ * The fingerprint describes the task list (its tasks, periods, phases, residency constraints and precedence relations) together with
+ * the scheduling limit, the number of resources and the input parameters, so a configuration with the same fingerprint is infeasible as well and does not need to be solved again.
+ * If the memo is full, the least recently used configuration is removed.
+ * The memo is thread-safe, so it can be shared by the worker threads of a batch.
+ */
+public class InfeasibilityMemo {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int capacity;
+    private final LinkedHashMap<String, ArrayList<ConstraintGroup>> infeasibleConfigurations;
+    private int hits = 0;
+
+    /**
+     * Creates an empty memo.
+     *
+     * @param capacity the maximum number of configurations kept in the memo.
+     */
+    public InfeasibilityMemo(int capacity) {
+        this.capacity = capacity;
+        // iterate in access order, the eldest entry is the least recently used one
+        this.infeasibleConfigurations = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ArrayList<ConstraintGroup>> eldest) {
+                return size() > InfeasibilityMemo.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the explanation of an infeasible configuration and counts the hit.
+     *
+     * @param fingerprint the fingerprint of the task list and its input parameters, see "ModelTemplate.fingerprint".
+     * @return the conflicting constraint groups, or null if the configuration is not known to be infeasible.
+     */
+    public synchronized ArrayList<ConstraintGroup> get(String fingerprint) {
+        ArrayList<ConstraintGroup> core = infeasibleConfigurations.get(fingerprint);
+        if (core != null) hits++;
+        return core;
+    }
+
+    /**
+     * Remembers an infeasible configuration.
+     *
+     * @param fingerprint the fingerprint of the task list and its input parameters, see "ModelTemplate.fingerprint".
+     * @param core        the conflicting constraint groups, see "InfeasibilityExplanation.explain".
+     */
+    public synchronized void put(String fingerprint, ArrayList<ConstraintGroup> core) {
+        infeasibleConfigurations.put(fingerprint, core);
+    }
+
+    public synchronized int size() {
+        return infeasibleConfigurations.size();
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+}
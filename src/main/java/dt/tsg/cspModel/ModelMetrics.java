@@ -0,0 +1,294 @@
+package dt.tsg.cspModel;
+
+import com.google.ortools.sat.ConstraintProto;
+import com.google.ortools.sat.CpModel;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records the size of a CP Model and the time spent in each stage of building and solving it.
+ * The metrics can be exported as JSON, see "toJson".
+ */
+public class ModelMetrics {
+
+    private int numberOfTasks = 0;
+    private int numberOfPeriodicInstances = 0;
+    private int numberOfResources = 0;
+    private int schedulingLimit = 0;
+    private int limitEscalations = 0;                    // number of times the scheduling limit was increased after the model was infeasible
+    private int preCheckViolations = 0;                  // violated feasibility pre-checks, the model is not built if this is larger than 0
+    private String engine = "CPSAT";                     // the engine that generated the schedule
+    private int heuristicIterations = 0;                 // greedy passes of the heuristic engine
+    private String neighbourhood = "";                   // the kind of neighbourhood if the task set was mutated, see "Neighbourhood"
+    private int neighbourhoodSize = 0;                   // the number of free tasks if the task set was mutated
+    private String noOverlapEncoding = "";
+    private boolean templateReused = false;             // true if the model was cloned from a cached template
+    private boolean infeasibilityMemoHit = false;       // true if the configuration was already proven infeasible and the model was not built
+    private int numberOfVariables = 0;
+    private int numberOfConstraints = 0;
+    private final Map<String, Integer> constraintCounts = new TreeMap<>();  // maps the constraint type to the number of constraints
+    private long noOverlapPairsCreated = 0;              // pairs of tasks that received a NoOverlap constraint (pairwise encoding)
+    private long noOverlapPairsSkipped = 0;              // pairs of tasks skipped due to non-intersecting windows (pairwise encoding)
+    private String solverProfile = "";                   // the solver profile that produced the result, the winner if profiles raced
+    private int numberOfWorkers = 0;                     // the worker threads of the solver that produced the result, see "SolverCoreBudget"
+    private int solutionsFound = 0;                      // solutions returned by the solver
+    private int duplicateSolutions = 0;                  // solutions dropped because they produce an already extracted task set
+    private final Map<String, Long> stageTimes = new LinkedHashMap<>();     // maps the stage name to its wall-clock time in nanoseconds
+
+    /**
+     * Counts the variables and constraints of the CP Model, constraints are counted by their type.
+     *
+     * @param cspModel the CP Model object.
+     */
+    public void recordModelSize(CpModel cspModel) {
+        numberOfVariables = cspModel.getBuilder().getVariablesCount();
+        numberOfConstraints = cspModel.getBuilder().getConstraintsCount();
+        constraintCounts.clear();
+        for (ConstraintProto constraint : cspModel.getBuilder().getConstraintsList()) {
+            constraintCounts.merge(constraint.getConstraintCase().name(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Adds the time since stageStart to a stage. Stages that are recorded multiple times are summed up.
+     *
+     * @param stage      the name of the stage.
+     * @param stageStart the start of the stage, taken from System.nanoTime().
+     */
+    public void recordStage(String stage, long stageStart) {
+        stageTimes.merge(stage, System.nanoTime() - stageStart, Long::sum);
+    }
+
+    /**
+     * Counts a solution returned by the solver.
+     *
+     * @param duplicate true if the solution was dropped as duplicate, see "SolutionFingerprint".
+     */
+    public void recordSolution(boolean duplicate) {
+        solutionsFound++;
+        if (duplicate) duplicateSolutions++;
+    }
+
+    /**
+     * Returns the share of solver solutions that were dropped as duplicates.
+     *
+     * @return the deduplication rate between 0 and 1, 0 if no solution was found.
+     */
+    public double getDeduplicationRate() {
+        return solutionsFound == 0 ? 0 : (double) duplicateSolutions / solutionsFound;
+    }
+
+    /**
+     * Exports the metrics as a JSON object. Stage times are given in milliseconds.
+     *
+     * @return the metrics as JSON string.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"numberOfTasks\":").append(numberOfTasks);
+        json.append(",\"numberOfPeriodicInstances\":").append(numberOfPeriodicInstances);
+        json.append(",\"numberOfResources\":").append(numberOfResources);
+        json.append(",\"schedulingLimit\":").append(schedulingLimit);
+        json.append(",\"limitEscalations\":").append(limitEscalations);
+        json.append(",\"preCheckViolations\":").append(preCheckViolations);
+        json.append(",\"engine\":\"").append(engine).append('"');
+        json.append(",\"heuristicIterations\":").append(heuristicIterations);
+        json.append(",\"neighbourhood\":\"").append(neighbourhood).append('"');
+        json.append(",\"neighbourhoodSize\":").append(neighbourhoodSize);
+        json.append(",\"noOverlapEncoding\":\"").append(noOverlapEncoding).append('"');
+        json.append(",\"templateReused\":").append(templateReused);
+        json.append(",\"infeasibilityMemoHit\":").append(infeasibilityMemoHit);
+        json.append(",\"numberOfVariables\":").append(numberOfVariables);
+        json.append(",\"numberOfConstraints\":").append(numberOfConstraints);
+        json.append(",\"constraintCounts\":{");
+        String separator = "";
+        for (Map.Entry<String, Integer> entry : constraintCounts.entrySet()) {
+            json.append(separator).append('"').append(entry.getKey()).append("\":").append(entry.getValue());
+            separator = ",";
+        }
+        json.append('}');
+        json.append(",\"noOverlapPairsCreated\":").append(noOverlapPairsCreated);
+        json.append(",\"noOverlapPairsSkipped\":").append(noOverlapPairsSkipped);
+        json.append(",\"solverProfile\":\"").append(solverProfile).append('"');
+        json.append(",\"numberOfWorkers\":").append(numberOfWorkers);
+        json.append(",\"solutionsFound\":").append(solutionsFound);
+        json.append(",\"duplicateSolutions\":").append(duplicateSolutions);
+        json.append(",\"deduplicationRate\":").append(String.format(Locale.ROOT, "%.3f", getDeduplicationRate()));
+        json.append(",\"stageTimesMs\":{");
+        separator = "";
+        for (Map.Entry<String, Long> entry : stageTimes.entrySet()) {
+            json.append(separator).append('"').append(entry.getKey()).append("\":").append(String.format(Locale.ROOT, "%.3f", entry.getValue() / 1_000_000.0));
+            separator = ",";
+        }
+        json.append("}}");
+        return json.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ModelMetrics" + toJson();
+    }
+
+    public int getNumberOfTasks() {
+        return numberOfTasks;
+    }
+
+    public void setNumberOfTasks(int numberOfTasks) {
+        this.numberOfTasks = numberOfTasks;
+    }
+
+    public int getNumberOfPeriodicInstances() {
+        return numberOfPeriodicInstances;
+    }
+
+    public void setNumberOfPeriodicInstances(int numberOfPeriodicInstances) {
+        this.numberOfPeriodicInstances = numberOfPeriodicInstances;
+    }
+
+    public int getNumberOfResources() {
+        return numberOfResources;
+    }
+
+    public void setNumberOfResources(int numberOfResources) {
+        this.numberOfResources = numberOfResources;
+    }
+
+    public int getSchedulingLimit() {
+        return schedulingLimit;
+    }
+
+    public void setSchedulingLimit(int schedulingLimit) {
+        this.schedulingLimit = schedulingLimit;
+    }
+
+    public int getLimitEscalations() {
+        return limitEscalations;
+    }
+
+    public void setLimitEscalations(int limitEscalations) {
+        this.limitEscalations = limitEscalations;
+    }
+
+    public int getPreCheckViolations() {
+        return preCheckViolations;
+    }
+
+    public void setPreCheckViolations(int preCheckViolations) {
+        this.preCheckViolations = preCheckViolations;
+    }
+
+    public String getNoOverlapEncoding() {
+        return noOverlapEncoding;
+    }
+
+    public void setNoOverlapEncoding(String noOverlapEncoding) {
+        this.noOverlapEncoding = noOverlapEncoding;
+    }
+
+    public boolean isTemplateReused() {
+        return templateReused;
+    }
+
+    public void setTemplateReused(boolean templateReused) {
+        this.templateReused = templateReused;
+    }
+
+    public boolean isInfeasibilityMemoHit() {
+        return infeasibilityMemoHit;
+    }
+
+    public void setInfeasibilityMemoHit(boolean infeasibilityMemoHit) {
+        this.infeasibilityMemoHit = infeasibilityMemoHit;
+    }
+
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    public int getNumberOfConstraints() {
+        return numberOfConstraints;
+    }
+
+    public Map<String, Integer> getConstraintCounts() {
+        return constraintCounts;
+    }
+
+    public long getNoOverlapPairsCreated() {
+        return noOverlapPairsCreated;
+    }
+
+    public void setNoOverlapPairsCreated(long noOverlapPairsCreated) {
+        this.noOverlapPairsCreated = noOverlapPairsCreated;
+    }
+
+    public long getNoOverlapPairsSkipped() {
+        return noOverlapPairsSkipped;
+    }
+
+    public void setNoOverlapPairsSkipped(long noOverlapPairsSkipped) {
+        this.noOverlapPairsSkipped = noOverlapPairsSkipped;
+    }
+
+    public String getSolverProfile() {
+        return solverProfile;
+    }
+
+    public void setSolverProfile(String solverProfile) {
+        this.solverProfile = solverProfile;
+    }
+
+    public int getSolutionsFound() {
+        return solutionsFound;
+    }
+
+    public int getDuplicateSolutions() {
+        return duplicateSolutions;
+    }
+
+    public Map<String, Long> getStageTimes() {
+        return stageTimes;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public int getHeuristicIterations() {
+        return heuristicIterations;
+    }
+
+    public void setHeuristicIterations(int heuristicIterations) {
+        this.heuristicIterations = heuristicIterations;
+    }
+
+    public String getNeighbourhood() {
+        return neighbourhood;
+    }
+
+    public void setNeighbourhood(String neighbourhood) {
+        this.neighbourhood = neighbourhood;
+    }
+
+    public int getNeighbourhoodSize() {
+        return neighbourhoodSize;
+    }
+
+    public void setNeighbourhoodSize(int neighbourhoodSize) {
+        this.neighbourhoodSize = neighbourhoodSize;
+    }
+
+    public int getNumberOfWorkers() {
+        return numberOfWorkers;
+    }
+
+    public void setNumberOfWorkers(int numberOfWorkers) {
+        this.numberOfWorkers = numberOfWorkers;
+    }
+}
@@ -2,6 +2,12 @@ package dt.tsg.cspModel;
 
 import com.google.ortools.sat.IntVar;
 import com.google.ortools.sat.IntervalVar;
+import com.google.ortools.sat.LinearArgument;
+import com.google.ortools.sat.LinearExpr;
+import com.google.ortools.sat.Literal;
+
+import java.util.HashMap;
+import java.util.Map;
 
 public class ModelTask {
 
@@ -10,6 +16,9 @@ public class ModelTask {
     private IntVar wcet;
     private IntervalVar interval;
     private IntVar resource;
+    private Map<Integer, Literal> resourcePresence = new HashMap<>();     // maps resource ids to the literal that is true if the task is scheduled on that resource (per-resource NoOverlap encoding)
+    private boolean periodicInstance = false;   // true if the variables are shared with the original periodic task
+    private long offset = 0;                    // offset of the start and end of a periodic task instance relative to the original task
 
     @Override
     public String toString() {
@@ -19,10 +28,54 @@ public class ModelTask {
                 ", wcet=" + wcet +
                 ", interval=" + interval +
                 ", resource=" + resource +
+                ", resourcePresence=" + resourcePresence.keySet() +
+                ", periodicInstance=" + periodicInstance +
+                ", offset=" + offset +
                 '}';
     }
 
-    public IntVar getStart() {
+    /**
+     * Turns this Model Task into an instance of a periodic Model Task.
+     * The instance does not have its own variables: start and end are affine expressions "original + offset",
+     * while the WCET, resource and resource presence literals are shared with the original task.
+     *
+     * @param original the Model Task of the original periodic task.
+     * @param offset   the offset of the instance relative to the original task (instance number * period).
+     */
+    public void setPeriodicInstanceOf(ModelTask original, long offset) {
+        this.start = original.start;
+        this.end = original.end;
+        this.wcet = original.wcet;
+        this.resource = original.resource;
+        this.resourcePresence = original.resourcePresence;
+        this.periodicInstance = true;
+        this.offset = offset;
+    }
+
+    /**
+     * Returns the start of the task, which is an affine expression for periodic task instances.
+     *
+     * @return the start of the task.
+     */
+    public LinearArgument getStart() {
+        return periodicInstance ? LinearExpr.affine(start, 1, offset) : start;
+    }
+
+    /**
+     * Returns the end of the task, which is an affine expression for periodic task instances.
+     *
+     * @return the end of the task.
+     */
+    public LinearArgument getEnd() {
+        return periodicInstance ? LinearExpr.affine(end, 1, offset) : end;
+    }
+
+    /**
+     * Returns the start IntVar, which is shared with the original task for periodic task instances. See "getOffset".
+     *
+     * @return the start IntVar.
+     */
+    public IntVar getStartVar() {
         return start;
     }
 
@@ -30,7 +83,12 @@ public class ModelTask {
         this.start = start;
     }
 
-    public IntVar getEnd() {
+    /**
+     * Returns the end IntVar, which is shared with the original task for periodic task instances. See "getOffset".
+     *
+     * @return the end IntVar.
+     */
+    public IntVar getEndVar() {
         return end;
     }
 
@@ -38,6 +96,24 @@ public class ModelTask {
         this.end = end;
     }
 
+    /**
+     * Returns the smallest value the start of the task can take.
+     *
+     * @return the minimum of the start domain, including the offset.
+     */
+    public long getStartMin() {
+        return start.getDomain().min() + offset;
+    }
+
+    /**
+     * Returns the largest value the end of the task can take.
+     *
+     * @return the maximum of the end domain, including the offset.
+     */
+    public long getEndMax() {
+        return end.getDomain().max() + offset;
+    }
+
     public IntVar getWcet() {
         return wcet;
     }
@@ -61,4 +137,20 @@ public class ModelTask {
     public void setResource(IntVar resource) {
         this.resource = resource;
     }
+
+    public Map<Integer, Literal> getResourcePresence() {
+        return resourcePresence;
+    }
+
+    public void setResourcePresence(Map<Integer, Literal> resourcePresence) {
+        this.resourcePresence = resourcePresence;
+    }
+
+    public boolean isPeriodicInstance() {
+        return periodicInstance;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
 }
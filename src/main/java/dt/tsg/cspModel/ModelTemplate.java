@@ -0,0 +1,146 @@
+package dt.tsg.cspModel;
+
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.Literal;
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.task.Task;
+import dt.tsg.task.TaskInstance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A CP Model without hints that can be reused for task lists with the same structure.
+ * The structure of a task list is described by its fingerprint, see "fingerprint".
+ * Every use clones the prototype and binds the Model Tasks and Dynamic Constraints to the variables of the clone,
+ * so only hints have to be added before solving.
+ */
+public class ModelTemplate {
+
+    private final CpModel prototype;                        // the CP Model without hints
+    private final Map<Integer, ModelTask> modelTaskMap;     // the Model Tasks, only the variable indices are used
+    private final DynamicConstraints dynamicConstraints;    // the Dynamic Constraints, only the variable indices are used
+    private final long noOverlapPairs;                      // the number of task pairs with a NoOverlap constraint, see "ModelMetrics"
+
+    /**
+     * Creates a template from a CP Model that does not contain hints yet.
+     * The CP Model is cloned, later changes to it do not affect the template.
+     *
+     * @param cspModel           the CP Model object.
+     * @param modelTaskMap       the Model Tasks of the CP Model.
+     * @param dynamicConstraints the Dynamic Constraints of the CP Model.
+     * @param noOverlapPairs     the number of task pairs with a NoOverlap constraint.
+     */
+    public ModelTemplate(CpModel cspModel, Map<Integer, ModelTask> modelTaskMap, DynamicConstraints dynamicConstraints, long noOverlapPairs) {
+        this.prototype = cspModel.getClone();
+        this.modelTaskMap = modelTaskMap;
+        this.dynamicConstraints = dynamicConstraints;
+        this.noOverlapPairs = noOverlapPairs;
+    }
+
+    /**
+     * Returns a new copy of the CP Model.
+     *
+     * @return a clone of the prototype.
+     */
+    public CpModel instantiate() {
+        return prototype.getClone();
+    }
+
+    /**
+     * Builds the Model Tasks for a clone of the prototype, see "instantiate".
+     * The resource presence literals are bound as well, the hints of the list scheduling strategy use them, see "CSPModelFunctions.addScheduleHintsToModel".
+     * Interval variables are not bound, as they are only required while building the model and cannot be looked up by their index.
+     *
+     * @param cspModel the clone of the prototype.
+     * @param taskList the list of tasks the clone is used for.
+     * @return Map<Integer, ModelTask> which maps the taskIds to the equivalent ModelTask object of the clone.
+     */
+    public Map<Integer, ModelTask> bindModelTasks(CpModel cspModel, ArrayList<Task> taskList) {
+        Map<Integer, ModelTask> boundModelTaskMap = new HashMap<>();
+        // original tasks precede their periodic task instances in the task list
+        for (int taskID = 0; taskID < taskList.size(); taskID++) {
+            ModelTask templateTask = modelTaskMap.get(taskID);
+            ModelTask modelTask = new ModelTask();
+            if (templateTask.isPeriodicInstance()) {
+                int originalTaskID = ((TaskInstance) taskList.get(taskID)).getOriginal_task_ID();
+                modelTask.setPeriodicInstanceOf(boundModelTaskMap.get(originalTaskID), templateTask.getOffset());
+            } else {
+                modelTask.setStart(cspModel.getIntVarFromProtoIndex(templateTask.getStartVar().getIndex()));
+                modelTask.setEnd(cspModel.getIntVarFromProtoIndex(templateTask.getEndVar().getIndex()));
+                modelTask.setWcet(cspModel.getIntVarFromProtoIndex(templateTask.getWcet().getIndex()));
+                if (templateTask.getResource() != null) {
+                    modelTask.setResource(cspModel.getIntVarFromProtoIndex(templateTask.getResource().getIndex()));
+                }
+                templateTask.getResourcePresence().forEach((resource, presence) -> modelTask.getResourcePresence().put(resource, bindLiteral(cspModel, presence)));
+            }
+            boundModelTaskMap.put(taskID, modelTask);
+        }
+        return boundModelTaskMap;
+    }
+
+    /**
+     * Returns the literal of the clone with the same index, a negative index refers to the negation of the variable with index -index-1.
+     */
+    private static Literal bindLiteral(CpModel cspModel, Literal literal) {
+        int index = literal.getIndex();
+        return index >= 0 ? cspModel.getBoolVarFromProtoIndex(index) : cspModel.getBoolVarFromProtoIndex(-index - 1).not();
+    }
+
+    /**
+     * Builds the Dynamic Constraints for a clone of the prototype, see "instantiate".
+     *
+     * @param cspModel the clone of the prototype.
+     * @return the Dynamic Constraints of the clone.
+     */
+    public DynamicConstraints bindDynamicConstraints(CpModel cspModel) {
+        return new DynamicConstraints(
+                cspModel.getIntVarFromProtoIndex(dynamicConstraints.getCp_releasetime_min().getIndex()),
+                cspModel.getIntVarFromProtoIndex(dynamicConstraints.getCp_releasetime_max().getIndex()),
+                cspModel.getIntVarFromProtoIndex(dynamicConstraints.getCp_deadline_min().getIndex()),
+                cspModel.getIntVarFromProtoIndex(dynamicConstraints.getCp_deadline_max().getIndex()),
+                cspModel.getIntVarFromProtoIndex(dynamicConstraints.getCp_wcet_min().getIndex()),
+                cspModel.getIntVarFromProtoIndex(dynamicConstraints.getCp_wcet_max().getIndex()));
+    }
+
+    /**
+     * Describes everything the structure of the CP Model depends on.
+     * Task lists with equal fingerprints result in CP Models that only differ in their hints.
+     *
+     * @param taskList          the list of tasks.
+     * @param limit             the scheduling limit.
+     * @param numResou          the number of resources.
+     * @param noOverlapEncoding the NoOverlap encoding that is used for the task list.
+     * @param inputs            the InputParameters object.
+     * @return the fingerprint of the CP Model structure.
+     */
+    public static String fingerprint(ArrayList<Task> taskList, int limit, int numResou, InputParameters.NoOverlapEncoding noOverlapEncoding, InputParameters inputs) {
+        StringBuilder fingerprint = new StringBuilder();
+        fingerprint.append("limit=").append(limit)
+                .append(";resources=").append(numResou)
+                .append(";encoding=").append(noOverlapEncoding)
+                .append(";symmetryBreaking=").append(inputs.isSymmetryBreaking())
+                .append(";maximizeWCET=").append(inputs.isMaximizeWCET())
+                .append(";phased=").append(inputs.PhasedReleaseTimes())
+                .append(";deadlineEqualToPeriod=").append(inputs.isDeadlineEqualToPeriod())
+                .append(";releaseTime=").append(inputs.getMin_releaseTime()).append(',').append(inputs.getMax_releaseTime())
+                .append(";deadline=").append(inputs.getMin_deadline()).append(',').append(inputs.getMax_deadline())
+                .append(";wcet=").append(inputs.getMin_WCET()).append(',').append(inputs.getMax_WCET());
+        for (Task task : taskList) {
+            fingerprint.append(";T").append(task.getIdentifier())
+                    .append(':').append(task.isPeriodic() ? task.getPeriod() : -1)
+                    .append(':').append(task.getPhase())
+                    .append(':').append(task.getResourceConstraint().stream().sorted().toList())
+                    .append(':').append(task.getPredecessors().stream().sorted().toList());
+            if (task instanceof TaskInstance taskInstance) {
+                fingerprint.append(":I").append(taskInstance.getOriginal_task_ID()).append(',').append(taskInstance.getInstance_number());
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    public long getNoOverlapPairs() {
+        return noOverlapPairs;
+    }
+}
@@ -0,0 +1,68 @@
+package dt.tsg.cspModel;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the most recently used Model Templates, keyed by their fingerprint. See "ModelTemplate.fingerprint".
+ * If the cache is full, the least recently used template is removed.
+ */
+public class ModelTemplateCache {
+
+    private final int capacity;
+    private final LinkedHashMap<String, ModelTemplate> templates;
+    private int hits = 0;
+    private int misses = 0;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity the maximum number of templates kept in the cache.
+     */
+    public ModelTemplateCache(int capacity) {
+        this.capacity = capacity;
+        // iterate in access order, the eldest entry is the least recently used one
+        this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ModelTemplate> eldest) {
+                return size() > ModelTemplateCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the template for a fingerprint and counts the cache hit or miss.
+     *
+     * @param fingerprint the fingerprint of the CP Model structure.
+     * @return the template, or null if no template with this fingerprint is cached.
+     */
+    public ModelTemplate get(String fingerprint) {
+        ModelTemplate template = templates.get(fingerprint);
+        if (template == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return template;
+    }
+
+    public void put(String fingerprint, ModelTemplate template) {
+        templates.put(fingerprint, template);
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+}
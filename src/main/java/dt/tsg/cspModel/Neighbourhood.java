@@ -0,0 +1,138 @@
+package dt.tsg.cspModel;
+
+import com.google.ortools.sat.BoolVar;
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.Literal;
+import dt.tsg.task.Task;
+import dt.tsg.task.TaskInstance;
+import dt.tsg.utils.Utils;
+
+import java.util.*;
+
+/**
+ * Neighbourhood of a solved task set for large neighbourhood search (LNS), see "TaskGenerationFramework.mutateTaskSet".
+ * The tasks inside the neighbourhood are free, all other tasks are fixed to their start, wcet and resource of the solved task set.
+ * Periodic task instances follow their original task, so a neighbourhood only holds tasks that are not periodic instances.
+ * <p>
+ * A neighbourhood is one of
+ * SUBGRAPH: the tasks that are connected to a random task by precedence relations,
+ * RESOURCE: the tasks that run on a random resource,
+ * TIMEWINDOW: the tasks that run within a random quarter of the scheduling limit.
+ */
+public class Neighbourhood {
+
+    public enum Kind {SUBGRAPH, RESOURCE, TIMEWINDOW}
+
+    private final Kind kind;
+    private final Set<Integer> freeTaskIDs;
+    private final int[] solution;       // the solution buffer of the solved task set
+
+    private Neighbourhood(Kind kind, Set<Integer> freeTaskIDs, int[] solution) {
+        this.kind = kind;
+        this.freeTaskIDs = freeTaskIDs;
+        this.solution = solution;
+    }
+
+    /**
+     * Selects a random neighbourhood of a solved task set.
+     *
+     * @param kind     the kind of neighbourhood, null selects a random kind.
+     * @param taskList the complete list of tasks, including the periodic task instances.
+     * @param solution the solution buffer of the solved task set, see "ScheduledTask.copySolutionValues".
+     * @param limit    the scheduling limit.
+     * @param utils    the Utils object.
+     * @return the neighbourhood, it holds at least one task.
+     */
+    public static Neighbourhood select(Kind kind, ArrayList<Task> taskList, int[] solution, int limit, Utils utils) {
+        if (kind == null) kind = Kind.values()[utils.random.nextInt(Kind.values().length)];
+        // the resources are not part of the solution if they were assigned after solving, see "CSPModelFunctions.addCumulativeConstraintToModel"
+        if (kind == Kind.RESOURCE && solution[3] == -1) kind = Kind.TIMEWINDOW;
+
+        Task seed = taskList.get(utils.random.nextInt(taskList.size()));
+        Set<Integer> freeTaskIDs = new TreeSet<>();
+        switch (kind) {
+            case SUBGRAPH -> {
+                // breadth-first search over the precedence relations in both directions
+                Deque<Task> queue = new ArrayDeque<>(List.of(seed));
+                Set<Integer> visited = new HashSet<>(List.of(seed.getIdentifier()));
+                while (!queue.isEmpty()) {
+                    Task task = queue.poll();
+                    freeTaskIDs.add(getOriginalID(task));
+                    ArrayList<Integer> neighbours = new ArrayList<>(task.getPredecessors());
+                    neighbours.addAll(task.getSuccessors());
+                    for (Integer neighbourID : neighbours) {
+                        if (visited.add(neighbourID)) queue.add(taskList.get(neighbourID));
+                    }
+                }
+            }
+            case RESOURCE -> {
+                int resource = solution[seed.getIdentifier() * 4 + 3];
+                for (Task task : taskList) {
+                    if (solution[task.getIdentifier() * 4 + 3] == resource) freeTaskIDs.add(getOriginalID(task));
+                }
+            }
+            case TIMEWINDOW -> {
+                // the window is centred on the seed task, so it is never empty
+                int length = Math.max(1, limit / 4);
+                int windowStart = solution[seed.getIdentifier() * 4] - length / 2;
+                int windowEnd = windowStart + length;
+                for (Task task : taskList) {
+                    if (solution[task.getIdentifier() * 4] < windowEnd && solution[task.getIdentifier() * 4 + 1] > windowStart)
+                        freeTaskIDs.add(getOriginalID(task));
+                }
+                freeTaskIDs.add(getOriginalID(seed));
+            }
+        }
+        return new Neighbourhood(kind, freeTaskIDs, solution);
+    }
+
+    /**
+     * Fixes all tasks outside the neighbourhood to the solved task set.
+     * At least one task inside the neighbourhood must change its start or wcet, otherwise the solver could return the solved task set again.
+     *
+     * @param cspModel     the CP Model object.
+     * @param modelTaskMap maps the task ids to the Model Tasks.
+     * @param taskList     the complete list of tasks of the solved task set.
+     */
+    public void addToModel(CpModel cspModel, Map<Integer, ModelTask> modelTaskMap, ArrayList<Task> taskList) {
+        ArrayList<Literal> changes = new ArrayList<>();
+        for (Task task : taskList) {
+            if (task instanceof TaskInstance) continue;
+            int taskID = task.getIdentifier();
+            ModelTask modelTask = modelTaskMap.get(taskID);
+            if (freeTaskIDs.contains(taskID)) {
+                BoolVar startChanged = cspModel.newBoolVar("startChanged_" + taskID);
+                cspModel.addDifferent(modelTask.getStartVar(), solution[taskID * 4]).onlyEnforceIf(startChanged);
+                BoolVar wcetChanged = cspModel.newBoolVar("wcetChanged_" + taskID);
+                cspModel.addDifferent(modelTask.getWcet(), solution[taskID * 4 + 2]).onlyEnforceIf(wcetChanged);
+                changes.add(startChanged);
+                changes.add(wcetChanged);
+                continue;
+            }
+            cspModel.addEquality(modelTask.getStartVar(), solution[taskID * 4]);
+            cspModel.addEquality(modelTask.getWcet(), solution[taskID * 4 + 2]);
+            if (modelTask.getResource() != null) cspModel.addEquality(modelTask.getResource(), solution[taskID * 4 + 3]);
+        }
+        cspModel.addBoolOr(changes);
+    }
+
+    /**
+     * Returns the id of the original task of a periodic task instance, or the id of the task itself.
+     */
+    private static int getOriginalID(Task task) {
+        return task instanceof TaskInstance taskInstance ? taskInstance.getOriginal_task_ID() : task.getIdentifier();
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Set<Integer> getFreeTaskIDs() {
+        return freeTaskIDs;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + freeTaskIDs;
+    }
+}
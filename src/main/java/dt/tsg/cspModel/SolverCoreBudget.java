@@ -0,0 +1,107 @@
+package dt.tsg.cspModel;
+
+import com.google.ortools.sat.CpModel;
+
+/**
+ * Process-wide budget of CPU cores for the CP-Solver.
+ * Every solve leases its worker threads from the budget and returns them when it is finished, so that concurrent solves do not oversubscribe the cores.
+ * <p>
+ * A solve that requests a fixed number of worker threads ("numberofworkerthreads" larger than 0) gets this number, limited by the free cores.
+ * A solve that requests 0 worker threads gets a number that depends on the size of its CP Model and on the solves in flight:
+ * small models are solved single-threaded, larger models get one worker per SMALL_MODEL_SIZE, limited by the free cores and by a fair share of all cores.
+ * A solve always gets at least one worker, even if the budget is exhausted.
+ */
+public class SolverCoreBudget {
+
+    public static final long SMALL_MODEL_SIZE = 5000;       // number of variables and constraints up to which a model is solved single-threaded
+
+    private static int totalCores = Runtime.getRuntime().availableProcessors();
+    private static int coresInUse = 0;
+    private static int solvesInFlight = 0;
+
+    /**
+     * Worker threads leased from the budget, they are returned by "close".
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final int workers;
+        private boolean released = false;
+
+        private Lease(int workers) {
+            this.workers = workers;
+        }
+
+        /**
+         * Returns the number of worker threads the solver may use.
+         */
+        public int workers() {
+            return workers;
+        }
+
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
+
+    /**
+     * Leases worker threads for a solve.
+     *
+     * @param requestedWorkers the number of worker threads of the input parameters, 0 lets the budget choose.
+     * @param modelSize        the number of variables and constraints of the CP Model, see "modelSize".
+     * @return the lease, it must be closed when the solve is finished. It may hold fewer workers than requested.
+     */
+    public static synchronized Lease acquire(int requestedWorkers, long modelSize) {
+        int workers;
+        int freeCores = totalCores - coresInUse;
+        if (requestedWorkers > 0) {
+            workers = Math.max(1, Math.min(requestedWorkers, freeCores));
+        } else if (modelSize <= SMALL_MODEL_SIZE) {
+            workers = 1;
+        } else {
+            // the cores are shared with the solves in flight, larger models get more of them
+            int fairShare = totalCores / (solvesInFlight + 1);
+            long sizeShare = modelSize / SMALL_MODEL_SIZE;
+            workers = (int) Math.max(1, Math.min(sizeShare, Math.min(freeCores, fairShare)));
+        }
+        coresInUse += workers;
+        solvesInFlight++;
+        return new Lease(workers);
+    }
+
+    private static synchronized void release(Lease lease) {
+        if (lease.released) return;
+        lease.released = true;
+        coresInUse -= lease.workers;
+        solvesInFlight--;
+    }
+
+    /**
+     * Returns the size of a CP Model, the number of its variables and constraints.
+     *
+     * @param cspModel the CP Model object.
+     * @return the size of the CP Model.
+     */
+    public static long modelSize(CpModel cspModel) {
+        return (long) cspModel.getBuilder().getVariablesCount() + cspModel.getBuilder().getConstraintsCount();
+    }
+
+    public static synchronized int getTotalCores() {
+        return totalCores;
+    }
+
+    /**
+     * Sets the number of cores of the budget, the default is the number of available processors.
+     */
+    public static synchronized void setTotalCores(int totalCores) {
+        SolverCoreBudget.totalCores = totalCores;
+    }
+
+    public static synchronized int getCoresInUse() {
+        return coresInUse;
+    }
+
+    public static synchronized int getSolvesInFlight() {
+        return solvesInFlight;
+    }
+}
@@ -0,0 +1,183 @@
+package dt.tsg.cspModel;
+
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverSolutionCallback;
+import com.google.ortools.sat.CpSolverStatus;
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.InputParams.InputParameters.SolverProfile;
+import dt.tsg.utils.Utils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Runs several solver profiles concurrently on copies of the same CP Model and keeps the first conclusive result.
+ * A result is conclusive if the solver found a solution or proved that there is none, the remaining solvers are then stopped.
+ * The race returns as soon as it is decided, the stopped solvers finish in the background and release their worker threads when they return.
+ * Racers with the same profile differ in their random seed.
+ * <p>
+ * Wins and losses of every profile are tallied over all races of the process, so that the default profile can be chosen from observed data.
+ * A race without a conclusive result is lost by every racer.
+ */
+public class SolverRace {
+
+    private static final Map<SolverProfile, AtomicInteger> wins = new ConcurrentHashMap<>();
+    private static final Map<SolverProfile, AtomicInteger> losses = new ConcurrentHashMap<>();
+
+    /**
+     * The result of a race.
+     *
+     * @param profile  the profile of the winning solver.
+     * @param solver   the winning solver, its response holds the solution.
+     * @param status   the status returned by the winning solver.
+     * @param callback the solution callback of the winning solver.
+     */
+    public record Result(SolverProfile profile, CpSolver solver, CpSolverStatus status, CpSolverSolutionCallback callback) {
+    }
+
+    /**
+     * Races the given profiles on copies of the CP Model.
+     * All variables keep their index in the copies, so the winning solver can be read with the variables of the original CP Model.
+     * The original CP Model is not solved, so it can be changed while stopped solvers are still running.
+     *
+     * @param cspModel        the CP Model object.
+     * @param profiles        the profiles that race, a profile may appear multiple times.
+     * @param inputs          the Input parameters object, holds the number of worker threads of every racing solver and the time limits.
+     * @param solutionCount   the number of solutions every racing solver searches for.
+     * @param callbackFactory creates the solution callback of the racer with the given index.
+     * @param utils           the Utils object.
+     * @return the first conclusive result, or the first result if no solver was conclusive.
+     */
+    public static Result race(CpModel cspModel, List<SolverProfile> profiles, InputParameters inputs, int solutionCount, IntFunction<CpSolverSolutionCallback> callbackFactory, Utils utils) {
+        ExecutorService racers = Executors.newFixedThreadPool(profiles.size());
+        CompletionService<Result> completionService = new ExecutorCompletionService<>(racers);
+        // every racer solves its own copy, all copies are made before the race starts since the solver reads the model while solving
+        ArrayList<CpModel> models = new ArrayList<>();
+        for (int racer = 0; racer < profiles.size(); racer++) {
+            models.add(cspModel.getClone());
+        }
+        // a solver can only be stopped once its search runs, racers that start after the race is decided do not search at all
+        AtomicBoolean decided = new AtomicBoolean(false);
+
+        // every racer leases its worker threads from the process-wide budget, see "SolverCoreBudget"
+        ArrayList<CpSolver> solvers = new ArrayList<>();
+        for (int racer = 0; racer < profiles.size(); racer++) {
+            SolverProfile profile = profiles.get(racer);
+            CpSolver solver = new CpSolver();
+            SolverCoreBudget.Lease coreLease = SolverCoreBudget.acquire(inputs.getNumberOfWorkerThreads(), SolverCoreBudget.modelSize(cspModel));
+            CSPModelFunctions.setSolverParameters(solver, profile, inputs.getNumberOfWorkerThreads(), coreLease.workers(), solutionCount, utils);
+            CSPModelFunctions.setSolverTimeLimits(solver, inputs.getTimeLimit(), inputs.getDeterministicTimeLimit());
+            solver.getParameters().setRandomSeed((utils.getSolverSeed() + racer) & Integer.MAX_VALUE);
+            solvers.add(solver);
+            CpModel model = models.get(racer);
+            CpSolverSolutionCallback callback = callbackFactory.apply(racer);
+            completionService.submit(() -> {
+                try {
+                    if (decided.get()) return new Result(profile, solver, CpSolverStatus.UNKNOWN, callback);
+                    return new Result(profile, solver, solver.solve(model, callback), callback);
+                } finally {
+                    coreLease.close();
+                }
+            });
+        }
+
+        Result winner = null;
+        Result firstResult = null;
+        try {
+            for (int finished = 0; finished < profiles.size() && winner == null; finished++) {
+                Result result = completionService.take().get();
+                if (firstResult == null) firstResult = result;
+                if (isConclusive(result.status())) {
+                    winner = result;
+                    utils.DebugPrint("Solver race won by profile " + result.profile() + " with status " + result.status());
+                }
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            // the remaining solvers are not awaited, each racer releases its worker threads when its solver returns
+            decided.set(true);
+            solvers.forEach(CpSolver::stopSearch);
+            racers.shutdown();
+            if (!racers.isTerminated()) {
+                // a racer that started its search right before the decision could not be stopped yet
+                Thread stopper = new Thread(() -> stopUntilTerminated(racers, solvers), "solver-race-stopper");
+                stopper.setDaemon(true);
+                stopper.start();
+            }
+        }
+
+        // a race without a conclusive result is lost by every racer
+        for (CpSolver solver : solvers) {
+            SolverProfile profile = profiles.get(solvers.indexOf(solver));
+            if (winner != null && solver == winner.solver()) {
+                wins.computeIfAbsent(profile, p -> new AtomicInteger()).incrementAndGet();
+            } else {
+                losses.computeIfAbsent(profile, p -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+        return winner != null ? winner : firstResult;
+    }
+
+    /**
+     * Stops the solvers of a decided race until all racers returned.
+     */
+    private static void stopUntilTerminated(ExecutorService racers, List<CpSolver> solvers) {
+        try {
+            while (!racers.awaitTermination(10, TimeUnit.MILLISECONDS)) {
+                solvers.forEach(CpSolver::stopSearch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns true if the solver found a solution or proved that there is none.
+     *
+     * @param status the status returned by the solver.
+     * @return true if the status is conclusive.
+     */
+    private static boolean isConclusive(CpSolverStatus status) {
+        return status == CpSolverStatus.OPTIMAL || status == CpSolverStatus.FEASIBLE || status == CpSolverStatus.INFEASIBLE;
+    }
+
+    /**
+     * Returns the number of won races of a profile.
+     *
+     * @param profile the solver profile.
+     * @return the number of won races.
+     */
+    public static int getWins(SolverProfile profile) {
+        AtomicInteger count = wins.get(profile);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Returns the number of lost races of a profile, a race is lost by every racer except the winner, or by every racer if no racer was conclusive.
+     *
+     * @param profile the solver profile.
+     * @return the number of lost races.
+     */
+    public static int getLosses(SolverProfile profile) {
+        AtomicInteger count = losses.get(profile);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Returns the tally of all profiles.
+     *
+     * @return the tally of all profiles, formatted as "PROFILE=wins/losses".
+     */
+    public static String getTally() {
+        StringJoiner tally = new StringJoiner(", ", "{", "}");
+        for (SolverProfile profile : SolverProfile.values()) {
+            tally.add(profile + "=" + getWins(profile) + "/" + getLosses(profile));
+        }
+        return tally.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package dt.tsg.cspModel;
+
+import java.util.*;
+
+/**
+ * Index over the time windows of all Model Tasks.
+ * The window of a Model Task is [minimum of the start domain, maximum of the end domain].
+ * Two tasks can only interact (overlap or be ordered by a precedence constraint) if their windows intersect.
+ * The domains are read once per task, and intersecting windows are found with a sweep line over the window starts.
+ */
+public class TaskWindowIndex {
+
+    private final Map<Integer, int[]> windows = new HashMap<>();    // maps task ids to {earliest start, latest end}
+
+    /**
+     * Reads the windows of all Model Tasks from their variable domains.
+     *
+     * @param modelTaskMap Map of all CP Model tasks.
+     */
+    public TaskWindowIndex(Map<Integer, ModelTask> modelTaskMap) {
+        modelTaskMap.forEach((taskID, modelTask) -> windows.put(taskID, new int[]{
+                (int) modelTask.getStartMin(),
+                (int) modelTask.getEndMax()}));
+    }
+
+    /**
+     * Indexes windows that were computed without a CP Model.
+     *
+     * @param windows the windows {earliest start, latest end}, indexed by the task id.
+     */
+    public TaskWindowIndex(int[][] windows) {
+        for (int taskID = 0; taskID < windows.length; taskID++) {
+            this.windows.put(taskID, windows[taskID]);
+        }
+    }
+
+    /**
+     * Returns true if the windows of both tasks intersect.
+     *
+     * @param firstTaskID  the id of the first task.
+     * @param secondTaskID the id of the second task.
+     * @return true if the windows of both tasks intersect.
+     */
+    public boolean overlaps(int firstTaskID, int secondTaskID) {
+        int[] first = windows.get(firstTaskID);
+        int[] second = windows.get(secondTaskID);
+        // first task window ends before the second task window begins, or begins after the second task window has ended
+        return first[1] >= second[0] && first[0] <= second[1];
+    }
+
+    /**
+     * Lists all pairs of tasks with intersecting windows.
+     * Tasks are visited in the order of their earliest start, while a queue ordered by the latest end holds all tasks whose window is still open.
+     * The runtime depends on the number of intersecting pairs instead of the number of all pairs.
+     *
+     * @return the pairs {smaller task id, larger task id}, sorted by the first and then the second task id.
+     */
+    public ArrayList<int[]> getOverlappingPairs() {
+        ArrayList<Integer> sortedTaskIDs = new ArrayList<>(windows.keySet());
+        sortedTaskIDs.sort(Comparator.comparingInt((Integer taskID) -> windows.get(taskID)[0]).thenComparingInt(taskID -> taskID));
+
+        ArrayList<int[]> pairs = new ArrayList<>();
+        PriorityQueue<Integer> openWindows = new PriorityQueue<>(Comparator.comparingInt((Integer taskID) -> windows.get(taskID)[1]));
+        for (Integer taskID : sortedTaskIDs) {
+            int start = windows.get(taskID)[0];
+            // close all windows that ended before this window begins
+            while (!openWindows.isEmpty() && windows.get(openWindows.peek())[1] < start) {
+                openWindows.poll();
+            }
+            // all remaining open windows intersect with this window
+            for (Integer openTaskID : openWindows) {
+                pairs.add(new int[]{Math.min(taskID, openTaskID), Math.max(taskID, openTaskID)});
+            }
+            openWindows.add(taskID);
+        }
+
+        pairs.sort(Comparator.comparingInt((int[] pair) -> pair[0]).thenComparingInt(pair -> pair[1]));
+        return pairs;
+    }
+
+    /**
+     * Returns the number of indexed tasks.
+     *
+     * @return the number of indexed tasks.
+     */
+    public int size() {
+        return windows.size();
+    }
+}
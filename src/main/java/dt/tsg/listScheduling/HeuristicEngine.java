@@ -0,0 +1,90 @@
+package dt.tsg.listScheduling;
+
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.cspModel.CSPModelFunctions;
+import dt.tsg.cspModel.TaskWindowIndex;
+import dt.tsg.listScheduling.ListScheduler.Attempt;
+import dt.tsg.listScheduling.ListScheduler.TaskBounds;
+import dt.tsg.task.Task;
+import dt.tsg.task.TaskInstance;
+import dt.tsg.utils.Utils;
+
+import java.util.*;
+
+/**
+ * Generation engine that constructs the schedule of a task set without a CP Model, for task sets that are too large for the CP-Solver.
+ * The bounds of every task are the variable domains the CP Model would have, see "CSPModelFunctions.getVariableBounds", so a schedule of this engine is also a solution of the CP Model.
+ * <p>
+ * The schedule is built by randomised list scheduling, see "ListScheduler": every task prefers a random WCET, and tasks with the same latest end are placed in random order.
+ * If a task does not fit, the schedule is repaired by the squeaky wheel heuristic: the task that did not fit gets its minimum WCET and is placed before all other ready tasks in the next pass.
+ * If a task does not fit a second time, all tasks get their minimum WCET.
+ * The engine can not prove that a task set is infeasible, it gives up after "heuristiciterations" passes.
+ */
+public class HeuristicEngine {
+
+    /**
+     * The outcome of the heuristic engine.
+     *
+     * @param schedule   the schedule in the format of a solution buffer, see "ScheduledTask.copySolutionValues", null if no schedule was found.
+     * @param iterations the number of greedy passes.
+     */
+    public record Result(int[] schedule, int iterations) {
+    }
+
+    /**
+     * Constructs a schedule for the task list.
+     *
+     * @param taskList     the complete list of tasks, including the periodic task instances.
+     * @param limit        the scheduling limit.
+     * @param numResources the number of resources.
+     * @param inputs       the InputParameters object.
+     * @param utils        the Utils object.
+     * @return the schedule and the number of greedy passes.
+     */
+    public static Result solve(ArrayList<Task> taskList, int limit, int numResources, InputParameters inputs, Utils utils) {
+        Map<Integer, TaskBounds> bounds = new HashMap<>();
+        Map<Integer, Integer> preferredWCETs = new HashMap<>();
+        int[][] windows = new int[taskList.size()][];
+        for (Task task : taskList) {
+            if (task instanceof TaskInstance) continue;
+            int[] domains = CSPModelFunctions.getVariableBounds(limit, inputs.PhasedReleaseTimes(), task, inputs);
+            bounds.put(task.getIdentifier(), ListScheduler.getBounds(task, domains[0], domains[1], domains[2], domains[3], domains[4], domains[5], task.getResourceConstraint(), numResources, inputs));
+            preferredWCETs.put(task.getIdentifier(), CSPModelFunctions.getRandomWCETHint(taskList.size(), limit, task, numResources, inputs, utils));
+            // the window of a task is [minimum of the start domain, maximum of the end domain], see "TaskWindowIndex"
+            windows[task.getIdentifier()] = new int[]{domains[2], domains[5]};
+        }
+        for (Task task : taskList) {
+            if (!(task instanceof TaskInstance taskInstance)) continue;
+            int[] originalWindow = windows[taskInstance.getOriginal_task_ID()];
+            int offset = (int) ListScheduler.getOffset(task);
+            windows[task.getIdentifier()] = new int[]{originalWindow[0] + offset, originalWindow[1] + offset};
+        }
+        TaskWindowIndex windowIndex = new TaskWindowIndex(windows);
+
+        // earliest latest end first, tasks with the same latest end in random order
+        ArrayList<Integer> ranks = new ArrayList<>();
+        for (int taskID = 0; taskID < taskList.size(); taskID++) ranks.add(taskID);
+        Collections.shuffle(ranks, utils.random);
+        long[] priorities = new long[taskList.size()];
+        bounds.forEach((taskID, taskBounds) -> priorities[taskID] = taskBounds.latestEnd() * taskList.size() + ranks.get(taskID));
+
+        Set<Integer> repairedTasks = new HashSet<>();
+        for (int iteration = 1; iteration <= inputs.getHeuristicIterations(); iteration++) {
+            Attempt attempt = ListScheduler.scheduleTasks(taskList, bounds, windowIndex, numResources, preferredWCETs, priorities, utils);
+            if (attempt.schedule() != null) return new Result(attempt.schedule(), iteration);
+            // the precedence relations contain a cycle
+            if (attempt.failedTaskID() == -1) return new Result(null, iteration);
+
+            int failedTaskID = attempt.failedTaskID();
+            utils.DebugPrint("Heuristic engine: task " + failedTaskID + " did not fit in pass " + iteration + ".");
+            if (!repairedTasks.add(failedTaskID)) {
+                // moving the task forward was not enough, the other tasks leave more room with their minimum WCET
+                preferredWCETs.clear();
+            }
+            preferredWCETs.remove(failedTaskID);
+            long firstPriority = bounds.keySet().stream().mapToLong(taskID -> priorities[taskID]).min().orElse(0);
+            priorities[failedTaskID] = firstPriority - 1;
+        }
+        return new Result(null, inputs.getHeuristicIterations());
+    }
+}
@@ -0,0 +1,299 @@
+package dt.tsg.listScheduling;
+
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.cspModel.ModelTask;
+import dt.tsg.cspModel.TaskWindowIndex;
+import dt.tsg.task.Task;
+import dt.tsg.task.TaskInstance;
+import dt.tsg.utils.Utils;
+
+import java.util.*;
+
+/**
+ * Greedy list scheduler that constructs a complete assignment of start, wcet, end and resource for all tasks.
+ * The assignment is used as a hint for the CP-Solver, so the solver starts from a schedule without conflicts instead of random values.
+ * <p>
+ * A periodic task is placed together with all of its instances, since the instances share the start, wcet and resource of the original task.
+ * Tasks are placed in topological order of the precedence relations, ready tasks with the earliest latest end first (EDF).
+ * Every task is placed at the earliest start at which it fits onto one of its allowed resources (earliest fit), first with its preferred WCET and then with its minimum WCET.
+ * The bounds are read from the variable domains of the Model Tasks, or computed without a CP Model by the heuristic engine, see "HeuristicEngine".
+ * The dynamic release time, deadline and WCET bounds of the input parameters are respected as well.
+ * A greedy pass gives up if a task does not fit, it does not backtrack.
+ * If a task of a CP Model does not fit, all tasks are placed again with their minimum WCET.
+ */
+public class ListScheduler {
+
+    /**
+     * The bounds of a task that is not a periodic instance, its instances are shifted by a multiple of the period.
+     *
+     * @param minWCET          the smallest WCET.
+     * @param maxWCET          the largest WCET.
+     * @param earliestStart    the earliest start.
+     * @param latestStart      the latest start.
+     * @param earliestEnd      the earliest end, a task with a shorter WCET runs longer to reach it.
+     * @param latestEnd        the latest end.
+     * @param allowedResources the resources the task may run on.
+     */
+    public record TaskBounds(long minWCET, long maxWCET, long earliestStart, long latestStart, long earliestEnd, long latestEnd, ArrayList<Integer> allowedResources) {
+    }
+
+    /**
+     * The outcome of a single greedy pass.
+     *
+     * @param schedule     the schedule, null if a task did not fit.
+     * @param failedTaskID the id of the task that did not fit, -1 if the schedule is complete or the precedence relations contain a cycle.
+     */
+    public record Attempt(int[] schedule, int failedTaskID) {
+    }
+
+    /**
+     * Constructs a schedule for the Model Tasks.
+     *
+     * @param taskList       the complete list of tasks, including the periodic task instances.
+     * @param modelTaskMap   maps the task ids to the Model Tasks.
+     * @param numResources   the number of resources.
+     * @param preferredWCETs maps the ids of all tasks that are not periodic instances to the WCET that should be used if the task fits with it.
+     * @param inputs         the InputParameters object.
+     * @param utils          the Utils object.
+     * @return the schedule in the format of a solution buffer, see "ScheduledTask.copySolutionValues", or null if a task did not fit.
+     */
+    public static int[] schedule(ArrayList<Task> taskList, Map<Integer, ModelTask> modelTaskMap, int numResources, Map<Integer, Integer> preferredWCETs, InputParameters inputs, Utils utils) {
+        // bounds of the original tasks, read from the variable domains
+        Map<Integer, TaskBounds> bounds = new HashMap<>();
+        long[] priorities = new long[taskList.size()];
+        for (Task task : taskList) {
+            if (task instanceof TaskInstance) continue;
+            ModelTask modelTask = modelTaskMap.get(task.getIdentifier());
+            ArrayList<Integer> allowedResources = new ArrayList<>();
+            if (modelTask.getResource() != null) {
+                // the domain of the resource IntVar holds the allowed resources as intervals {min1, max1, min2, max2, ...}
+                long[] intervals = modelTask.getResource().getDomain().flattenedIntervals();
+                for (int i = 0; i + 1 < intervals.length; i += 2) {
+                    for (long resource = intervals[i]; resource <= intervals[i + 1]; resource++) allowedResources.add((int) resource);
+                }
+            }
+            TaskBounds taskBounds = getBounds(task, modelTask.getWcet().getDomain().min(), modelTask.getWcet().getDomain().max(),
+                    modelTask.getStartVar().getDomain().min(), modelTask.getStartVar().getDomain().max(),
+                    modelTask.getEndVar().getDomain().min(), modelTask.getEndVar().getDomain().max(), allowedResources, numResources, inputs);
+            bounds.put(task.getIdentifier(), taskBounds);
+            priorities[task.getIdentifier()] = taskBounds.latestEnd();
+        }
+        TaskWindowIndex windowIndex = new TaskWindowIndex(modelTaskMap);
+
+        int[] schedule = scheduleTasks(taskList, bounds, windowIndex, numResources, preferredWCETs, priorities, utils).schedule();
+        if (schedule == null && !preferredWCETs.isEmpty()) {
+            // long preferred WCETs of early tasks can block the resources of later tasks, all tasks are placed with their minimum WCET instead
+            utils.DebugPrint("List scheduling: retry with the minimum WCETs.");
+            schedule = scheduleTasks(taskList, bounds, windowIndex, numResources, new HashMap<>(), priorities, utils).schedule();
+        }
+        return schedule;
+    }
+
+    /**
+     * Returns the bounds of a task that is not a periodic instance.
+     * The dynamic release time, deadline and WCET bounds of the input parameters are applied relative to the phase, see "CSPModelFunctions.shiftTaskVariablesAndDynamicConstraints".
+     *
+     * @param task             the task.
+     * @param minWCET          the lower bound of the WCET domain.
+     * @param maxWCET          the upper bound of the WCET domain.
+     * @param minStart         the lower bound of the start domain.
+     * @param maxStart         the upper bound of the start domain.
+     * @param minEnd           the lower bound of the end domain.
+     * @param maxEnd           the upper bound of the end domain.
+     * @param allowedResources the allowed resources, empty if the task may run on every resource.
+     * @param numResources     the number of resources.
+     * @param inputs           the InputParameters object.
+     * @return the bounds of the task.
+     */
+    public static TaskBounds getBounds(Task task, long minWCET, long maxWCET, long minStart, long maxStart, long minEnd, long maxEnd, List<Integer> allowedResources, int numResources, InputParameters inputs) {
+        if (inputs.getMin_WCET() > -1) minWCET = Math.max(minWCET, inputs.getMin_WCET());
+        if (inputs.getMax_WCET() > -1) maxWCET = Math.min(maxWCET, inputs.getMax_WCET());
+        if (inputs.getMin_releaseTime() > -1) minStart = Math.max(minStart, task.getPhase() + inputs.getMin_releaseTime());
+        if (inputs.getMax_releaseTime() > -1) maxStart = Math.min(maxStart, task.getPhase() + inputs.getMax_releaseTime());
+        if (inputs.getMin_deadline() > -1) minEnd = Math.max(minEnd, task.getPhase() + inputs.getMin_deadline());
+        if (inputs.getMax_deadline() > -1 && !inputs.isDeadlineEqualToPeriod())
+            maxEnd = Math.min(maxEnd, task.getPhase() + inputs.getMax_deadline());
+
+        // resources that do not exist are never allowed
+        ArrayList<Integer> resources = new ArrayList<>();
+        for (int resource = 0; resource < numResources; resource++) {
+            if (allowedResources.isEmpty() || allowedResources.contains(resource)) resources.add(resource);
+        }
+        return new TaskBounds(minWCET, maxWCET, minStart, maxStart, minEnd, maxEnd, resources);
+    }
+
+    /**
+     * Constructs a schedule in a single greedy pass.
+     *
+     * @param taskList       the complete list of tasks, including the periodic task instances.
+     * @param bounds         maps the ids of all tasks that are not periodic instances to their bounds.
+     * @param windowIndex    the windows of all tasks, precedence relations between tasks with disjoint windows are ignored.
+     * @param numResources   the number of resources.
+     * @param preferredWCETs maps task ids to the WCET that should be used if the task fits with it.
+     * @param priorities     the priority of every task that is not a periodic instance, indexed by the task id. Ready tasks with the smallest priority are placed first.
+     * @param utils          the Utils object.
+     * @return the schedule in the format of a solution buffer, or the task that did not fit.
+     */
+    public static Attempt scheduleTasks(ArrayList<Task> taskList, Map<Integer, TaskBounds> bounds, TaskWindowIndex windowIndex, int numResources, Map<Integer, Integer> preferredWCETs, long[] priorities, Utils utils) {
+        // the occurrences of every task that is not a periodic instance: the task itself and its instances
+        Map<Integer, ArrayList<Integer>> occurrences = new HashMap<>();
+        for (Task task : taskList) {
+            occurrences.computeIfAbsent(getOriginalID(task), id -> new ArrayList<>()).add(task.getIdentifier());
+        }
+
+        // precedence relations between the original tasks, relations between tasks with disjoint windows are not part of the CP Model
+        Map<Integer, Set<Integer>> successors = new HashMap<>();
+        Map<Integer, Integer> remainingPredecessors = new HashMap<>();
+        occurrences.keySet().forEach(originalID -> {
+            successors.put(originalID, new HashSet<>());
+            remainingPredecessors.put(originalID, 0);
+        });
+        for (Task task : taskList) {
+            int originalID = getOriginalID(task);
+            for (Integer predID : task.getPredecessors()) {
+                if (!windowIndex.overlaps(task.getIdentifier(), predID)) continue;
+                int predecessorOriginalID = getOriginalID(taskList.get(predID));
+                if (predecessorOriginalID == originalID) continue;
+                if (successors.get(predecessorOriginalID).add(originalID)) {
+                    remainingPredecessors.merge(originalID, 1, Integer::sum);
+                }
+            }
+        }
+
+        // ready tasks with the smallest priority are placed first
+        PriorityQueue<Integer> readyTasks = new PriorityQueue<>(Comparator.comparingLong((Integer originalID) -> priorities[originalID]).thenComparingInt(originalID -> originalID));
+        remainingPredecessors.forEach((originalID, count) -> {
+            if (count == 0) readyTasks.add(originalID);
+        });
+
+        ArrayList<TreeMap<Long, Long>> busyIntervals = new ArrayList<>();      // maps the start of every occupied interval to its end, per resource
+        ArrayList<TreeSet<Long>> busyPoints = new ArrayList<>();               // the starts of the occurrences with WCET 0, per resource
+        for (int resource = 0; resource < numResources; resource++) {
+            busyIntervals.add(new TreeMap<>());
+            busyPoints.add(new TreeSet<>());
+        }
+        int[] schedule = new int[taskList.size() * 4];
+        boolean[] placed = new boolean[taskList.size()];
+        int placedTasks = 0;
+
+        while (!readyTasks.isEmpty()) {
+            int originalID = readyTasks.poll();
+            if (!place(taskList, bounds.get(originalID), windowIndex, occurrences.get(originalID), preferredWCETs.get(originalID), busyIntervals, busyPoints, schedule, placed)) {
+                utils.DebugPrint("List scheduling: task " + originalID + " does not fit.");
+                return new Attempt(null, originalID);
+            }
+            placedTasks++;
+            for (Integer successorID : successors.get(originalID)) {
+                if (remainingPredecessors.merge(successorID, -1, Integer::sum) == 0) readyTasks.add(successorID);
+            }
+        }
+        // the precedence relations between the original tasks contain a cycle
+        if (placedTasks < occurrences.size()) return new Attempt(null, -1);
+        return new Attempt(schedule, -1);
+    }
+
+    /**
+     * Places a task and all of its occurrences at the earliest start on the resource where it fits first.
+     *
+     * @return true if the task was placed.
+     */
+    private static boolean place(ArrayList<Task> taskList, TaskBounds bounds, TaskWindowIndex windowIndex, ArrayList<Integer> occurrenceIDs, Integer preferredWCET, ArrayList<TreeMap<Long, Long>> busyIntervals, ArrayList<TreeSet<Long>> busyPoints, int[] schedule, boolean[] placed) {
+        long[] offsets = occurrenceIDs.stream().mapToLong(occurrenceID -> getOffset(taskList.get(occurrenceID))).toArray();
+
+        // every occurrence starts after the end of its placed predecessors
+        long earliestStart = bounds.earliestStart();
+        for (int occurrence = 0; occurrence < occurrenceIDs.size(); occurrence++) {
+            int occurrenceID = occurrenceIDs.get(occurrence);
+            for (Integer predID : taskList.get(occurrenceID).getPredecessors()) {
+                if (placed[predID] && windowIndex.overlaps(occurrenceID, predID)) earliestStart = Math.max(earliestStart, schedule[predID * 4 + 1] - offsets[occurrence]);
+            }
+        }
+
+        ArrayList<Long> wcets = new ArrayList<>();
+        if (preferredWCET != null && preferredWCET >= bounds.minWCET() && preferredWCET <= bounds.maxWCET()) wcets.add((long) preferredWCET);
+        if (wcets.isEmpty() || wcets.get(0) != bounds.minWCET()) wcets.add(bounds.minWCET());
+
+        for (long wcet : wcets) {
+            long bestStart = Long.MAX_VALUE;
+            int bestResource = -1;
+            for (Integer resource : bounds.allowedResources()) {
+                long start = findEarliestStart(busyIntervals.get(resource), busyPoints.get(resource), offsets, earliestStart, bounds.latestStart(), bounds.earliestEnd(), bounds.latestEnd(), wcet, bounds.maxWCET());
+                if (start >= 0 && start < bestStart) {
+                    bestStart = start;
+                    bestResource = resource;
+                }
+            }
+            if (bestResource == -1) continue;
+
+            // the end must not be smaller than the minimum deadline, the task then runs longer
+            long assignedWCET = Math.max(wcet, bounds.earliestEnd() - bestStart);
+            for (int occurrence = 0; occurrence < occurrenceIDs.size(); occurrence++) {
+                int occurrenceID = occurrenceIDs.get(occurrence);
+                long start = bestStart + offsets[occurrence];
+                if (assignedWCET > 0) busyIntervals.get(bestResource).put(start, start + assignedWCET);
+                else busyPoints.get(bestResource).add(start);
+                schedule[occurrenceID * 4] = (int) start;
+                schedule[occurrenceID * 4 + 1] = (int) (start + assignedWCET);
+                schedule[occurrenceID * 4 + 2] = (int) assignedWCET;
+                schedule[occurrenceID * 4 + 3] = bestResource;
+                placed[occurrenceID] = true;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the earliest start at which all occurrences of a task fit onto a resource.
+     * If an occurrence overlaps an occupied interval, the start is moved behind that interval.
+     * The NoOverlap constraint of the CP-Solver also forbids an occurrence with WCET 0 strictly inside an occupied interval, it may only lie on its start or end.
+     *
+     * @return the earliest start, or -1 if the task does not fit before its latest start.
+     */
+    private static long findEarliestStart(TreeMap<Long, Long> busy, TreeSet<Long> points, long[] offsets, long earliestStart, long latestStart, long earliestEnd, long latestEnd, long wcet, long maxWCET) {
+        // the WCET is extended up to the minimum deadline, but not beyond the maximum WCET
+        long start = Math.max(earliestStart, earliestEnd - maxWCET);
+        while (start <= latestStart) {
+            long assignedWCET = Math.max(wcet, earliestEnd - start);
+            if (start + assignedWCET > latestEnd) return -1;
+            long nextStart = -1;
+            for (long offset : offsets) {
+                long begin = start + offset;
+                if (assignedWCET > 0) {
+                    // intervals do not overlap, so the last interval that starts before the end of the occurrence ends last
+                    Map.Entry<Long, Long> interval = busy.floorEntry(begin + assignedWCET - 1);
+                    if (interval != null && interval.getValue() > begin) {
+                        nextStart = Math.max(nextStart, interval.getValue() - offset);
+                    }
+                    // an occurrence with WCET 0 inside the occurrence, the occurrence then starts at it
+                    Long point = points.lower(begin + assignedWCET);
+                    if (point != null && point > begin) {
+                        nextStart = Math.max(nextStart, point - offset);
+                    }
+                } else {
+                    Map.Entry<Long, Long> interval = busy.lowerEntry(begin);
+                    if (interval != null && interval.getValue() > begin) {
+                        nextStart = Math.max(nextStart, interval.getValue() - offset);
+                    }
+                }
+            }
+            if (nextStart == -1) return start;
+            start = nextStart;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the id of the original task of a periodic task instance, or the id of the task itself.
+     */
+    public static int getOriginalID(Task task) {
+        return task instanceof TaskInstance taskInstance ? taskInstance.getOriginal_task_ID() : task.getIdentifier();
+    }
+
+    /**
+     * Returns the offset of a periodic task instance relative to its original task, see "ModelTask.setPeriodicInstanceOf".
+     */
+    public static long getOffset(Task task) {
+        return task instanceof TaskInstance taskInstance ? (long) taskInstance.getInstance_number() * task.getPeriod() : 0;
+    }
+}
@@ -20,11 +20,12 @@ public class PhasesAndSchedulingLimit {
      * @param taskList  the list of tasks.
      * @param periodic  whether the task set is periodic.
      * @param aperiodic whether the task set is aperiodic.
+     * @param utils     the Utils object, provides the random number stream of the scheduling limit.
      * @return the scheduling limit as explained above.
      */
-    public static int calculateSchedulingLimit(ArrayList<Task> taskList, boolean periodic, boolean aperiodic) {
+    public static int calculateSchedulingLimit(ArrayList<Task> taskList, boolean periodic, boolean aperiodic, Utils utils) {
 
-        Random random = new Random();
+        Random random = utils.getStream(Utils.Stream.SCHEDULING_LIMIT);
 
         if (periodic && aperiodic)
             throw new RuntimeException("boolean values \"periodic\" and \"aperiodic\" are both true. This should not be possible");
@@ -64,18 +65,19 @@ public class PhasesAndSchedulingLimit {
      * @param taskList  the list of tasks.
      * @param periodic  whether the task set is periodic.
      * @param aperiodic whether the task set is aperiodic.
+     * @param utils     the Utils object, provides the random number stream of the scheduling limit.
      * @return the scheduling limit.
      */
-    public static int calculateSchedulingLimitWithPhasedReleaseTimes(ArrayList<Task> taskList, boolean periodic, boolean aperiodic) {
+    public static int calculateSchedulingLimitWithPhasedReleaseTimes(ArrayList<Task> taskList, boolean periodic, boolean aperiodic, Utils utils) {
 
-        Random random = new Random();
+        Random random = utils.getStream(Utils.Stream.SCHEDULING_LIMIT);
 
         int maximumPhase = 0;
         for (Task task : taskList) {
             maximumPhase = Math.max(maximumPhase, task.getPhase());
         }
         // if all phases are 0, then calculate the usual Scheduling Limit
-        if (maximumPhase == 0) return calculateSchedulingLimit(taskList, periodic, aperiodic);
+        if (maximumPhase == 0) return calculateSchedulingLimit(taskList, periodic, aperiodic, utils);
 
         if (periodic) {
             // taskList contains no aperiodic tasks -> return the hyperperiod+1 after the largest phase
@@ -203,15 +205,47 @@ public class PhasesAndSchedulingLimit {
         return hyperperiod;
     }
 
+    /**
+     * Returns true if the task list contains periodic and aperiodic tasks.
+     * The scheduling limit of such a task list is a guess, see "calculateSchedulingLimit", and might be too small.
+     *
+     * @param taskList the list of tasks.
+     * @return true if the task list is a mixed periodic task set.
+     */
+    public static boolean isMixedPeriodic(ArrayList<Task> taskList) {
+        boolean periodic = false;
+        boolean aperiodic = false;
+        for (Task task : taskList) {
+            if (task.isPeriodic()) {
+                periodic = true;
+            } else {
+                aperiodic = true;
+            }
+        }
+        return periodic && aperiodic;
+    }
+
+    /**
+     * Returns the next larger scheduling limit for a mixed periodic task set whose current limit turned out to be too small.
+     * The limit is doubled, so it stays a multiple of the hyperperiod and larger than the largest phase.
+     *
+     * @param limit the current scheduling limit.
+     * @return the escalated scheduling limit.
+     */
+    public static int escalateSchedulingLimit(int limit) {
+        return Math.multiplyExact(limit, 2);
+    }
+
     /**
      * Wrapper function for the scheduling limit functions.
      *
      * @param inputs              The Input Parameters object.
      * @param taskList            The list of tasks.
      * @param phased_releaseTimes controls whether phases are generated for tasks.
+     * @param utils               The Utils object.
      * @return the scheduling limit.
      */
-    public static int getPeriodicAperiodicSchedulingLimit(InputParameters inputs, ArrayList<Task> taskList, boolean phased_releaseTimes) {
+    public static int getPeriodicAperiodicSchedulingLimit(InputParameters inputs, ArrayList<Task> taskList, boolean phased_releaseTimes, Utils utils) {
         boolean periodic = true;
         boolean aperiodic = true;
         for (Task task : taskList) {
@@ -225,11 +259,11 @@ public class PhasesAndSchedulingLimit {
         // Calculate Limit
         int limit;
         if (phased_releaseTimes) {
-            limit = calculateSchedulingLimitWithPhasedReleaseTimes(taskList, periodic, aperiodic);
+            limit = calculateSchedulingLimitWithPhasedReleaseTimes(taskList, periodic, aperiodic, utils);
         } else {
             if (inputs.getSchedulingLimit() < 0) {
                 // input constraints do not contain a hyperperiod
-                limit = calculateSchedulingLimit(taskList, periodic, aperiodic);
+                limit = calculateSchedulingLimit(taskList, periodic, aperiodic, utils);
             } else {
                 limit = inputs.getSchedulingLimit();
             }
@@ -3,6 +3,7 @@ package dt.tsg.precedenceGraph;
 import dt.tsg.InputParams.TGFFInputParameters;
 import dt.tsg.task.Task;
 import dt.tsg.taskSet.TGFFTaskSet;
+import dt.tsg.utils.GenerationException;
 import dt.tsg.utils.Utils;
 
 import java.io.*;
@@ -79,7 +80,7 @@ public class TGFFGraphGeneration {
             boolean dirCreated = inputDir.mkdirs();
             if (!dirCreated) {
                 System.out.println("Failed creating directory for TGFF file at " + inputDirPath);
-                System.exit(-1);
+                throw new GenerationException(GenerationException.Reason.IO, "Failed creating directory for TGFF file at " + inputDirPath);
             }
         }
 
@@ -98,7 +99,7 @@ public class TGFFGraphGeneration {
             boolean fileCreated = inputFile.createNewFile();
             if (!fileCreated) {
                 System.err.println("Failed creating file for TGFF at " + inputDirPath);
-                System.exit(-1);
+                throw new GenerationException(GenerationException.Reason.IO, "Failed creating file for TGFF at " + inputDirPath);
             }
             FileWriter writer = new FileWriter(inputFile);
             writer.write(fileContent.toString());
@@ -160,11 +161,11 @@ public class TGFFGraphGeneration {
             } else {
                 System.out.println("TGFF returned exit code " + exitCode);
                 System.out.println(process.getErrorStream());
-                System.exit(-1);
+                throw new GenerationException(GenerationException.Reason.TGFF, "TGFF returned exit code " + exitCode);
             }
 
         } catch (IOException | InterruptedException e) {
-            throw new RuntimeException("Error during TGFF execution: " + e.getMessage());
+            throw new GenerationException(GenerationException.Reason.TGFF, "Error during TGFF execution: " + e.getMessage(), e);
         }
 
         // return the path to the output file
@@ -182,7 +183,7 @@ public class TGFFGraphGeneration {
 
         StringBuilder fileContent = new StringBuilder();
         //set seed
-        fileContent.append("seed ").append(utils.random.nextInt(10000)).append("\n");
+        fileContent.append("seed ").append(utils.getStream(Utils.Stream.TGFF).nextInt(10000)).append("\n");
         //set graph count
         fileContent.append("tg_cnt ").append(inputs.getGraphCount()).append("\n");
         //set task count
@@ -241,7 +242,7 @@ public class TGFFGraphGeneration {
             }
         } catch (Exception e) {
             System.out.println(e.getMessage());
-            System.exit(-1);
+            throw new GenerationException(GenerationException.Reason.TGFF, "Failed to read the TGFF output file: " + e.getMessage(), e);
         }
 
         if (cleanUpFiles) {
@@ -403,7 +404,7 @@ public class TGFFGraphGeneration {
         }
 
         // assign all tasks a multiple of the largest period
-        Random random = new Random();
+        Random random = utils.getStream(Utils.Stream.TGFF);
         int subgraphIndex = 0;
         for (ArrayList<Integer> subgraphTaskList : subgraphToTaskIds.values()) {
             int chosenPeriod = period_mul.get(random.nextInt(0, period_mul.size())) * largestSubgraphPeriod;
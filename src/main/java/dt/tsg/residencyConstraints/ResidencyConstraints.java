@@ -81,7 +81,7 @@ public class ResidencyConstraints {
         // instantly return if the desired maximum number of residency constraints is 0
         if (max_residency_constraints == 0) return numResou;
 
-        Random random = new Random();
+        Random random = utils.getStream(Utils.Stream.RESIDENCY);
 
         // collect all possible residency constraints and store them in the lists
         ArrayList<Integer> nonEmptyResources = new ArrayList<>();
@@ -0,0 +1,269 @@
+package dt.tsg.server;
+
+import com.google.ortools.Loader;
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.InputParams.TGFFInputParameters;
+import dt.tsg.cspModel.SolverCoreBudget;
+import dt.tsg.task.TaskGenerationFramework;
+import dt.tsg.utils.GenerationException;
+import dt.tsg.utils.GenerationResult;
+import dt.tsg.utils.Utils;
+
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resident generation server, which saves the JVM startup, the loading of the native libraries and the JIT warmup of every generation.
+ * It reads one request per line from the standard input or from the connections of a Unix domain socket, and answers every request with one JSON line.
+ * <p>
+ * Requests are flat JSON objects, see "JsonLines":
+ * {"id":1,"command":"generate","input":"Basic\ntasknum 4 8\n...","seed":42,"harmonic":false} generates a task set from the content of an input file ("path" reads the input file instead),
+ * {"id":2,"command":"status"} returns the counters of the server, and {"command":"shutdown"} stops it. The command defaults to "generate".
+ * <p>
+ * The requests of one stream or connection are answered in order, connections are served concurrently.
+ * The frameworks are reused by later requests, so their CP Model templates and infeasible configurations stay warm.
+ */
+public class GenerationServer {
+
+    private final long startTime = System.nanoTime();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong frameworksCreated = new AtomicLong();
+    private final Map<String, AtomicLong> statusCounts = new ConcurrentSkipListMap<>();
+    private final Deque<TaskGenerationFramework> idleFrameworks = new ConcurrentLinkedDeque<>();
+    private volatile boolean running = true;
+    private volatile ServerSocketChannel serverChannel = null;
+
+    public GenerationServer() {
+        Loader.loadNativeLibraries();
+    }
+
+    /**
+     * Starts the server.
+     * Without arguments, requests are read from the standard input. Everything the generation prints then goes to the standard error, so that the standard output only holds the responses.
+     * With a path, requests are read from the connections of a Unix domain socket at this path.
+     */
+    public static void main(String[] args) throws IOException {
+        GenerationServer server = new GenerationServer();
+        if (args.length == 0) {
+            PrintStream responses = System.out;
+            System.setOut(System.err);
+            server.serve(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)), new OutputStreamWriter(responses, StandardCharsets.UTF_8));
+        } else {
+            server.serveSocket(Path.of(args[0]));
+        }
+    }
+
+    /**
+     * Answers the requests of a stream until it ends or the server is shut down.
+     *
+     * @param reader the request lines.
+     * @param writer the response lines, one per request.
+     */
+    public void serve(BufferedReader reader, Writer writer) throws IOException {
+        String line;
+        while (running && (line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+            writer.write(handle(line));
+            writer.write('\n');
+            writer.flush();
+        }
+    }
+
+    /**
+     * Answers the requests of all connections to a Unix domain socket until the server is shut down.
+     * An existing file at the path is replaced, and the socket file is removed when the server stops.
+     *
+     * @param socketPath the path of the socket.
+     */
+    public void serveSocket(Path socketPath) throws IOException {
+        Files.deleteIfExists(socketPath);
+        ExecutorService connections = Executors.newCachedThreadPool();
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+            serverChannel = server;
+            System.out.println("Generation server listening on " + socketPath);
+            while (running) {
+                SocketChannel client;
+                try {
+                    client = server.accept();
+                } catch (ClosedChannelException e) {
+                    break;  // closed by "shutdown"
+                }
+                connections.execute(() -> serveConnection(client));
+            }
+        } finally {
+            connections.shutdown();
+            Files.deleteIfExists(socketPath);
+        }
+    }
+
+    private void serveConnection(SocketChannel client) {
+        try (client) {
+            serve(new BufferedReader(Channels.newReader(client, StandardCharsets.UTF_8)), Channels.newWriter(client, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("WARNING: Connection to the generation server failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Answers a single request.
+     *
+     * @param line the request.
+     * @return the response, a JSON object on a single line.
+     */
+    public String handle(String line) {
+        requests.incrementAndGet();
+        Map<String, Object> request;
+        try {
+            request = JsonLines.parse(line);
+        } catch (IllegalArgumentException e) {
+            return error(null, "INVALID_REQUEST", e.getMessage());
+        }
+        Object id = request.get("id");
+        Object command = request.getOrDefault("command", "generate");
+        if ("generate".equals(command)) return generate(id, request);
+        if ("status".equals(command)) return status(id);
+        if ("shutdown".equals(command)) {
+            shutdown();
+            return "{\"id\":" + idToJson(id) + ",\"status\":\"SHUTDOWN\"}";
+        }
+        return error(id, "INVALID_REQUEST", "Unknown command " + command);
+    }
+
+    /**
+     * Stops the server, requests in flight are still answered.
+     */
+    public void shutdown() {
+        running = false;
+        ServerSocketChannel server = serverChannel;
+        if (server == null) return;
+        try {
+            server.close();
+        } catch (IOException e) {
+            System.out.println("WARNING: Failed to close the generation server: " + e.getMessage());
+        }
+    }
+
+    private String generate(Object id, Map<String, Object> request) {
+        Object input = request.get("input");
+        Object path = request.get("path");
+        Object seed = request.get("seed");
+        Object harmonic = request.getOrDefault("harmonic", false);
+        if (!(input instanceof String) && !(path instanceof String))
+            return error(id, "INVALID_REQUEST", "A generate request needs the content of an input file (\"input\") or its path (\"path\")");
+        if ((seed != null && !(seed instanceof Long)) || !(harmonic instanceof Boolean))
+            return error(id, "INVALID_REQUEST", "\"seed\" must be an integer and \"harmonic\" a boolean");
+
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        TaskGenerationFramework tgf = null;
+        try {
+            ArrayList<String> warnings = new ArrayList<>();
+            InputParameters inputs = input instanceof String content ? InputParameters.parseInput(content, warnings) : InputParameters.readInputFile((String) path, warnings);
+            // the seed of the request replaces the seed of the input file
+            long rootSeed = seed != null ? (Long) seed : inputs.getSeed() != null ? inputs.getSeed() : ThreadLocalRandom.current().nextLong();
+
+            tgf = idleFrameworks.pollFirst();
+            if (tgf == null) {
+                tgf = new TaskGenerationFramework(inputs.isDebug(), rootSeed, warnings);
+                frameworksCreated.incrementAndGet();
+            }
+            tgf.setDEBUG(inputs.isDebug());
+            tgf.setUtils(new Utils(inputs.isDebug(), rootSeed));
+            tgf.setWarnings(warnings);
+
+            GenerationResult generationResult;
+            if (inputs instanceof TGFFInputParameters tgffInputs) {
+                generationResult = tgf.GenerateTaskSetFromTGFF(tgffInputs);
+            } else {
+                generationResult = tgf.GenerateBasicTaskSet(inputs, (Boolean) harmonic);
+            }
+            return result(id, generationResult, rootSeed, warnings, start);
+        } catch (GenerationException e) {
+            return error(id, e.getReason().name(), e.getMessage());
+        } catch (Exception e) {
+            return error(id, "INTERNAL", e.toString());
+        } finally {
+            if (tgf != null) idleFrameworks.offerFirst(tgf);
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private String result(Object id, GenerationResult generationResult, long seed, List<String> warnings, long start) {
+        String status = generationResult.status == null ? GenerationResult.Status.ERROR.name() : generationResult.status.name();
+        countStatus(status);
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"id\":").append(idToJson(id));
+        json.append(",\"status\":\"").append(status).append('"');
+        json.append(",\"seed\":").append(seed);
+        json.append(",\"generationTimeMs\":").append(String.format(Locale.ROOT, "%.3f", (System.nanoTime() - start) / 1_000_000.0));
+        // the formatted task sets are embedded as strings, since they span several lines
+        json.append(",\"taskSets\":").append(toJsonArray(generationResult.formattedTaskSets));
+        json.append(",\"metrics\":").append(generationResult.modelMetrics == null ? "null" : generationResult.modelMetrics.toJson());
+        json.append(",\"warnings\":").append(toJsonArray(warnings));
+        return json.append('}').toString();
+    }
+
+    private String error(Object id, String reason, String message) {
+        countStatus(GenerationResult.Status.ERROR.name());
+        return "{\"id\":" + idToJson(id) + ",\"status\":\"ERROR\",\"reason\":\"" + reason + "\",\"message\":" + JsonLines.quote(message) + "}";
+    }
+
+    private String status(Object id) {
+        Runtime runtime = Runtime.getRuntime();
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"id\":").append(idToJson(id));
+        json.append(",\"status\":\"OK\"");
+        json.append(",\"uptimeMs\":").append((System.nanoTime() - startTime) / 1_000_000);
+        json.append(",\"requests\":").append(requests.get());
+        json.append(",\"inFlight\":").append(inFlight.get());
+        json.append(",\"statusCounts\":{");
+        String separator = "";
+        for (Map.Entry<String, AtomicLong> entry : statusCounts.entrySet()) {
+            json.append(separator).append('"').append(entry.getKey()).append("\":").append(entry.getValue().get());
+            separator = ",";
+        }
+        json.append('}');
+        json.append(",\"frameworks\":").append(frameworksCreated.get());
+        json.append(",\"idleFrameworks\":").append(idleFrameworks.size());
+        json.append(",\"solvesInFlight\":").append(SolverCoreBudget.getSolvesInFlight());
+        json.append(",\"coresInUse\":").append(SolverCoreBudget.getCoresInUse());
+        json.append(",\"totalCores\":").append(SolverCoreBudget.getTotalCores());
+        json.append(",\"heapUsedBytes\":").append(runtime.totalMemory() - runtime.freeMemory());
+        json.append(",\"heapMaxBytes\":").append(runtime.maxMemory());
+        return json.append('}').toString();
+    }
+
+    private void countStatus(String status) {
+        statusCounts.computeIfAbsent(status, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Returns the id of a request as it was sent, strings are quoted.
+     */
+    private static String idToJson(Object id) {
+        return id instanceof String string ? JsonLines.quote(string) : String.valueOf(id);
+    }
+
+    private static String toJsonArray(List<String> values) {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (String value : values) json.add(JsonLines.quote(value));
+        return json.toString();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+}
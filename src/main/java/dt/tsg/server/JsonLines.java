@@ -0,0 +1,144 @@
+package dt.tsg.server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes the JSON lines of the generation server, see "GenerationServer".
+ * A request is a flat JSON object on a single line, its values are strings, numbers, booleans or null.
+ */
+public class JsonLines {
+
+    private final String line;
+    private int position = 0;
+
+    private JsonLines(String line) {
+        this.line = line;
+    }
+
+    /**
+     * Parses a request line.
+     *
+     * @param line the JSON object.
+     * @return the members of the object in their order, numbers are Long or Double.
+     * @throws IllegalArgumentException if the line is not a flat JSON object.
+     */
+    public static Map<String, Object> parse(String line) {
+        JsonLines parser = new JsonLines(line);
+        Map<String, Object> members = new LinkedHashMap<>();
+        parser.expect('{');
+        if (parser.peek() != '}') {
+            do {
+                String key = parser.readString();
+                parser.expect(':');
+                members.put(key, parser.readValue());
+            } while (parser.consume(','));
+        }
+        parser.expect('}');
+        if (parser.peek() != 0) throw parser.error("unexpected content after the object");
+        return members;
+    }
+
+    /**
+     * Returns a string as JSON string literal, including the quotes.
+     */
+    public static String quote(String value) {
+        if (value == null) return "null";
+        StringBuilder json = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+                    else json.append(c);
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    private Object readValue() {
+        char c = peek();
+        if (c == '"') return readString();
+        if (c == '-' || Character.isDigit(c)) return readNumber();
+        for (String literal : new String[]{"true", "false", "null"}) {
+            if (line.startsWith(literal, position)) {
+                position += literal.length();
+                return literal.equals("null") ? null : Boolean.valueOf(literal);
+            }
+        }
+        throw error("unexpected value");
+    }
+
+    private Object readNumber() {
+        int start = position;
+        while (position < line.length() && "+-.eE0123456789".indexOf(line.charAt(position)) >= 0) position++;
+        String number = line.substring(start, position);
+        try {
+            if (number.contains(".") || number.contains("e") || number.contains("E")) return Double.valueOf(number);
+            return Long.valueOf(number);
+        } catch (NumberFormatException e) {
+            throw error("invalid number " + number);
+        }
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (position < line.length()) {
+            char c = line.charAt(position++);
+            if (c == '"') return value.toString();
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position >= line.length()) break;
+            char escaped = line.charAt(position++);
+            switch (escaped) {
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'u' -> {
+                    if (position + 4 > line.length()) throw error("invalid unicode escape");
+                    try {
+                        value.append((char) Integer.parseInt(line.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("invalid unicode escape");
+                    }
+                    position += 4;
+                }
+                default -> value.append(escaped);  // '"', '\\' and '/'
+            }
+        }
+        throw error("unterminated string");
+    }
+
+    /**
+     * Returns the next character that is not a whitespace, or 0 at the end of the line.
+     */
+    private char peek() {
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) position++;
+        return position < line.length() ? line.charAt(position) : 0;
+    }
+
+    private boolean consume(char c) {
+        if (peek() != c) return false;
+        position++;
+        return true;
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) throw error("expected '" + c + "'");
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Malformed request at position " + position + ": " + message);
+    }
+}
@@ -0,0 +1,304 @@
+package dt.tsg.task;
+
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.utils.GenerationResult;
+import dt.tsg.utils.Utils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Generates task sets according to our Basic Generation Approach in a pipeline of stages, see "GenerateBasicTaskSet".
+ * Every stage runs on its own threads and takes the task sets from a bounded queue. The stages are
+ * TASK_LIST: the numbers of tasks, resources and constraints, the task list with its precedence relations, periods and phases, the scheduling limit and the task instances,
+ * SOLVE: the CSP Model, the solver, the post-hoc constraints and the formatting of the task sets,
+ * OUTPUT: saving the task sets to files, if "saveoutput" is set.
+ * <p>
+ * A stage blocks while the queue of the next stage is full, so the cheap task list stage runs at most a few queues ahead of the solve stage, while the output overlaps with solving.
+ * The queue depths of the stages show the bottleneck: the queue in front of it stays full, the queues behind it stay empty. See "getStageMetrics".
+ * The seeds of the task sets are derived like in a batch, so a pipeline generates the same task sets as "generateBatch" of the same framework.
+ */
+public class GenerationPipeline {
+
+    public enum Stage {TASK_LIST, SOLVE, OUTPUT}
+
+    /**
+     * A task set on its way through the pipeline.
+     */
+    private static final class Item {
+        final int index;
+        final long seed;
+        TaskGenerationFramework tgf = null;
+        TaskGenerationFramework.PreparedTaskList prepared = null;
+        GenerationResult generationResult = null;
+
+        Item(int index, long seed) {
+            this.index = index;
+            this.seed = seed;
+        }
+    }
+
+    /**
+     * The counters of a stage, they can be read while the pipeline is running.
+     */
+    public static final class StageMetrics {
+
+        private final Stage stage;
+        private final int threads;
+        private final int queueCapacity;
+        private final BlockingQueue<Item> queue;            // the task sets waiting for this stage
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong busyTime = new AtomicLong();
+        private final AtomicLong blockedTime = new AtomicLong();
+
+        private StageMetrics(Stage stage, int threads, int queueCapacity) {
+            this.stage = stage;
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        /**
+         * Puts a task set into the queue of this stage, blocks while the queue is full.
+         */
+        private void enqueue(Item item) throws InterruptedException {
+            queue.put(item);
+            maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+        }
+
+        public Stage getStage() {
+            return stage;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        /**
+         * Returns the number of task sets that currently wait for this stage.
+         */
+        public int getQueueDepth() {
+            return queue.size();
+        }
+
+        public int getMaxQueueDepth() {
+            return maxQueueDepth.get();
+        }
+
+        public long getProcessed() {
+            return processed.get();
+        }
+
+        /**
+         * Returns the time the threads of this stage spent on task sets, in nanoseconds.
+         */
+        public long getBusyTime() {
+            return busyTime.get();
+        }
+
+        /**
+         * Returns the time the threads of this stage waited for space in the queue of the next stage, in nanoseconds.
+         */
+        public long getBlockedTime() {
+            return blockedTime.get();
+        }
+
+        /**
+         * Exports the counters as a JSON object. Times are given in milliseconds.
+         */
+        public String toJson() {
+            return "{\"stage\":\"" + stage + "\"" +
+                    ",\"threads\":" + threads +
+                    ",\"queueCapacity\":" + queueCapacity +
+                    ",\"queueDepth\":" + getQueueDepth() +
+                    ",\"maxQueueDepth\":" + getMaxQueueDepth() +
+                    ",\"processed\":" + getProcessed() +
+                    ",\"busyTimeMs\":" + String.format(Locale.ROOT, "%.3f", busyTime.get() / 1_000_000.0) +
+                    ",\"blockedTimeMs\":" + String.format(Locale.ROOT, "%.3f", blockedTime.get() / 1_000_000.0) + "}";
+        }
+    }
+
+    private final TaskGenerationFramework tgf;
+    private final int[] threads;
+    private final int queueCapacity;
+    private volatile List<StageMetrics> stageMetrics = List.of();
+
+    /**
+     * Creates a pipeline, it can be run several times.
+     *
+     * @param tgf             the framework whose seed the seeds of the task sets are derived from.
+     * @param taskListThreads the number of threads of the TASK_LIST stage.
+     * @param solveThreads    the number of threads of the SOLVE stage, combine it with "numberofworkerthreads 0", so that the concurrent solves share the cores.
+     * @param outputThreads   the number of threads of the OUTPUT stage.
+     * @param queueCapacity   the number of task sets that can wait in front of each stage.
+     */
+    public GenerationPipeline(TaskGenerationFramework tgf, int taskListThreads, int solveThreads, int outputThreads, int queueCapacity) {
+        if (taskListThreads < 1 || solveThreads < 1 || outputThreads < 1 || queueCapacity < 1)
+            throw new IllegalArgumentException("Every stage needs at least one thread and a queue capacity of at least one.");
+        this.tgf = tgf;
+        this.threads = new int[]{taskListThreads, solveThreads, outputThreads};
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Generates task sets in the pipeline.
+     * A task set whose generation throws an exception has the status ERROR and skips the remaining stages, the pipeline continues with the other task sets.
+     * An Error thrown by a stage stops the pipeline and is rethrown.
+     *
+     * @param inputs   the InputParameters object, it is shared by all task sets and must not be modified while the pipeline runs.
+     * @param harmonic boolean that controls the generation of harmonic periods.
+     * @param count    the number of task sets.
+     * @return the Generation Results in the order of the task sets, each holds the warnings and the seed of its generation.
+     */
+    public List<GenerationResult> run(InputParameters inputs, boolean harmonic, int count) {
+        System.out.println("Seed of the pipeline: " + tgf.getUtils().getSeed());
+        List<StageMetrics> metrics = new ArrayList<>();
+        for (Stage stage : Stage.values()) {
+            metrics.add(new StageMetrics(stage, threads[stage.ordinal()], queueCapacity));
+        }
+        stageMetrics = Collections.unmodifiableList(metrics);
+
+        GenerationResult[] generationResults = new GenerationResult[count];
+        CountDownLatch finished = new CountDownLatch(count);
+        AtomicReference<Error> failure = new AtomicReference<>();
+        // the template caches are not thread-safe, every thread of the solve stage keeps its own, the infeasibility memo is shared
+        tgf.getInfeasibilityMemo(inputs);
+        Map<Thread, TaskGenerationFramework> workerCaches = new ConcurrentHashMap<>();
+        List<ExecutorService> executors = new ArrayList<>();
+        try {
+            for (Stage stage : Stage.values()) {
+                ExecutorService executor = Executors.newFixedThreadPool(threads[stage.ordinal()]);
+                executors.add(executor);
+                for (int thread = 0; thread < threads[stage.ordinal()]; thread++) {
+                    executor.execute(() -> work(stage, inputs, harmonic, workerCaches, generationResults, finished, failure));
+                }
+            }
+            // the queue of the first stage also limits how far the task sets are submitted ahead
+            // the submission runs on its own thread, so that a stopped pipeline does not block it
+            ExecutorService submitter = Executors.newSingleThreadExecutor();
+            executors.add(submitter);
+            submitter.execute(() -> {
+                try {
+                    for (int i = 0; i < count; i++) {
+                        metrics.get(0).enqueue(new Item(i, Utils.deriveSeed(tgf.getUtils().getSeed(), i)));
+                    }
+                } catch (InterruptedException e) {
+                    // the pipeline is finished
+                }
+            });
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("The generation pipeline was interrupted.", e);
+        } finally {
+            // the threads wait for the next task set, interrupting them ends the stages
+            executors.forEach(ExecutorService::shutdownNow);
+        }
+        if (failure.get() != null) throw failure.get();
+        System.out.println("Pipeline metrics: " + toJson());
+        return Arrays.asList(generationResults);
+    }
+
+    /**
+     * Takes the task sets of a stage from its queue until the thread is interrupted.
+     * A task set that leaves the pipeline in this stage counts down "finished", also if the stage throws.
+     */
+    private void work(Stage stage, InputParameters inputs, boolean harmonic, Map<Thread, TaskGenerationFramework> workerCaches, GenerationResult[] generationResults, CountDownLatch finished, AtomicReference<Error> failure) {
+        StageMetrics metrics = stageMetrics.get(stage.ordinal());
+        try {
+            while (true) {
+                Item item = metrics.queue.take();
+                boolean passedOn = false;       // the task set was put into the queue of the next stage
+                try {
+                    long start = System.nanoTime();
+                    try {
+                        process(stage, item, inputs, harmonic, workerCaches);
+                    } catch (RuntimeException e) {
+                        // the generation result reports the failure, so that the pipeline can continue with the next task set
+                        System.out.println("WARNING: The generation of the task set failed: " + e);
+                        if (item.tgf != null) item.tgf.warnings.add("WARNING: The generation of the task set failed: " + e);
+                        item.generationResult = new GenerationResult();
+                        item.generationResult.status = GenerationResult.Status.ERROR;
+                    }
+                    metrics.busyTime.addAndGet(System.nanoTime() - start);
+                    metrics.processed.incrementAndGet();
+
+                    boolean failed = item.generationResult != null && item.generationResult.status == GenerationResult.Status.ERROR;
+                    if (stage == Stage.OUTPUT || failed) {
+                        item.generationResult.warnings = item.tgf != null ? item.tgf.warnings : new ArrayList<>();
+                        item.generationResult.seed = item.seed;
+                        generationResults[item.index] = item.generationResult;
+                        continue;
+                    }
+                    long blockedStart = System.nanoTime();
+                    stageMetrics.get(stage.ordinal() + 1).enqueue(item);
+                    metrics.blockedTime.addAndGet(System.nanoTime() - blockedStart);
+                    passedOn = true;
+                } catch (Error e) {
+                    // the thread of the stage ends, the remaining task sets could wait forever, so the pipeline stops and "run" rethrows the error
+                    failure.compareAndSet(null, e);
+                    while (finished.getCount() > 0) finished.countDown();
+                    throw e;
+                } finally {
+                    if (!passedOn) finished.countDown();
+                }
+            }
+        } catch (InterruptedException e) {
+            // the pipeline is finished
+        }
+    }
+
+    private void process(Stage stage, Item item, InputParameters inputs, boolean harmonic, Map<Thread, TaskGenerationFramework> workerCaches) {
+        switch (stage) {
+            case TASK_LIST -> {
+                item.tgf = new TaskGenerationFramework(tgf.DEBUG, item.seed, new ArrayList<>());
+                // a garbage collection stops all threads, and the output stage saves the task sets
+                item.tgf.collectGarbage = false;
+                item.tgf.deferSaving = true;
+                item.prepared = item.tgf.prepareBasicTaskList(inputs, harmonic);
+            }
+            case SOLVE -> {
+                TaskGenerationFramework caches = workerCaches.computeIfAbsent(Thread.currentThread(), thread -> tgf.newCacheHolder());
+                item.tgf.modelTemplateCache = caches.modelTemplateCache;
+                item.tgf.infeasibilityMemo = caches.infeasibilityMemo;
+                try {
+                    item.generationResult = item.tgf.solveWithLimitEscalation(item.prepared.limit(), item.prepared.taskList(), item.prepared.numResources(), inputs, harmonic);
+                } finally {
+                    caches.modelTemplateCache = item.tgf.modelTemplateCache;
+                    caches.infeasibilityMemo = item.tgf.infeasibilityMemo;
+                }
+            }
+            case OUTPUT -> {
+                GenerationResult generationResult = item.generationResult;
+                if (!inputs.isSaveOutput() || generationResult.taskSet == null) return;
+                for (int solution = 0; solution < generationResult.formattedTaskSets.size(); solution++) {
+                    TaskGenerationFramework.saveTaskSet(generationResult.taskSet, generationResult.formattedTaskSets.get(solution), generationResult.dotFiles.get(solution));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the counters of the stages of the current or the last run, in the order of the stages.
+     */
+    public List<StageMetrics> getStageMetrics() {
+        return stageMetrics;
+    }
+
+    /**
+     * Exports the counters of all stages as a JSON array.
+     */
+    public String toJson() {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        stageMetrics.forEach(metrics -> json.add(metrics.toJson()));
+        return json.toString();
+    }
+}
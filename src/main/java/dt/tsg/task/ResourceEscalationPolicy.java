@@ -0,0 +1,51 @@
+package dt.tsg.task;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+
+/**
+ * Decides whether an infeasible TGFF task set is solved again with one more resource, see "TaskGenerationFramework.setResourceEscalationPolicy".
+ * The infeasibility of a TGFF task set is most likely due to an insufficient number of resources.
+ */
+@FunctionalInterface
+public interface ResourceEscalationPolicy {
+
+    /**
+     * Never retries, the generation returns the infeasible result. This is the default.
+     */
+    ResourceEscalationPolicy NEVER = numberOfResources -> false;
+
+    /**
+     * Asks the user on the console, used by "TaskGenerationFramework.main".
+     */
+    ResourceEscalationPolicy PROMPT = numberOfResources -> {
+        System.out.println("The current number of resources is " + numberOfResources + ". Should we restart the Model with numberOfResources=" + (numberOfResources + 1) + "?\n0=NO, 1=YES");
+        try {
+            // the reader is not closed, since that would close System.in
+            String answer = new BufferedReader(new InputStreamReader(System.in)).readLine();
+            return answer != null && answer.trim().equals("1");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    };
+
+    /**
+     * Returns the policy that retries until the task set has the given number of resources.
+     *
+     * @param maxNumberOfResources the largest number of resources a task set is solved with.
+     * @return the policy.
+     */
+    static ResourceEscalationPolicy upTo(int maxNumberOfResources) {
+        return numberOfResources -> numberOfResources < maxNumberOfResources;
+    }
+
+    /**
+     * Decides whether the task set is solved again with one more resource.
+     *
+     * @param numberOfResources the number of resources the task set was infeasible with.
+     * @return true if the task set is solved again with numberOfResources + 1 resources.
+     */
+    boolean retryWithAdditionalResource(int numberOfResources);
+}
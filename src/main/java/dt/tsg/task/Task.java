@@ -1,6 +1,7 @@
 package dt.tsg.task;
 
 import dt.tsg.InputParams.InputParameters;
+import dt.tsg.utils.GenerationException;
 
 import java.util.ArrayList;
 import java.util.Random;
@@ -66,7 +67,7 @@ public class Task {
                 // task is not schedulable even with adjustments
                 System.out.println("Specified minimum releasetime, period and WCET make the task un-schedulable");
                 System.out.println("ReleaseTimeMinimum: " + constraints.getMin_releaseTime() + " TaskPeriod: " + task.getPeriod() + " TaskWCET " + task.getWCET());
-                System.exit(-1);
+                throw new GenerationException(GenerationException.Reason.INVALID_INPUT, "Specified minimum releasetime, period and WCET make the task un-schedulable");
             } else if (constraints.getMax_releaseTime() > task.getPeriod() + task.getWCET()) { // MinReleaseTime is ok, now test max Release time
                 // The MaxReleaseTime is too high
                 // catch random.nextInt(X,Y) where X==Y
@@ -98,14 +99,14 @@ public class Task {
                 // task is not schedulable with the chosen min_deadline, task-period and taskWCET
                 System.out.println("Specified minimum deadline, period and WCET make the task un-schedulable");
                 System.out.println("Deadline-Minimum: " + constraints.getMin_deadline() + " TaskPeriod: " + task.getPeriod() + " TaskWCET " + task.getWCET());
-                System.exit(-1);
+                throw new GenerationException(GenerationException.Reason.INVALID_INPUT, "Specified minimum deadline, period and WCET make the task un-schedulable");
             } else if (constraints.getMax_deadline() > task.getPeriod()) {
                 // Period is smaller than max deadline, set max_deadline -> period
                 if (constraints.getMin_deadline() > task.getPeriod()) {
                     // the Period is smaller than the min deadline, the task cannot be scheduled with the current min/max values and period
                     System.out.println("Specified minimum deadline, period and WCET make the task un-schedulable, since the period is smaller than the minimum allowed deadline");
                     System.out.println("Deadline-Minimum: " + constraints.getMin_deadline() + " TaskPeriod: " + task.getPeriod() + " TaskWCET " + task.getWCET());
-                    System.exit(-1);
+                    throw new GenerationException(GenerationException.Reason.INVALID_INPUT, "Specified minimum deadline and period make the task un-schedulable, since the period is smaller than the minimum allowed deadline");
                 } else {
 
                     // catch random.nextInt(X,Y) where X==Y
@@ -6,13 +6,26 @@ import dt.tsg.InputParams.InputParameters;
 import dt.tsg.InputParams.TGFFInputParameters;
 import dt.tsg.cspModel.CSPModelFunctions;
 import dt.tsg.cspModel.DynamicConstraints;
+import dt.tsg.cspModel.FeasibilityPreChecks;
+import dt.tsg.cspModel.InfeasibilityExplanation;
+import dt.tsg.cspModel.InfeasibilityMemo;
+import dt.tsg.cspModel.ModelMetrics;
 import dt.tsg.cspModel.ModelTask;
+import dt.tsg.cspModel.ModelTemplate;
+import dt.tsg.cspModel.ModelTemplateCache;
+import dt.tsg.cspModel.Neighbourhood;
+import dt.tsg.cspModel.SolverCoreBudget;
+import dt.tsg.cspModel.SolverRace;
+import dt.tsg.cspModel.TaskWindowIndex;
+import dt.tsg.listScheduling.HeuristicEngine;
 import dt.tsg.phasesAndSchedulingLimit.PhasesAndSchedulingLimit;
 import dt.tsg.precedenceGraph.BasicPrecedenceConstraints;
 import dt.tsg.precedenceGraph.TGFFGraphGeneration;
 import dt.tsg.residencyConstraints.ResidencyConstraints;
+import dt.tsg.taskSet.SolutionFingerprint;
 import dt.tsg.taskSet.TGFFTaskSet;
 import dt.tsg.taskSet.TaskSet;
+import dt.tsg.utils.GenerationException;
 import dt.tsg.utils.GenerationResult;
 import dt.tsg.utils.RandomNumberGeneration;
 import dt.tsg.utils.Utils;
@@ -20,8 +33,10 @@ import dt.tsg.utils.Utils.ScheduledTask;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
 
 import static dt.tsg.InputParams.InputParameters.Distribution;
+import static dt.tsg.utils.Utils.deriveSeed;
 import static java.lang.System.gc;
 
 
@@ -34,6 +49,11 @@ public class TaskGenerationFramework {
     boolean DEBUG;
     Utils Utils;
     ArrayList<String> warnings;
+    ModelTemplateCache modelTemplateCache = null;  // reusable CP Model structures of previous generations, see "getModelTemplateCache"
+    InfeasibilityMemo infeasibilityMemo = null;    // configurations that were proven infeasible, see "getInfeasibilityMemo"
+    boolean collectGarbage = true;                 // requests a garbage collection before every CP Model is built, disabled for the task sets of a batch
+    ResourceEscalationPolicy resourceEscalationPolicy = ResourceEscalationPolicy.NEVER;   // decides whether infeasible TGFF task sets are solved again with more resources
+    boolean deferSaving = false;                   // the task sets are saved by the output stage of a pipeline instead, see "GenerationPipeline"
 
     public TaskGenerationFramework(boolean DEBUG, Random random, ArrayList<String> warnings) {
         this.DEBUG = DEBUG;
@@ -47,6 +67,16 @@ public class TaskGenerationFramework {
         this.warnings = new ArrayList<>();
     }
 
+    /**
+     * Creates a framework whose random numbers are derived from a seed, see "Utils.getStream".
+     * A framework with the same seed generates the same task lists for the same inputs.
+     */
+    public TaskGenerationFramework(boolean DEBUG, long seed, ArrayList<String> warnings) {
+        this.DEBUG = DEBUG;
+        this.Utils = new Utils(DEBUG, seed);
+        this.warnings = warnings;
+    }
+
     public void setDEBUG(boolean DEBUG) {
         this.DEBUG = DEBUG;
     }
@@ -67,16 +97,28 @@ public class TaskGenerationFramework {
         this.warnings = warnings;
     }
 
+    public ResourceEscalationPolicy getResourceEscalationPolicy() {
+        return resourceEscalationPolicy;
+    }
+
+    /**
+     * Sets the policy that decides whether an infeasible TGFF task set is solved again with one more resource.
+     * The default never retries, "main" asks the user on the console.
+     */
+    public void setResourceEscalationPolicy(ResourceEscalationPolicy resourceEscalationPolicy) {
+        this.resourceEscalationPolicy = resourceEscalationPolicy;
+    }
+
     /**
      * This class is used for the onSolutionCallback method to return after the first x solutions have been found.
      */
     static class VarArraySolutionPrinter extends CpSolverSolutionCallback { //https://developers.google.com/optimization/cp/cp_tasks#solution-limit
 
         private int solutionCount;
-        private final IntVar[] variableArray;
+        private final LinearArgument[] variableArray;
         private final int SolutionLimit;
 
-        public VarArraySolutionPrinter(IntVar[] variables, int solutionLimit) {
+        public VarArraySolutionPrinter(LinearArgument[] variables, int solutionLimit) {
             variableArray = variables;
             SolutionLimit = solutionLimit;
         }
@@ -103,7 +145,8 @@ public class TaskGenerationFramework {
                 }
                 System.out.print("\nResou: ");
                 for (int i = 0; i < variableArray.length; i++) {
-                    if (i % 4 == 3) System.out.printf("%-5d", value(variableArray[i]));
+                    // tasks have no resource variable if resources are modelled cumulatively
+                    if (i % 4 == 3) System.out.printf("%-5s", variableArray[i] != null ? value(variableArray[i]) : "-");
                 }
                 System.out.println();
             }
@@ -121,6 +164,79 @@ public class TaskGenerationFramework {
 
     }
 
+    /**
+     * Receives the solutions that are streamed out of the solver callback, see "SolutionStreamer".
+     */
+    interface SolutionConsumer {
+        /**
+         * @param solutionNum    the number of the solution.
+         * @param solutionValues the solution buffer, see "ScheduledTask.copySolutionValues".
+         */
+        void accept(int solutionNum, int[] solutionValues);
+    }
+
+    /**
+     * This callback copies every solution into a compact buffer and passes it on while the search is still running.
+     * The most recent solution is held back, since it is the final solver response that is processed after the search.
+     * Solutions whose fingerprint was already seen are dropped, see "SolutionFingerprint".
+     */
+    static class SolutionStreamer extends VarArraySolutionPrinter {
+
+        private final Map<Integer, ModelTask> modelTaskMap;
+        private final ArrayList<Task> taskList;
+        private final boolean phasedReleaseTimes;
+        private final ModelMetrics modelMetrics;
+        private final SolutionConsumer consumer;
+        private final Set<SolutionFingerprint> fingerprints = new HashSet<>();                  // fingerprints of all solutions that were not dropped
+        private final ArrayList<SolutionFingerprint> streamedFingerprints = new ArrayList<>();  // fingerprints of the streamed solutions, in the order of streaming
+        private int[] pendingSolution = null;
+        private SolutionFingerprint pendingFingerprint = null;
+
+        public SolutionStreamer(LinearArgument[] variables, int solutionLimit, Map<Integer, ModelTask> modelTaskMap, ArrayList<Task> taskList, boolean phasedReleaseTimes, ModelMetrics modelMetrics, SolutionConsumer consumer) {
+            super(variables, solutionLimit);
+            this.modelTaskMap = modelTaskMap;
+            this.taskList = taskList;
+            this.phasedReleaseTimes = phasedReleaseTimes;
+            this.modelMetrics = modelMetrics;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void onSolutionCallback() {
+            int[] solutionValues = ScheduledTask.copySolutionValues(modelTaskMap, this::value);
+            SolutionFingerprint fingerprint = SolutionFingerprint.of(taskList, solutionValues, phasedReleaseTimes);
+            // solutions that produce an already seen task set are dropped before they are post-processed
+            boolean duplicate = !fingerprints.add(fingerprint);
+            modelMetrics.recordSolution(duplicate);
+            if (!duplicate) {
+                if (pendingSolution != null) stream(pendingSolution, pendingFingerprint);
+                pendingSolution = solutionValues;
+                pendingFingerprint = fingerprint;
+            }
+            super.onSolutionCallback();
+        }
+
+        private void stream(int[] solutionValues, SolutionFingerprint fingerprint) {
+            streamedFingerprints.add(fingerprint);
+            consumer.accept(streamedFingerprints.size(), solutionValues);
+        }
+
+        /**
+         * Streams the held back solution unless it is the solution reported by the solver, which is extracted as the first task set.
+         * Must be called after the search and before the consumers are shut down.
+         *
+         * @param finalFingerprint the fingerprint of the solution reported by the solver.
+         */
+        public void finish(SolutionFingerprint finalFingerprint) {
+            if (pendingSolution != null && !pendingFingerprint.equals(finalFingerprint)) stream(pendingSolution, pendingFingerprint);
+            pendingSolution = null;
+        }
+
+        public ArrayList<SolutionFingerprint> getStreamedFingerprints() {
+            return streamedFingerprints;
+        }
+    }
+
     /**
      * Builds the var array solution printer object for the CP solver.
      *
@@ -129,17 +245,26 @@ public class TaskGenerationFramework {
      * @return the Var array solution printer object.
      */
     private static VarArraySolutionPrinter getVarArraySolutionPrinter(Map<Integer, ModelTask> modelTaskMap, int number_of_solutions) {
+        return new VarArraySolutionPrinter(getObservedVariables(modelTaskMap), number_of_solutions);
+    }
+
+    /**
+     * Returns the variables that are printed on finding a solution.
+     *
+     * @param modelTaskMap maps the task ids to the corresponding model tasks.
+     * @return start, end, wcet and resource of every model task.
+     */
+    private static LinearArgument[] getObservedVariables(Map<Integer, ModelTask> modelTaskMap) {
 
         // Designate variables to be printed on finding a solution
-        List<IntVar> vars = new ArrayList<>();
+        List<LinearArgument> vars = new ArrayList<>();
         modelTaskMap.forEach((integer, modelTask) -> {
             vars.add(modelTask.getStart());
             vars.add(modelTask.getEnd());
             vars.add(modelTask.getWcet());
             vars.add(modelTask.getResource());
         });
-        IntVar[] observeVar = vars.toArray(new IntVar[0]);
-        return new VarArraySolutionPrinter(observeVar, number_of_solutions);
+        return vars.toArray(new LinearArgument[0]);
     }
 
     /**
@@ -280,6 +405,7 @@ public class TaskGenerationFramework {
      * @param numPrec  Number of Precedence Constraints in the Task Set
      * @param inputs   The Task Generation Input Parameters
      * @return A list of tasks without the additional instances of periodic tasks
+     * @throws GenerationException if no task list was generated.
      */
     public ArrayList<Task> generateModelReadyTasks(int numTasks, int numResid, int numResou, int numPrec, InputParameters inputs, boolean harmonic, boolean multi_residency, boolean postHoc_precedence, boolean phased_releaseTimes, boolean postHoc_residency) {
 
@@ -336,7 +462,7 @@ public class TaskGenerationFramework {
             warnings.add("=================CRITICAL ERROR, NO TASK LIST GENERATED=================");
             System.out.println("---------- All generated Warnings during generation ----------");
             warnings.forEach(System.out::println);
-            System.exit(-1);
+            throw new GenerationException(GenerationException.Reason.NO_TASK_LIST, "No task list was generated");
         }
 
         return taskList;
@@ -435,6 +561,33 @@ public class TaskGenerationFramework {
         return additionalTasks;
     }
 
+    /**
+     * Returns the cache of CP Model templates, which is shared by all generations of this framework.
+     * A new cache is created if the cache size of the inputs changed.
+     *
+     * @param inputs the InputParameters object.
+     * @return the cache, or null if the cache size is 0.
+     */
+    private ModelTemplateCache getModelTemplateCache(InputParameters inputs) {
+        if (inputs.getModelCacheSize() <= 0) return null;
+        if (modelTemplateCache == null || modelTemplateCache.getCapacity() != inputs.getModelCacheSize()) {
+            modelTemplateCache = new ModelTemplateCache(inputs.getModelCacheSize());
+        }
+        return modelTemplateCache;
+    }
+
+    /**
+     * Returns the memo of infeasible configurations, which is shared by all generations of this framework.
+     *
+     * @param inputs the InputParameters object.
+     * @return the memo, or null if infeasibilities are not explained.
+     */
+    InfeasibilityMemo getInfeasibilityMemo(InputParameters inputs) {
+        if (!inputs.isExplainInfeasibility()) return null;
+        if (infeasibilityMemo == null) infeasibilityMemo = new InfeasibilityMemo(InfeasibilityMemo.DEFAULT_CAPACITY);
+        return infeasibilityMemo;
+    }
+
     /**
      * Generates a CSP Model using the CSPModelFunctions and solves it.
      *
@@ -443,11 +596,24 @@ public class TaskGenerationFramework {
      * @param numResou the total number of resources
      */
     private GenerationResult generateModelAndSolve(int limit, ArrayList<Task> taskList, int numResou, InputParameters inputs) {
+        return generateModelAndSolve(limit, taskList, numResou, inputs, null);
+    }
+
+    /**
+     * Generates a CSP Model using the CSPModelFunctions and solves it.
+     * If a neighbourhood is given, all tasks outside the neighbourhood are fixed to a solved task set instead of adding hints, see "mutateTaskSet".
+     *
+     * @param limit         the Scheduling Limit
+     * @param taskList      the complete list of tasks that will be used in the model
+     * @param numResou      the total number of resources
+     * @param neighbourhood the neighbourhood of a solved task set, or null
+     */
+    private GenerationResult generateModelAndSolve(int limit, ArrayList<Task> taskList, int numResou, InputParameters inputs, Neighbourhood neighbourhood) {
 
         getUtils().DebugPrint("Start Method: generateModelAndSolve");
 
         // Call garbage collection to save memory
-        gc();
+        if (collectGarbage) gc();
 
         int min_residency_constraints = inputs.getMin_residency_constraints();
         int max_residency_constraints = inputs.getMax_residency_constraints();
@@ -460,54 +626,233 @@ public class TaskGenerationFramework {
 
         //Generate Model, see https://developers.google.com/optimization/scheduling/job_shop
         Loader.loadNativeLibraries();
-        CpModel cspModel = new CpModel();
 
-        // Build dynamic Constraints
-        DynamicConstraints dynamicConstraints = CSPModelFunctions.buildDynamicConstraints(cspModel, limit, inputs);
+        // Select the NoOverlap encoding, the cumulative formulation requires interchangeable resources
+        InputParameters.NoOverlapEncoding noOverlapEncoding = inputs.getNoOverlapEncoding();
+        if (noOverlapEncoding == InputParameters.NoOverlapEncoding.CUMULATIVE && !CSPModelFunctions.supportsCumulativeResources(taskList)) {
+            System.out.println("WARNING: The CUMULATIVE NoOverlap encoding requires a task set without residency constraints and periodic task instances. Using the PERRESOURCE encoding instead.");
+            warnings.add("WARNING: The CUMULATIVE NoOverlap encoding requires a task set without residency constraints and periodic task instances. Using the PERRESOURCE encoding instead.");
+            noOverlapEncoding = InputParameters.NoOverlapEncoding.PERRESOURCE;
+        }
+        boolean cumulativeResources = noOverlapEncoding == InputParameters.NoOverlapEncoding.CUMULATIVE;
+
+        // Record the model size and the time spent in every stage
+        ModelMetrics modelMetrics = new ModelMetrics();
+        modelMetrics.setNumberOfTasks(taskList.size());
+        modelMetrics.setNumberOfPeriodicInstances((int) taskList.stream().filter(task -> task instanceof TaskInstance).count());
+        modelMetrics.setNumberOfResources(numResou);
+        modelMetrics.setSchedulingLimit(limit);
+        modelMetrics.setNoOverlapEncoding(noOverlapEncoding.toString());
+        long stageStart;
+        long noOverlapPairs = 0;
+
+        // Reject task lists that violate necessary feasibility conditions before the CP Model is built, a solved task set satisfies them
+        if (neighbourhood == null) {
+            GenerationResult rejection = runFeasibilityPreChecks(limit, taskList, numResou, inputs, modelMetrics);
+            if (rejection != null) return rejection;
+        }
 
-        // Build Tasks for CSP Model and add Task Constraints
-        Map<Integer, ModelTask> modelTaskMap = CSPModelFunctions.buildCSPModelTasksAndConstraints(cspModel, limit, taskList, numResou, dynamicConstraints, inputs.PhasedReleaseTimes(), Utils, inputs);
+        CpModel cspModel;
+        DynamicConstraints dynamicConstraints;
+        Map<Integer, ModelTask> modelTaskMap;
+
+        // Reuse the structure of a previous CP Model if the task list has the same fingerprint
+        ModelTemplateCache templateCache = getModelTemplateCache(inputs);
+        // the infeasibility of a neighbourhood says nothing about the configuration
+        InfeasibilityMemo infeasibilityMemo = neighbourhood == null ? getInfeasibilityMemo(inputs) : null;
+        String fingerprint = null;
+        ModelTemplate template = null;
+        if (templateCache != null || infeasibilityMemo != null) {
+            fingerprint = ModelTemplate.fingerprint(taskList, limit, numResou, noOverlapEncoding, inputs);
+        }
 
-        // Add dynamic No Overlap between Tasks
-        CSPModelFunctions.addNoOverlapConstraintsToModel(taskList, cspModel, modelTaskMap, getUtils());
+        // Skip configurations that were already proven infeasible
+        ArrayList<InfeasibilityExplanation.ConstraintGroup> memoizedCore = infeasibilityMemo != null ? infeasibilityMemo.get(fingerprint) : null;
+        if (memoizedCore != null) {
+            System.out.println("The configuration was already proven infeasible, the CP Model is not built. Conflicting constraints: " + describeInfeasibilityCore(memoizedCore));
+            GenerationResult generationResult = new GenerationResult();
+            generationResult.status = GenerationResult.Status.INFEASIBLE;
+            generationResult.infeasibilityCore = memoizedCore;
+            modelMetrics.setInfeasibilityMemoHit(true);
+            generationResult.modelMetrics = modelMetrics;
+            System.out.println("Model metrics: " + modelMetrics.toJson());
+            printWarnings();
+            return generationResult;
+        }
+
+        if (templateCache != null) {
+            template = templateCache.get(fingerprint);
+        }
+
+        if (template != null) {
+            getUtils().DebugPrint("Reusing cached CP Model structure. Cache hits: " + templateCache.getHits() + ", misses: " + templateCache.getMisses());
+            stageStart = System.nanoTime();
+            cspModel = template.instantiate();
+            modelTaskMap = template.bindModelTasks(cspModel, taskList);
+            dynamicConstraints = template.bindDynamicConstraints(cspModel);
+            noOverlapPairs = template.getNoOverlapPairs();
+            modelMetrics.setTemplateReused(true);
+            modelMetrics.recordStage("instantiateTemplate", stageStart);
+        } else {
+            cspModel = new CpModel();
+
+            // Build dynamic Constraints
+            stageStart = System.nanoTime();
+            dynamicConstraints = CSPModelFunctions.buildDynamicConstraints(cspModel, limit, inputs);
+            modelMetrics.recordStage("buildDynamicConstraints", stageStart);
+
+            // Build Tasks for CSP Model and add Task Constraints
+            stageStart = System.nanoTime();
+            modelTaskMap = CSPModelFunctions.buildCSPModelTasksAndConstraints(cspModel, limit, taskList, numResou, dynamicConstraints, inputs.PhasedReleaseTimes(), cumulativeResources, Utils, inputs);
+            modelMetrics.recordStage("buildCSPModelTasksAndConstraints", stageStart);
+
+            // Index the task windows, only tasks with intersecting windows can interact
+            stageStart = System.nanoTime();
+            TaskWindowIndex windowIndex = new TaskWindowIndex(modelTaskMap);
+            modelMetrics.recordStage("windowIndex", stageStart);
+
+            // Add dynamic No Overlap between Tasks
+            stageStart = System.nanoTime();
+            switch (noOverlapEncoding) {
+                case PERRESOURCE -> CSPModelFunctions.addPerResourceNoOverlapConstraintsToModel(taskList, cspModel, modelTaskMap, numResou, getUtils());
+                case CUMULATIVE -> CSPModelFunctions.addCumulativeConstraintToModel(taskList, cspModel, modelTaskMap, numResou, getUtils());
+                default -> noOverlapPairs = CSPModelFunctions.addNoOverlapConstraintsToModel(taskList, cspModel, modelTaskMap, windowIndex, getUtils());
+            }
+            modelMetrics.recordStage("noOverlap", stageStart);
 
-        // Add actual Precedence Constraints to the Model
-        CSPModelFunctions.addPrecedenceConstraintsToModel(taskList, cspModel, modelTaskMap, getUtils());
+            // Break the symmetry between interchangeable resources, the cumulative formulation has no resource variables
+            if (inputs.isSymmetryBreaking() && !cumulativeResources) {
+                stageStart = System.nanoTime();
+                CSPModelFunctions.addResourceSymmetryBreakingToModel(taskList, cspModel, modelTaskMap, numResou, getUtils());
+                modelMetrics.recordStage("symmetryBreaking", stageStart);
+            }
 
-        // Add Hints
-        GenerationResult generationResult = CSPModelFunctions.addHintsToModel(cspModel, modelTaskMap, taskList, limit, dynamicConstraints, numResou, inputs, getUtils(), warnings);
+            // Add actual Precedence Constraints to the Model
+            stageStart = System.nanoTime();
+            CSPModelFunctions.addPrecedenceConstraintsToModel(taskList, cspModel, modelTaskMap, windowIndex, getUtils());
+            modelMetrics.recordStage("precedence", stageStart);
 
-        // Add Decision Strategy
-        CSPModelFunctions.addDecisionStrategies(cspModel, modelTaskMap);
+            // Add Decision Strategy
+            CSPModelFunctions.addDecisionStrategies(cspModel, modelTaskMap);
 
-        // Add objective for minimizing schedule length
-        //CSPModelFunctions.addScheduleLengthObjective(limit, taskList, cspModel, modelTaskMap);
+            // Add objective for minimizing schedule length
+            //CSPModelFunctions.addScheduleLengthObjective(limit, taskList, cspModel, modelTaskMap);
 
-        if (inputs.isMaximizeWCET()) {
-            // Add objective for maximizing WCET
-            CSPModelFunctions.addWCETObjective(modelTaskMap, cspModel);
+            if (inputs.isMaximizeWCET()) {
+                // Add objective for maximizing WCET
+                CSPModelFunctions.addWCETObjective(modelTaskMap, cspModel);
+            }
+
+            // Save the structure before hints are added
+            if (templateCache != null) templateCache.put(fingerprint, new ModelTemplate(cspModel, modelTaskMap, dynamicConstraints, noOverlapPairs));
         }
+
+        GenerationResult generationResult;
+        if (neighbourhood != null) {
+            // Fix the tasks outside the neighbourhood, the constraints are never part of a template
+            stageStart = System.nanoTime();
+            neighbourhood.addToModel(cspModel, modelTaskMap, taskList);
+            generationResult = new GenerationResult();
+            modelMetrics.setNeighbourhood(neighbourhood.getKind().toString());
+            modelMetrics.setNeighbourhoodSize(neighbourhood.getFreeTaskIDs().size());
+            modelMetrics.recordStage("neighbourhood", stageStart);
+        } else {
+            // Add Hints, they are randomized for every task set and never part of a template
+            stageStart = System.nanoTime();
+            generationResult = CSPModelFunctions.addHintsToModel(cspModel, modelTaskMap, taskList, limit, dynamicConstraints, numResou, inputs, getUtils(), warnings);
+            modelMetrics.recordStage("hints", stageStart);
+        }
+
+        // only the pairwise encoding creates NoOverlap constraints per pair of tasks
+        if (noOverlapEncoding == InputParameters.NoOverlapEncoding.PAIRWISE) {
+            modelMetrics.setNoOverlapPairsCreated(noOverlapPairs);
+            modelMetrics.setNoOverlapPairsSkipped((long) taskList.size() * (taskList.size() - 1) / 2 - noOverlapPairs);
+        }
+        modelMetrics.recordModelSize(cspModel);
+        generationResult.modelMetrics = modelMetrics;
+
         // Generate the Solver and Solution-parameters
         CpSolver solver = new CpSolver();
 
+        // A diverse pool solves the model once per solution, see "solveDiverseSolutions"
+        boolean diversePool = inputs.getMinSolutionDistance() > 0 && inputs.getSolutionCount() > 1;
+        int searchSolutionCount = diversePool ? 1 : inputs.getSolutionCount();
+
+        // Lease the worker threads from the process-wide budget, racing solvers lease their own
+        boolean solverRace = !inputs.getSolverRace().isEmpty();
+        SolverCoreBudget.Lease coreLease = solverRace ? null : SolverCoreBudget.acquire(inputs.getNumberOfWorkerThreads(), SolverCoreBudget.modelSize(cspModel));
+        if (coreLease != null && coreLease.workers() < inputs.getNumberOfWorkerThreads()) {
+            System.out.println("WARNING: Only " + coreLease.workers() + " of " + inputs.getNumberOfWorkerThreads() + " worker threads are free, concurrent solves use the other cores.");
+            warnings.add("WARNING: Only " + coreLease.workers() + " of " + inputs.getNumberOfWorkerThreads() + " worker threads are free, concurrent solves use the other cores.");
+        }
+
         // Set Solver Parameters
-        CSPModelFunctions.setSolverParameters(solver, inputs.getNumberOfWorkerThreads(), inputs.getSolutionCount(), getUtils());
+        CSPModelFunctions.setSolverParameters(solver, inputs.getSolverProfile(), inputs.getNumberOfWorkerThreads(), coreLease != null ? coreLease.workers() : inputs.getNumberOfWorkerThreads(), searchSolutionCount, getUtils());
+        CSPModelFunctions.setSolverTimeLimits(solver, inputs.getTimeLimit(), inputs.getDeterministicTimeLimit());
+        if (solverRace && inputs.getSolutionConsumerThreads() > 0) {
+            System.out.println("WARNING: Additional solutions can not be streamed while solver profiles race. Additional solutions are processed after the search.");
+            warnings.add("WARNING: Additional solutions can not be streamed while solver profiles race. Additional solutions are processed after the search.");
+        }
 
         // Solve the problem
-        VarArraySolutionPrinter cb = getVarArraySolutionPrinter(modelTaskMap, inputs.getSolutionCount());
+        VarArraySolutionPrinter cb;
+        SolutionStreamer solutionStreamer = null;
+        ThreadPoolExecutor solutionConsumers = null;
+        List<Future<ProcessedSolution>> streamedSolutions = Collections.synchronizedList(new ArrayList<>());
+        if (inputs.getSolutionConsumerThreads() > 0 && searchSolutionCount > 1 && !solverRace) {
+            // post-process additional solutions in a thread pool while the search is still running
+            // if all threads are busy and the queue is full, the solver thread processes the solution itself
+            int threads = inputs.getSolutionConsumerThreads();
+            solutionConsumers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(2 * threads), new ThreadPoolExecutor.CallerRunsPolicy());
+            ThreadPoolExecutor consumerPool = solutionConsumers;
+            solutionStreamer = new SolutionStreamer(getObservedVariables(modelTaskMap), inputs.getSolutionCount(), modelTaskMap, taskList, inputs.PhasedReleaseTimes(), modelMetrics, (solutionNum, solutionValues) ->
+                    streamedSolutions.add(consumerPool.submit(() -> processStreamedSolution(limit, taskList, numResou, inputs, solutionValues, modelTaskMap, min_residency_constraints, max_residency_constraints, dynamicConstraints, generationResult, solutionNum))));
+            cb = solutionStreamer;
+        } else {
+            cb = getVarArraySolutionPrinter(modelTaskMap, searchSolutionCount);
+        }
         System.out.println("\nRun CP-Solver\n");
         CpSolverStatus status = null;
+        stageStart = System.nanoTime();
         try {
-            status = solver.solve(cspModel, cb);
+            if (solverRace) {
+                // race the profiles on copies of the model, the winning solver replaces the configured one
+                SolverRace.Result result = SolverRace.race(cspModel, inputs.getSolverRace(), inputs, searchSolutionCount, racer -> getVarArraySolutionPrinter(modelTaskMap, searchSolutionCount), getUtils());
+                solver = result.solver();
+                status = result.status();
+                cb = (VarArraySolutionPrinter) result.callback();
+                modelMetrics.setSolverProfile(result.profile().toString());
+                System.out.println("Solver race won by profile " + result.profile() + ". Wins/losses of all profiles: " + SolverRace.getTally());
+            } else {
+                status = solver.solve(cspModel, cb);
+                modelMetrics.setSolverProfile(inputs.getSolverProfile().toString());
+            }
         } catch (Exception e) {
+            // the generation result reports the failure, so that a batch can continue with the next task set
             System.out.println("CP-Solver returned Exception: " + e.getMessage());
-            System.exit(-1);
+            warnings.add("WARNING: CP-Solver returned Exception: " + e.getMessage());
+        } finally {
+            if (coreLease != null) coreLease.close();
+        }
+        modelMetrics.recordStage("solve", stageStart);
+        // a single worker is not set in the solver parameters, see "CSPModelFunctions.setSolverParameters"
+        modelMetrics.setNumberOfWorkers(Math.max(1, solver.getParameters().getNumWorkers()));
+        generationResult.storeSolverResponse(status, solver);
+
+        // the fingerprint of the solution reported by the solver, additional solutions with the same fingerprint are dropped
+        SolutionFingerprint finalFingerprint = null;
+        if (status == CpSolverStatus.OPTIMAL || status == CpSolverStatus.FEASIBLE) {
+            generationResult.modelTaskList = taskList;
+            generationResult.solution = ScheduledTask.copySolutionValues(modelTaskMap, solver::value);
+            finalFingerprint = SolutionFingerprint.of(taskList, generationResult.solution, inputs.PhasedReleaseTimes());
         }
+        if (solutionStreamer != null) solutionStreamer.finish(finalFingerprint);
+        if (solutionConsumers != null) solutionConsumers.shutdown();
 
         // Read result
         if (status == CpSolverStatus.OPTIMAL || status == CpSolverStatus.FEASIBLE) {
 
-            List<CpSolverSolution> solutionList = solver.response().getAdditionalSolutionsList();       // TODO filter out solutions that are equal from our perspective
+            List<CpSolverSolution> solutionList = solver.response().getAdditionalSolutionsList();
             System.out.println("The solver returned " + solutionList.size() + " solutions. We attempted to generate " + cb.getSolutionCount() + " solutions.\n");
 
             getUtils().DebugPrint("Solution from solver:\n");
@@ -556,10 +901,10 @@ public class TaskGenerationFramework {
             // Print solution
             if (Utils.debug)
                 Utils.PrintSchedule(limit, status, firstCopyOfTaskList, solver, modelTaskMap, dynamicConstraints, numResou);
-            generationResult.storeValues(solver, dynamicConstraints, modelTaskMap);
+            generationResult.storeValues(solver, dynamicConstraints, modelTaskMap, scheduledTasks);
 
             // Format and Print TaskSet
-            TaskSet taskSet = new TaskSet(firstCopyOfTaskList, formattedTaskSetNumberOfResources, modelTaskMap, solver);
+            TaskSet taskSet = new TaskSet(firstCopyOfTaskList, formattedTaskSetNumberOfResources, modelTaskMap, solver, scheduledTasks);
             String formattedTaskSet;
             String dotFile;
             // Format Task Set
@@ -569,65 +914,96 @@ public class TaskGenerationFramework {
                 throw new RuntimeException(e);
             }
             // Print Task Set and Save to File
-            try {
-                getUtils().DebugPrint(formattedTaskSet);
-                dotFile = taskSet.generateDot(firstCopyOfTaskList);
-                getUtils().DebugPrint(dotFile);
-                // Save file
-                if (inputs.isSaveOutput()) {
-                    boolean success = taskSet.saveToFile(formattedTaskSet, "taskSet", ".json");
-                    if (success) {
-                        System.out.println("Successfully saved task set to file.");
-                    } else {
-                        System.out.println("Failed to save task set to file.");
+            getUtils().DebugPrint(formattedTaskSet);
+            dotFile = taskSet.generateDot(firstCopyOfTaskList);
+            getUtils().DebugPrint(dotFile);
+            if (inputs.isSaveOutput() && !deferSaving) saveTaskSet(taskSet, formattedTaskSet, dotFile);
+            generationResult.formattedTaskSets.add(formattedTaskSet);
+            generationResult.dotFiles.add(dotFile);
+
+            // extract additional solutions and parse them, the streamer counted the solver response during the search
+            if (solutionStreamer == null) modelMetrics.recordSolution(false);
+            if (diversePool) {
+                stageStart = System.nanoTime();
+                for (ProcessedSolution additionalSolution : solveDiverseSolutions(limit, taskList, numResou, inputs, cspModel, modelTaskMap, dynamicConstraints, generationResult)) {
+                    generationResult.formattedTaskSets.add(additionalSolution.formattedTaskSet());
+                    generationResult.dotFiles.add(additionalSolution.dotFile());
+                }
+                modelMetrics.recordStage("diverseSolutions", stageStart);
+            } else if (solutionStreamer != null) {
+                // the additional solutions were streamed out of the solver callback, wait for their post-processing
+                for (int i = 0; i < streamedSolutions.size(); i++) {
+                    ProcessedSolution additionalSolution;
+                    try {
+                        additionalSolution = streamedSolutions.get(i).get();
+                    } catch (InterruptedException | ExecutionException e) {
+                        throw new RuntimeException(e);
                     }
-                    success = taskSet.saveToFile(dotFile, "taskSet", ".dot");
-                    if (success) {
-                        System.out.println("Successfully saved .dot file.");
-                    } else {
-                        System.out.println("Failed to save .dot file.");
+                    // a streamed solution can equal the solver response if a later duplicate ended the search
+                    if (!solutionStreamer.getStreamedFingerprints().get(i).equals(finalFingerprint)) {
+                        generationResult.formattedTaskSets.add(additionalSolution.formattedTaskSet());
+                        generationResult.dotFiles.add(additionalSolution.dotFile());
                     }
                 }
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-
-            // extract additional solutions and parse them
-            if (inputs.getSolutionCount() > 1) {
+            } else if (inputs.getSolutionCount() > 1) {
+                Set<SolutionFingerprint> fingerprints = new HashSet<>();
+                fingerprints.add(finalFingerprint);
+                boolean firstSolution = true;
                 for (CpSolverSolution cpSolverSolution : solutionList) {
 
-                    if (solutionNumber == 1) {  // Fix to prevent the first solution from being printed twice
-                        solutionNumber++;
+                    if (firstSolution) {  // Fix to prevent the first solution from being printed twice
+                        firstSolution = false;
                         continue;
                     }
 
-                    System.out.println("\nSolution #" + (solutionNumber - 1));
-                    extractAdditionalSolutionsFromSolver(limit, taskList, numResou, inputs, cpSolverSolution, modelTaskMap, min_residency_constraints, max_residency_constraints, status, solver, dynamicConstraints, generationResult, solutionNumber - 1);
+                    int[] solutionValues = ScheduledTask.copySolutionValues(modelTaskMap, var -> cpSolverSolution.getValues(var.getIndex()));
+                    // solutions that produce an already extracted task set are dropped before they are post-processed
+                    boolean duplicate = !fingerprints.add(SolutionFingerprint.of(taskList, solutionValues, inputs.PhasedReleaseTimes()));
+                    modelMetrics.recordSolution(duplicate);
+                    if (duplicate) continue;
+
+                    System.out.println("\nSolution #" + solutionNumber);
+                    ProcessedSolution additionalSolution = extractAdditionalSolutionsFromSolver(limit, taskList, numResou, inputs, solutionValues, modelTaskMap, min_residency_constraints, max_residency_constraints, status, solver, dynamicConstraints, generationResult, solutionNumber, warnings, getUtils());
+                    generationResult.formattedTaskSets.add(additionalSolution.formattedTaskSet());
+                    generationResult.dotFiles.add(additionalSolution.dotFile());
                     solutionNumber++;
                 }
             }
 
-            generationResult.storeValues(solver, dynamicConstraints, modelTaskMap);
+            generationResult.storeValues(solver, dynamicConstraints, modelTaskMap, scheduledTasks);
             generationResult.taskSet = taskSet;
+            System.out.println("Dropped " + modelMetrics.getDuplicateSolutions() + " of " + modelMetrics.getSolutionsFound() + " solutions as duplicates.");
 
+        } else if (generationResult.status == GenerationResult.Status.TIMEOUT) {
+            System.out.println("No solution found within the time limits (wall-clock " + inputs.getTimeLimit() + "s, deterministic " + inputs.getDeterministicTimeLimit() + ").");
+            System.out.println(generationResult.solverStats);
         } else {
             System.out.println("No solution found.");
-            System.out.println(solver.responseStats());
-            modelTaskMap.forEach((taskID, modeltask) -> {
-                System.out.print("TaskID: " + taskID + " - ");
-                System.out.println("Start: " + modeltask.getStart().getIndex() + " End: " + modeltask.getEnd().getIndex() + " WCET: " + modeltask.getWcet().getIndex() + " resource: " + modeltask.getResource().getIndex() + " interval: " + modeltask.getInterval().getIndex());
-                System.out.println(taskList.get(taskID));
-            });
-            if (inputs instanceof TGFFInputParameters) {
-                System.out.println("\nTGFF Generation method was used. Infeasibility is most likely due to an insufficient number of resources.\nIncrease the number of resources, or change other TGFF parameters.\n\n");
-                System.out.println("The current number of resources is " + numResou + ". Should we restart the Model with numberOfResources=" + (numResou + 1) + "?\n0=NO, 1=YES");
-                int restart;
-                try {
-                    restart = System.in.read();
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
+            System.out.println(generationResult.solverStats);
+            if (DEBUG) {
+                modelTaskMap.forEach((taskID, modeltask) -> {
+                    System.out.print("TaskID: " + taskID + " - ");
+                    System.out.println("Start: " + modeltask.getStartVar().getIndex() + " End: " + modeltask.getEndVar().getIndex() + " WCET: " + modeltask.getWcet().getIndex() + " resource: " + (modeltask.getResource() != null ? modeltask.getResource().getIndex() : "-") + " interval: " + (modeltask.getInterval() != null ? modeltask.getInterval().getIndex() : "-"));
+                    System.out.println(taskList.get(taskID));
+                });
+            }
+            if (generationResult.status == GenerationResult.Status.INFEASIBLE && infeasibilityMemo != null) {
+                // name the conflicting input parameters and remember the configuration
+                stageStart = System.nanoTime();
+                ArrayList<InfeasibilityExplanation.ConstraintGroup> core = InfeasibilityExplanation.explain(taskList, limit, numResou, inputs, getUtils());
+                modelMetrics.recordStage("explainInfeasibility", stageStart);
+                if (core == null) {
+                    System.out.println("WARNING: The infeasibility could not be explained by the input parameters.");
+                    warnings.add("WARNING: The infeasibility could not be explained by the input parameters.");
+                } else {
+                    System.out.println("Conflicting constraints: " + describeInfeasibilityCore(core));
+                    generationResult.infeasibilityCore = core;
+                    infeasibilityMemo.put(fingerprint, core);
                 }
-                if (restart == 1) {
+            }
+            if (inputs instanceof TGFFInputParameters && generationResult.status == GenerationResult.Status.INFEASIBLE && neighbourhood == null) {
+                System.out.println("\nTGFF Generation method was used. Infeasibility is most likely due to an insufficient number of resources.\nIncrease the number of resources, or change other TGFF parameters.\n\n");
+                if (resourceEscalationPolicy.retryWithAdditionalResource(numResou)) {
                     // restart the method with a larger number of resources
                     return generateModelAndSolve(limit, taskList, numResou + 1, inputs);
                 }
@@ -635,6 +1011,198 @@ public class TaskGenerationFramework {
 
         }
 
+        System.out.println("Model metrics: " + modelMetrics.toJson());
+        printWarnings();
+        return generationResult;
+    }
+
+    /**
+     * Generates the additional solutions of a diverse pool, see "mindistance".
+     * The CP Model is solved once per solution, every solve must keep the minimum distance to all previous solutions.
+     * The pool stops early if the solver proves that no further solution keeps the distance or a time limit runs out.
+     * The time limits hold for the task set, every solve only gets the time that the first solve and the previous solves of the pool left.
+     *
+     * @param limit              the scheduling limit.
+     * @param taskList           the complete list of tasks.
+     * @param numResou           the total number of resources.
+     * @param inputs             the InputParameters object.
+     * @param cspModel           the solved CP Model, the distance constraints are added to it.
+     * @param modelTaskMap       maps the task ids to the Model Tasks.
+     * @param dynamicConstraints the dynamic constraints object.
+     * @param generationResult   the Generation Result object, it holds the first solution.
+     * @return the additional solutions.
+     */
+    private ArrayList<ProcessedSolution> solveDiverseSolutions(int limit, ArrayList<Task> taskList, int numResou, InputParameters inputs, CpModel cspModel, Map<Integer, ModelTask> modelTaskMap, DynamicConstraints dynamicConstraints, GenerationResult generationResult) {
+        ArrayList<ProcessedSolution> solutions = new ArrayList<>();
+        // the hints lead the search back to the first solution
+        cspModel.clearHints();
+        int[] previousSolution = generationResult.solution;
+        double remainingTime = inputs.getTimeLimit() - generationResult.wallTime;
+        double remainingDeterministicTime = inputs.getDeterministicTimeLimit() - generationResult.deterministicTime;
+        for (int solutionNum = 1; solutionNum < inputs.getSolutionCount(); solutionNum++) {
+            // a limit of 0 or less is not set, so a used up budget must stop the pool here
+            if ((inputs.getTimeLimit() > 0 && remainingTime <= 0) || (inputs.getDeterministicTimeLimit() > 0 && remainingDeterministicTime <= 0)) {
+                System.out.println("WARNING: Found " + solutionNum + " of " + inputs.getSolutionCount() + " solutions with a " + inputs.getDistanceMetric() + " distance of at least " + inputs.getMinSolutionDistance() + ". The time limits of the task set ran out.");
+                warnings.add("WARNING: Found " + solutionNum + " of " + inputs.getSolutionCount() + " solutions with a " + inputs.getDistanceMetric() + " distance of at least " + inputs.getMinSolutionDistance() + ". The time limits of the task set ran out.");
+                break;
+            }
+            CSPModelFunctions.addSolutionDistanceConstraint(cspModel, modelTaskMap, taskList, previousSolution, inputs.getMinSolutionDistance(), inputs.getDistanceMetric(), limit, numResou);
+
+            CpSolver solver = new CpSolver();
+            CpSolverStatus status;
+            try (SolverCoreBudget.Lease coreLease = SolverCoreBudget.acquire(inputs.getNumberOfWorkerThreads(), SolverCoreBudget.modelSize(cspModel))) {
+                CSPModelFunctions.setSolverParameters(solver, inputs.getSolverProfile(), inputs.getNumberOfWorkerThreads(), coreLease.workers(), 1, getUtils());
+                CSPModelFunctions.setSolverTimeLimits(solver, inputs.getTimeLimit() > 0 ? remainingTime : 0, inputs.getDeterministicTimeLimit() > 0 ? remainingDeterministicTime : 0);
+                // the callback stops the search at the first solution
+                status = solver.solve(cspModel, getVarArraySolutionPrinter(modelTaskMap, 1));
+            }
+            remainingTime -= solver.wallTime();
+            remainingDeterministicTime -= solver.response().getDeterministicTime();
+            if (status != CpSolverStatus.OPTIMAL && status != CpSolverStatus.FEASIBLE) {
+                System.out.println("WARNING: Found " + solutionNum + " of " + inputs.getSolutionCount() + " solutions with a " + inputs.getDistanceMetric() + " distance of at least " + inputs.getMinSolutionDistance() + ". Solver status of the next solution: " + status + ".");
+                warnings.add("WARNING: Found " + solutionNum + " of " + inputs.getSolutionCount() + " solutions with a " + inputs.getDistanceMetric() + " distance of at least " + inputs.getMinSolutionDistance() + ". Solver status of the next solution: " + status + ".");
+                break;
+            }
+
+            previousSolution = ScheduledTask.copySolutionValues(modelTaskMap, solver::value);
+            generationResult.modelMetrics.recordSolution(false);
+            System.out.println("\nSolution #" + solutionNum);
+            solutions.add(extractAdditionalSolutionsFromSolver(limit, taskList, numResou, inputs, previousSolution, modelTaskMap, inputs.getMin_residency_constraints(), inputs.getMax_residency_constraints(), status, null, dynamicConstraints, generationResult, solutionNum, warnings, getUtils()));
+        }
+        return solutions;
+    }
+
+    /**
+     * Checks the necessary feasibility conditions of the task list, see "FeasibilityPreChecks".
+     *
+     * @param limit        the scheduling limit.
+     * @param taskList     the complete list of tasks.
+     * @param numResou     the total number of resources.
+     * @param inputs       the InputParameters object.
+     * @param modelMetrics the model metrics of the generation.
+     * @return a Generation Result with the status INFEASIBLE if a condition is violated, null if all conditions hold or the checks are disabled.
+     */
+    private GenerationResult runFeasibilityPreChecks(int limit, ArrayList<Task> taskList, int numResou, InputParameters inputs, ModelMetrics modelMetrics) {
+        if (!inputs.isFeasibilityPreChecks()) return null;
+        long stageStart = System.nanoTime();
+        ArrayList<String> violations = FeasibilityPreChecks.check(taskList, limit, numResou, inputs);
+        modelMetrics.recordStage("preChecks", stageStart);
+        modelMetrics.setPreCheckViolations(violations.size());
+        if (violations.isEmpty()) return null;
+
+        System.out.println("WARNING: The task list is infeasible, it violates " + violations.size() + " necessary conditions. The schedule is not generated.\n" + String.join("\n", violations));
+        warnings.add("WARNING: The task list is infeasible, it violates " + violations.size() + " necessary conditions. The schedule is not generated.\n" + String.join("\n", violations));
+        GenerationResult generationResult = new GenerationResult();
+        generationResult.status = GenerationResult.Status.INFEASIBLE;
+        generationResult.preCheckViolations = violations;
+        generationResult.modelMetrics = modelMetrics;
+        System.out.println("Model metrics: " + modelMetrics.toJson());
+        printWarnings();
+        return generationResult;
+    }
+
+    /**
+     * Generates the schedule of the task list with the engine of the input parameters, see "generateModelAndSolve" and "generateHeuristicSchedule".
+     *
+     * @param limit    the scheduling limit.
+     * @param taskList the complete list of tasks, including the task instances for the scheduling limit.
+     * @param numResou the total number of resources.
+     * @param inputs   the InputParameters object.
+     * @return the Generation Result object.
+     */
+    private GenerationResult generateSchedule(int limit, ArrayList<Task> taskList, int numResou, InputParameters inputs) {
+        if (inputs.getEngine() == InputParameters.Engine.HEURISTIC) {
+            return generateHeuristicSchedule(limit, taskList, numResou, inputs);
+        }
+        return generateModelAndSolve(limit, taskList, numResou, inputs);
+    }
+
+    /**
+     * Generates the schedule of the task list with the heuristic engine instead of the CP-Solver, see "HeuristicEngine".
+     * The schedule is post-processed and formatted like a solution of the CP-Solver, additional solutions are constructed by further runs of the engine.
+     * OR-tools is not used, a task set for which the engine finds no schedule has the status TIMEOUT, since the engine can not prove infeasibility.
+     *
+     * @param limit    the scheduling limit.
+     * @param taskList the complete list of tasks, including the task instances for the scheduling limit.
+     * @param numResou the total number of resources.
+     * @param inputs   the InputParameters object.
+     * @return the Generation Result object.
+     */
+    private GenerationResult generateHeuristicSchedule(int limit, ArrayList<Task> taskList, int numResou, InputParameters inputs) {
+        getUtils().DebugPrint("Start Method: generateHeuristicSchedule");
+
+        ModelMetrics modelMetrics = new ModelMetrics();
+        modelMetrics.setEngine(InputParameters.Engine.HEURISTIC.toString());
+        modelMetrics.setNumberOfTasks(taskList.size());
+        modelMetrics.setNumberOfPeriodicInstances((int) taskList.stream().filter(task -> task instanceof TaskInstance).count());
+        modelMetrics.setNumberOfResources(numResou);
+        modelMetrics.setSchedulingLimit(limit);
+
+        GenerationResult rejection = runFeasibilityPreChecks(limit, taskList, numResou, inputs, modelMetrics);
+        if (rejection != null) return rejection;
+
+        System.out.println("\nRun heuristic engine\n");
+        long stageStart = System.nanoTime();
+        HeuristicEngine.Result result = HeuristicEngine.solve(taskList, limit, numResou, inputs, getUtils());
+        modelMetrics.recordStage("heuristic", stageStart);
+        modelMetrics.setHeuristicIterations(result.iterations());
+
+        GenerationResult generationResult = new GenerationResult();
+        generationResult.modelMetrics = modelMetrics;
+        generationResult.solverStats = "heuristic engine: " + result.iterations() + " passes, " + (result.schedule() != null ? "schedule found" : "no schedule found");
+        if (result.schedule() == null) {
+            generationResult.status = GenerationResult.Status.TIMEOUT;
+            System.out.println("No schedule found by the heuristic engine after " + result.iterations() + " passes.");
+        } else {
+            generationResult.status = GenerationResult.Status.SUCCESS;
+            generationResult.modelTaskList = taskList;
+            generationResult.solution = result.schedule();
+            modelMetrics.recordSolution(false);
+            ProcessedSolution solution = processSolution(limit, taskList, numResou, inputs, result.schedule(), null, inputs.getMin_residency_constraints(), inputs.getMax_residency_constraints(), null, null, null, generationResult, 0, warnings, getUtils());
+            generationResult.storeValues(solution.scheduledTasks());
+            generationResult.taskSet = solution.taskSet();
+            generationResult.formattedTaskSets.add(solution.formattedTaskSet());
+            generationResult.dotFiles.add(solution.dotFile());
+
+            // additional solutions are constructed by further runs with other random WCETs and orders
+            stageStart = System.nanoTime();
+            Set<SolutionFingerprint> fingerprints = new HashSet<>();
+            fingerprints.add(SolutionFingerprint.of(taskList, result.schedule(), inputs.PhasedReleaseTimes()));
+            for (int solutionNum = 1; solutionNum < inputs.getSolutionCount(); solutionNum++) {
+                int[] additionalSchedule = HeuristicEngine.solve(taskList, limit, numResou, inputs, getUtils()).schedule();
+                if (additionalSchedule == null) continue;
+                boolean duplicate = !fingerprints.add(SolutionFingerprint.of(taskList, additionalSchedule, inputs.PhasedReleaseTimes()));
+                modelMetrics.recordSolution(duplicate);
+                if (duplicate) continue;
+                System.out.println("\nSolution #" + solutionNum);
+                ProcessedSolution additionalSolution = processSolution(limit, taskList, numResou, inputs, additionalSchedule, null, inputs.getMin_residency_constraints(), inputs.getMax_residency_constraints(), null, null, null, generationResult, solutionNum, warnings, getUtils());
+                generationResult.formattedTaskSets.add(additionalSolution.formattedTaskSet());
+                generationResult.dotFiles.add(additionalSolution.dotFile());
+            }
+            modelMetrics.recordStage("additionalSolutions", stageStart);
+            System.out.println("Dropped " + modelMetrics.getDuplicateSolutions() + " of " + modelMetrics.getSolutionsFound() + " solutions as duplicates.");
+        }
+
+        System.out.println("Model metrics: " + modelMetrics.toJson());
+        printWarnings();
+        return generationResult;
+    }
+
+    /**
+     * Describes the constraint groups of an infeasibility explanation, see "InfeasibilityExplanation".
+     *
+     * @param core the conflicting constraint groups.
+     * @return the descriptions of the groups.
+     */
+    private static String describeInfeasibilityCore(ArrayList<InfeasibilityExplanation.ConstraintGroup> core) {
+        if (core.isEmpty()) return "the tasks do not fit onto the resources within their periods";
+        return String.join(", ", core.stream().map(InfeasibilityExplanation.ConstraintGroup::getDescription).toList());
+    }
+
+    /**
+     * Prints all warnings produced during generation.
+     */
+    private void printWarnings() {
         if (!this.warnings.isEmpty()) {
             System.out.println("--------------------------------------------------\nAll warnings produced during generation:");
             for (String warning : this.warnings) {
@@ -644,27 +1212,105 @@ public class TaskGenerationFramework {
         } else {
             System.out.println("----- No warnings were generated -----");
         }
-        return generationResult;
     }
 
     /**
-     * Extracts solutions from the solver, executes posthoc functions and formats the task sets.
+     * Post-processes a solution that was streamed out of the solver callback, see "SolutionStreamer".
+     * Runs in the solution consumer pool while the search continues. Warnings are collected per solution and added to the warnings of the framework afterwards.
+     * The solution draws its random numbers from its own streams, see "Utils.forSolution", so a fixed seed reproduces it regardless of the order of the consumer threads.
      *
      * @param limit                     the scheduling limit.
      * @param taskList                  the list of tasks.
      * @param numResou                  the number of resources.
      * @param inputs                    the Input parameters object.
-     * @param cpSolverSolution          the CP Solver solution object.
+     * @param solutionValues            the solution buffer, see "ScheduledTask.copySolutionValues".
+     * @param modelTaskMap              maps the task ids to the corresponding model tasks.
+     * @param min_residency_constraints the minimum residency constraints.
+     * @param max_residency_constraints the maximum residency constraints.
+     * @param dynamicConstraints        the dynamic constraints object.
+     * @param generationResult          the Generation result object.
+     * @param solutionNum               the current solution number.
+     * @return the processed solution.
+     */
+    private ProcessedSolution processStreamedSolution(int limit, ArrayList<Task> taskList, int numResou, InputParameters inputs, int[] solutionValues, Map<Integer, ModelTask> modelTaskMap, int min_residency_constraints, int max_residency_constraints, DynamicConstraints dynamicConstraints, GenerationResult generationResult, int solutionNum) {
+        ArrayList<String> solutionWarnings = new ArrayList<>();
+        System.out.println("\nSolution #" + solutionNum);
+        ProcessedSolution solution = extractAdditionalSolutionsFromSolver(limit, taskList, numResou, inputs, solutionValues, modelTaskMap, min_residency_constraints, max_residency_constraints, null, null, dynamicConstraints, generationResult, solutionNum, solutionWarnings, getUtils().forSolution(solutionNum));
+        synchronized (warnings) {
+            warnings.addAll(solutionWarnings);
+        }
+        return solution;
+    }
+
+    /**
+     * Executes posthoc functions for an additional solution and formats the task set.
+     *
+     * @param limit                     the scheduling limit.
+     * @param taskList                  the list of tasks.
+     * @param numResou                  the number of resources.
+     * @param inputs                    the Input parameters object.
+     * @param solutionValues            the solution buffer, see "ScheduledTask.copySolutionValues".
      * @param modelTaskMap              maps the task ids to the corresponding model tasks.
      * @param min_residency_constraints the minimum residency constraints.
      * @param max_residency_constraints the maximum residency constraints.
      * @param status                    the solver-status object for the solver.
-     * @param solver                    the solver object.
+     * @param solver                    the solver object. Null if the solution is processed while the search is running, the schedule is then neither printed nor stored in the generation result.
      * @param dynamicConstraints        the dynamic constraints object.
      * @param generationResult          the Generation result object.
      * @param solutionNum               the current solution number.
+     * @param warnings                  the list the warnings of this solution are added to.
+     * @param utils                     the Utils object whose streams the post-processing draws from.
+     * @return the processed solution, the caller adds its formatted task set and dot file to the generation result.
      */
-    private void extractAdditionalSolutionsFromSolver(int limit, ArrayList<Task> taskList, int numResou, InputParameters inputs, CpSolverSolution cpSolverSolution, Map<Integer, ModelTask> modelTaskMap, int min_residency_constraints, int max_residency_constraints, CpSolverStatus status, CpSolver solver, DynamicConstraints dynamicConstraints, GenerationResult generationResult, int solutionNum) {
+    private ProcessedSolution extractAdditionalSolutionsFromSolver(int limit, ArrayList<Task> taskList, int numResou, InputParameters inputs, int[] solutionValues, Map<Integer, ModelTask> modelTaskMap, int min_residency_constraints, int max_residency_constraints, CpSolverStatus status, CpSolver solver, DynamicConstraints dynamicConstraints, GenerationResult generationResult, int solutionNum, ArrayList<String> warnings, Utils utils) {
+        return processSolution(limit, taskList, numResou, inputs, solutionValues, modelTaskMap, min_residency_constraints, max_residency_constraints, status, solver, dynamicConstraints, generationResult, solutionNum, warnings, utils);
+    }
+
+    /**
+     * A post-processed solution.
+     *
+     * @param taskSet          the task set.
+     * @param formattedTaskSet the formatted task set.
+     * @param dotFile          the dot file of the task set.
+     * @param scheduledTasks   the scheduled tasks of the solution.
+     */
+    private record ProcessedSolution(TaskSet taskSet, String formattedTaskSet, String dotFile, ArrayList<ScheduledTask> scheduledTasks) {
+    }
+
+    /**
+     * Saves a formatted task set and its dot file to the output directory, see "TaskSet.saveToFile".
+     *
+     * @param taskSet          the task set.
+     * @param formattedTaskSet the formatted task set.
+     * @param dotFile          the dot file of the task set.
+     * @throws GenerationException if a file could not be saved.
+     */
+    static void saveTaskSet(TaskSet taskSet, String formattedTaskSet, String dotFile) {
+        try {
+            boolean success = taskSet.saveToFile(formattedTaskSet, "taskSet", ".json");
+            if (success) {
+                System.out.println("Successfully saved task set to file.");
+            } else {
+                System.out.println("Failed to save task set to file.");
+            }
+            success = taskSet.saveToFile(dotFile, "taskSet", ".dot");
+            if (success) {
+                System.out.println("Successfully saved .dot file.");
+            } else {
+                System.out.println("Failed to save .dot file.");
+            }
+        } catch (IOException e) {
+            throw new GenerationException(GenerationException.Reason.IO, "Failed to save the task set: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Executes posthoc functions for a solution buffer and formats the task set, see "extractAdditionalSolutionsFromSolver".
+     * The random numbers of the post-hoc constraints and the formatting are drawn from the streams of "utils".
+     *
+     * @return the task set, the formatted task set, its dot file and the scheduled tasks.
+     */
+    private ProcessedSolution processSolution(int limit, ArrayList<Task> taskList, int numResou, InputParameters inputs, int[] solutionValues, Map<Integer, ModelTask> modelTaskMap, int min_residency_constraints, int max_residency_constraints, CpSolverStatus status, CpSolver solver, DynamicConstraints dynamicConstraints, GenerationResult generationResult, int solutionNum, ArrayList<String> warnings, Utils utils) {
 
         // make deep-copy of the taskList
         System.out.println(taskList);
@@ -677,29 +1323,19 @@ public class TaskGenerationFramework {
             }
         });
 
-        // build scheduled tasks from the solver result
+        // build scheduled tasks from the solution
         ArrayList<ScheduledTask> scheduledTasks = new ArrayList<>();
-        for (int id = 0; id < modelTaskMap.size(); id++) {
-            ScheduledTask scheduledTask = new ScheduledTask(
-                    id,
-                    (int) cpSolverSolution.getValues(modelTaskMap.get(id).getStart().getIndex()),
-                    (int) cpSolverSolution.getValues(modelTaskMap.get(id).getEnd().getIndex()),
-                    (int) cpSolverSolution.getValues(modelTaskMap.get(id).getWcet().getIndex()),
-                    (int) cpSolverSolution.getValues(modelTaskMap.get(id).getResource().getIndex()),
-                    copyOfTaskList.get(id).getPredecessors().stream().mapToInt(i -> i).toArray(),
-                    copyOfTaskList.get(id).getPeriod());
-            scheduledTasks.add(scheduledTask);
-        }
+        ScheduledTask.buildScheduledTaskList(copyOfTaskList, solutionValues, scheduledTasks);
 
         if (inputs.PostHocPrecedence()) {
             // add precedence constraints on top of the solved Schedule
-            BasicPrecedenceConstraints.addPostHocPrecedenceConstraints(copyOfTaskList, scheduledTasks, inputs.PhasedReleaseTimes(), inputs, warnings, Utils, solutionNum);
+            BasicPrecedenceConstraints.addPostHocPrecedenceConstraints(copyOfTaskList, scheduledTasks, inputs.PhasedReleaseTimes(), inputs, warnings, utils, solutionNum);
         }
 
         int formattedTaskSetNumberOfResources = numResou;       // the number of resources in the formatted task set, this number is adjusted by postHoc residency constraint resource renaming
         if (inputs.PostHocResidency()) {
             // add residency constraints to tasks depending on the solver output
-            formattedTaskSetNumberOfResources = ResidencyConstraints.addPostHocResidencyConstraints(copyOfTaskList, numResou, scheduledTasks, inputs.MultiResidency(), min_residency_constraints, max_residency_constraints, inputs, warnings, Utils, solutionNum);
+            formattedTaskSetNumberOfResources = ResidencyConstraints.addPostHocResidencyConstraints(copyOfTaskList, numResou, scheduledTasks, inputs.MultiResidency(), min_residency_constraints, max_residency_constraints, inputs, warnings, utils, solutionNum);
         }
 
 
@@ -714,43 +1350,28 @@ public class TaskGenerationFramework {
         });
 
         // Print solution
-        if (Utils.debug)
-            Utils.PrintSchedule(limit, status, copyOfTaskList, solver, modelTaskMap, dynamicConstraints, numResou);
-        generationResult.storeValues(solver, dynamicConstraints, modelTaskMap);
+        if (solver != null) {
+            if (utils.debug)
+                utils.PrintSchedule(limit, status, copyOfTaskList, solver, modelTaskMap, dynamicConstraints, numResou);
+            generationResult.storeValues(solver, dynamicConstraints, modelTaskMap, scheduledTasks);
+        }
 
         // Format and Print TaskSet
-        TaskSet taskSet = new TaskSet(copyOfTaskList, formattedTaskSetNumberOfResources, modelTaskMap, solver);
+        TaskSet taskSet = new TaskSet(copyOfTaskList, formattedTaskSetNumberOfResources, modelTaskMap, solver, scheduledTasks);
         String formattedTaskSet;
         String dotFile;
         // Format Task Set
         try {
-            formattedTaskSet = taskSet.toFormat("task_set", inputs.PhasedReleaseTimes(), inputs, limit, getUtils(), warnings);
+            formattedTaskSet = taskSet.toFormat("task_set", inputs.PhasedReleaseTimes(), inputs, limit, utils, warnings);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
         // Print Task Set and Save to File
-        try {
-            System.out.println(formattedTaskSet);
-            dotFile = taskSet.generateDot(copyOfTaskList);
-            System.out.println(dotFile);
-            // Save file
-            if (inputs.isSaveOutput()) {
-                boolean success = taskSet.saveToFile(formattedTaskSet, "taskSet", ".json");
-                if (success) {
-                    System.out.println("Successfully saved task set to file.");
-                } else {
-                    System.out.println("Failed to save task set to file.");
-                }
-                success = taskSet.saveToFile(dotFile, "taskSet", ".dot");
-                if (success) {
-                    System.out.println("Successfully saved .dot file.");
-                } else {
-                    System.out.println("Failed to save .dot file.");
-                }
-            }
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        System.out.println(formattedTaskSet);
+        dotFile = taskSet.generateDot(copyOfTaskList);
+        System.out.println(dotFile);
+        if (inputs.isSaveOutput() && !deferSaving) saveTaskSet(taskSet, formattedTaskSet, dotFile);
+        return new ProcessedSolution(taskSet, formattedTaskSet, dotFile, scheduledTasks);
     }
 
     /**
@@ -759,8 +1380,33 @@ public class TaskGenerationFramework {
      * @param inputs   the InputParameters object.
      * @param harmonic boolean that controls the generation of harmonic periods.
      * @return the Generation Result object.
+     * @throws GenerationException if the input parameters are inconsistent, no task list was generated or the task set could not be saved.
      */
     public GenerationResult GenerateBasicTaskSet(InputParameters inputs, boolean harmonic) {
+        PreparedTaskList prepared = prepareBasicTaskList(inputs, harmonic);
+        return solveWithLimitEscalation(prepared.limit(), prepared.taskList(), prepared.numResources(), inputs, harmonic);
+    }
+
+    /**
+     * The complete task list of a task set and its scheduling limit, before the CSP Model is built.
+     *
+     * @param limit        the Scheduling Limit.
+     * @param taskList     the complete list of tasks, including the task instances for the scheduling limit.
+     * @param numResources the total number of resources.
+     */
+    record PreparedTaskList(int limit, ArrayList<Task> taskList, int numResources) {
+    }
+
+    /**
+     * Generates the complete task list of a task set according to our Basic Generation Approach, see "GenerateBasicTaskSet".
+     * This covers everything before the CSP Model is built: the numbers of tasks, resources and constraints, the task list with its precedence relations, periods and phases, the scheduling limit and the task instances.
+     *
+     * @param inputs   the InputParameters object.
+     * @param harmonic boolean that controls the generation of harmonic periods.
+     * @return the task list, its scheduling limit and the number of resources.
+     * @throws GenerationException if the input parameters are inconsistent or no task list was generated.
+     */
+    PreparedTaskList prepareBasicTaskList(InputParameters inputs, boolean harmonic) {
 
         // Get specific numbers from min/max boundaries
         int numTasks = RandomNumberGeneration.getNumWithDistribution(inputs.getMin_number_of_tasks(), inputs.getMax_number_of_tasks(), inputs.getNumberOfTasks_distribution(), getUtils(), inputs.getNOTasksPoissonMean(), inputs.getNOTasksBinomialP(), inputs.getNOTasksBinomialN(), warnings);
@@ -805,7 +1451,7 @@ public class TaskGenerationFramework {
                 } else {
                     System.out.println("ERROR: Failed to choose appropriate values from user input. Make suer the number of residency constraints does not exceed the number of tasks.");
                     warnings.add("ERROR: Failed to choose appropriate values from user input. Make suer the number of residency constraints does not exceed the number of tasks.");
-                    System.exit(-1);
+                    throw new GenerationException(GenerationException.Reason.INVALID_INPUT, "The number of residency constraints exceeds the number of tasks: numResid: " + numResid + " numTasks: " + numTasks);
                 }
             }
         }
@@ -817,7 +1463,7 @@ public class TaskGenerationFramework {
         ArrayList<Task> taskList = generateModelReadyTasks(numTasks, numResid, numResou, numPrec, inputs, harmonic, inputs.MultiResidency(), inputs.PostHocPrecedence(), inputs.PhasedReleaseTimes(), inputs.PostHocResidency());
 
         // Calculate the appropriate Scheduling Limit considering periodicity, period length and phases
-        int limit = PhasesAndSchedulingLimit.getPeriodicAperiodicSchedulingLimit(inputs, taskList, inputs.PhasedReleaseTimes());
+        int limit = PhasesAndSchedulingLimit.getPeriodicAperiodicSchedulingLimit(inputs, taskList, inputs.PhasedReleaseTimes(), getUtils());
 
         // Generate remaining Task instances for periodic tasks
         ArrayList<Task> additionalTasks = generateModelReadyPeriodicTaskInstances(taskList, limit, harmonic);
@@ -825,7 +1471,8 @@ public class TaskGenerationFramework {
 
         System.out.println("\n\nComplete TaskList before solving the CP:\n");
         taskList.forEach(task -> System.out.println("    " + task.toString()));
-        if (taskList.size() > numResou * limit)
+        // the feasibility pre-checks include this condition, and a rejected mixed periodic task list can still be repaired by escalating the scheduling limit
+        if (!inputs.isFeasibilityPreChecks() && taskList.size() > numResou * limit)
             throw new RuntimeException("ERROR: Task List is not schedulable with minimum WCET, since the number of tasks is larger than the scheduling limit times the number of resources");
 
         for (Task task : taskList) {
@@ -836,7 +1483,153 @@ public class TaskGenerationFramework {
                 throw new RuntimeException("ERROR: generated TaskList contains a cycle and cannot be scheduled");
         }
 
-        return generateModelAndSolve(limit, taskList, numResou, inputs);
+        return new PreparedTaskList(limit, taskList, numResou);
+    }
+
+    /**
+     * Generates and solves the CSP Model, see "generateModelAndSolve".
+     * If a mixed periodic task set is infeasible with a calculated scheduling limit, the limit is escalated up to "maxlimitescalations" times.
+     * This includes task sets that the feasibility pre-checks rejected before the CSP Model was built.
+     * The tasks, periods, phases and precedence relations are kept, only the task instances and the CSP Model are generated again for the larger limit.
+     *
+     * @param limit    the Scheduling Limit.
+     * @param taskList the complete list of tasks, including the task instances for the scheduling limit.
+     * @param numResou the total number of resources.
+     * @param inputs   the InputParameters object.
+     * @param harmonic whether the periods of precedence-related tasks are harmonic.
+     * @return the Generation Result object, its model metrics hold the number of escalations.
+     */
+    GenerationResult solveWithLimitEscalation(int limit, ArrayList<Task> taskList, int numResou, InputParameters inputs, boolean harmonic) {
+        GenerationResult generationResult = generateSchedule(limit, taskList, numResou, inputs);
+
+        // the scheduling limit of a mixed periodic task set is a guess and might be too small
+        boolean calculatedLimit = inputs.PhasedReleaseTimes() || inputs.getSchedulingLimit() < 0;
+        int escalations = 0;
+        while (generationResult.status == GenerationResult.Status.INFEASIBLE && calculatedLimit && escalations < inputs.getMaxLimitEscalations() && PhasesAndSchedulingLimit.isMixedPeriodic(taskList)) {
+            escalations++;
+            int escalatedLimit = PhasesAndSchedulingLimit.escalateSchedulingLimit(limit);
+            System.out.println("\nMixed periodic task set is infeasible with scheduling limit " + limit + ". Retry with scheduling limit " + escalatedLimit + " (escalation " + escalations + " of " + inputs.getMaxLimitEscalations() + ").\n");
+            limit = escalatedLimit;
+
+            taskList.removeIf(task -> task instanceof TaskInstance);
+            ArrayList<Task> escalatedInstances = generateModelReadyPeriodicTaskInstances(taskList, limit, harmonic);
+            if (!escalatedInstances.isEmpty()) taskList.addAll(escalatedInstances);
+
+            generationResult = generateSchedule(limit, taskList, numResou, inputs);
+        }
+        generationResult.modelMetrics.setLimitEscalations(escalations);
+        return generationResult;
+    }
+
+    /**
+     * Generates a batch of task sets according to our Basic Generation Approach in parallel, see "GenerateBasicTaskSet".
+     * Every task set is generated by its own framework with its own Utils, random number generator and warnings.
+     * The seed of a task set is derived from the seed of this framework and the index of the task set, so every task set can be generated again on its own, see "regenerateBatchTaskSet".
+     * The task sets run on a work-stealing pool, the CP Model templates are shared by the task sets of one worker thread, the infeasible configurations by all task sets.
+     * A task set whose generation throws an exception has the status ERROR, the batch continues with the other task sets.
+     *
+     * @param inputs      the InputParameters object, it is shared by all task sets and must not be modified during the batch.
+     * @param harmonic    boolean that controls the generation of harmonic periods.
+     * @param count       the number of task sets.
+     * @param parallelism the number of worker threads of the pool.
+     * @return the Generation Results in the order of the task sets, each holds the warnings and the seed of its generation.
+     */
+    public List<GenerationResult> generateBatch(InputParameters inputs, boolean harmonic, int count, int parallelism) {
+        System.out.println("Seed of the batch: " + getUtils().getSeed());
+
+        // the template caches are not thread-safe, every worker thread keeps its own, the infeasibility memo is shared
+        getInfeasibilityMemo(inputs);
+        Map<Thread, TaskGenerationFramework> workerCaches = new ConcurrentHashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<GenerationResult>> generations = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                long seed = deriveSeed(getUtils().getSeed(), i);
+                generations.add(pool.submit(() -> generateBatchTaskSet(inputs, harmonic, seed, workerCaches.computeIfAbsent(Thread.currentThread(), thread -> newCacheHolder()))));
+            }
+            List<GenerationResult> generationResults = new ArrayList<>();
+            generations.forEach(generation -> generationResults.add(generation.join()));
+            return generationResults;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Generates the task set with the given index of a batch of this framework again, without generating the other task sets, see "generateBatch".
+     *
+     * @param inputs   the InputParameters object of the batch.
+     * @param harmonic boolean that controls the generation of harmonic periods.
+     * @param index    the index of the task set in the batch.
+     * @return the Generation Result object with the warnings and the seed of the generation.
+     */
+    public GenerationResult regenerateBatchTaskSet(InputParameters inputs, boolean harmonic, int index) {
+        return generateBatchTaskSet(inputs, harmonic, deriveSeed(getUtils().getSeed(), index), newCacheHolder());
+    }
+
+    /**
+     * Returns a framework that only holds the caches of a worker thread of a batch.
+     * The infeasibility memo of this framework is shared by all worker threads.
+     */
+    TaskGenerationFramework newCacheHolder() {
+        TaskGenerationFramework cacheHolder = new TaskGenerationFramework(DEBUG, 0L, new ArrayList<>());
+        cacheHolder.infeasibilityMemo = infeasibilityMemo;
+        return cacheHolder;
+    }
+
+    /**
+     * Generates one task set of a batch, see "generateBatch".
+     *
+     * @param inputs       the InputParameters object.
+     * @param harmonic     boolean that controls the generation of harmonic periods.
+     * @param seed         the seed of the random number generator of the task set.
+     * @param workerCaches the framework that holds the caches of the current worker thread.
+     * @return the Generation Result object with the warnings of the generation.
+     */
+    private GenerationResult generateBatchTaskSet(InputParameters inputs, boolean harmonic, long seed, TaskGenerationFramework workerCaches) {
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, seed, new ArrayList<>());
+        // a garbage collection stops all worker threads
+        tgf.collectGarbage = false;
+        tgf.modelTemplateCache = workerCaches.modelTemplateCache;
+        tgf.infeasibilityMemo = workerCaches.infeasibilityMemo;
+        GenerationResult generationResult;
+        try {
+            generationResult = tgf.GenerateBasicTaskSet(inputs, harmonic);
+        } catch (RuntimeException e) {
+            // the generation result reports the failure, so that the batch can continue with the next task set
+            System.out.println("WARNING: The generation of the task set failed: " + e);
+            tgf.warnings.add("WARNING: The generation of the task set failed: " + e);
+            generationResult = new GenerationResult();
+            generationResult.status = GenerationResult.Status.ERROR;
+        }
+        workerCaches.modelTemplateCache = tgf.modelTemplateCache;
+        workerCaches.infeasibilityMemo = tgf.infeasibilityMemo;
+        generationResult.warnings = tgf.warnings;
+        generationResult.seed = seed;
+        return generationResult;
+    }
+
+    /**
+     * Derives a new task set from a solved one by large neighbourhood search (LNS), see "Neighbourhood".
+     * The tasks, periods, precedence relations and residency constraints of the solved task list are kept, all tasks outside a random neighbourhood are fixed to their start, wcet and resource.
+     * Only the neighbourhood is solved again, at least one of its tasks changes its start or wcet.
+     * The CP-Solver is used regardless of the engine, the post-processing of the input parameters is applied to the new schedule.
+     *
+     * @param solved the Generation Result of a solved task set, it is not modified.
+     * @param inputs the InputParameters object.
+     * @param kind   the kind of neighbourhood, null selects a random kind.
+     * @return the Generation Result object, its status is INFEASIBLE if the neighbourhood has no other solution.
+     * @throws IllegalArgumentException if the Generation Result does not hold a solved task set.
+     */
+    public GenerationResult mutateTaskSet(GenerationResult solved, InputParameters inputs, Neighbourhood.Kind kind) {
+        if (solved.solution == null || solved.modelTaskList == null) {
+            throw new IllegalArgumentException("Only a solved task set can be mutated, the Generation Result has the status " + solved.status + ".");
+        }
+        int limit = solved.modelMetrics.getSchedulingLimit();
+        int numResou = solved.modelMetrics.getNumberOfResources();
+        Neighbourhood neighbourhood = Neighbourhood.select(kind, solved.modelTaskList, solved.solution, limit, getUtils());
+        System.out.println("\nMutate task set, free neighbourhood " + neighbourhood + "\n");
+        return generateModelAndSolve(limit, solved.modelTaskList, numResou, inputs, neighbourhood);
     }
 
     /**
@@ -871,7 +1664,7 @@ public class TaskGenerationFramework {
         } else {
             System.out.println("TASK SET IS MIXED-PERIODIC");
         }
-        limit = PhasesAndSchedulingLimit.calculateSchedulingLimit(taskSet.getTaskList(), periodic, aperiodic);
+        limit = PhasesAndSchedulingLimit.calculateSchedulingLimit(taskSet.getTaskList(), periodic, aperiodic, getUtils());
 
         getUtils().DebugPrint("Scheduling limit: " + limit);
 
@@ -894,10 +1687,22 @@ public class TaskGenerationFramework {
         if (taskSet.getTaskList().size() > numberOfResources * limit)
             throw new RuntimeException("ERROR: Task List is not schedulable with minimum WCET, since the number of tasks is larger than the scheduling limit times the number of resources");
 
-        return generateModelAndSolve(limit, taskSet.getTaskList(), numberOfResources, inputs);
+        return generateSchedule(limit, taskSet.getTaskList(), numberOfResources, inputs);
     }
 
     public static void main(String[] args) throws Exception {
+        try {
+            run(args);
+        } catch (GenerationException e) {
+            System.out.println("ERROR: " + e.getReason() + ": " + e.getMessage());
+            System.exit(-1);
+        }
+    }
+
+    /**
+     * Runs the command line interface, see "main".
+     */
+    private static void run(String[] args) throws Exception {
 
         if (args.length < 1) {
             System.out.println("Usage: mode(0=Basic,1=TGFF)\nAlternative Usage: path/To/Input/File");
@@ -1010,11 +1815,8 @@ public class TaskGenerationFramework {
                     inputs.setSaveOutput(true);
                     System.out.println("input parameter object:\n" + inputs);
 
-                    try {
-                        tgf.GenerateTaskSetFromTGFF(inputs);
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
+                    tgf.setResourceEscalationPolicy(ResourceEscalationPolicy.PROMPT);
+                    tgf.GenerateTaskSetFromTGFF(inputs);
                 }
 
             } else {
@@ -1025,12 +1827,16 @@ public class TaskGenerationFramework {
                     System.out.println("ERROR: Failed to read input file. Read Function returned null.");
                     System.exit(-1);
                 } else {
+                    // a fixed root seed makes the generation reproducible, the seed in use is printed so that a generation can be replayed
+                    long seed = inputs.getSeed() != null ? inputs.getSeed() : new Random().nextLong();
+                    System.out.println("Seed: " + seed);
                     if (inputs instanceof TGFFInputParameters) {
-                        TaskGenerationFramework tgf = new TaskGenerationFramework(inputs.isDebug(), new Random(), warnings);
+                        TaskGenerationFramework tgf = new TaskGenerationFramework(inputs.isDebug(), seed, warnings);
+                        tgf.setResourceEscalationPolicy(ResourceEscalationPolicy.PROMPT);
                         tgf.GenerateTaskSetFromTGFF((TGFFInputParameters) inputs);
                         System.exit(0);
                     } else {
-                        TaskGenerationFramework tgf = new TaskGenerationFramework(inputs.isDebug(), new Random(), warnings);
+                        TaskGenerationFramework tgf = new TaskGenerationFramework(inputs.isDebug(), seed, warnings);
                         GenerationResult generationResult = tgf.GenerateBasicTaskSet(inputs, false);   // TODO change harmonic value once it is implemented
 
                         // TODO (user): use the generated output
@@ -0,0 +1,77 @@
+package dt.tsg.taskSet;
+
+import dt.tsg.task.Task;
+import dt.tsg.task.TaskInstance;
+
+import java.util.*;
+
+/**
+ * Canonical form of a solver solution, restricted to the values that end up in the formatted task set.
+ * Two solutions with equal fingerprints produce the same task set, up to the naming of the resources.
+ * <p>
+ * For every task that is not a periodic instance, the fingerprint holds the wcet, the release time and deadline relative to the phase,
+ * the period, the phase, the residency constraints, the predecessors and the resource.
+ * Resources are renamed in the order of their first use, so solutions that only permute interchangeable resources are equal.
+ * Periodic instances are left out, their values follow from the values of the original task.
+ */
+public class SolutionFingerprint {
+
+    private final int[] canonicalValues;
+    private final int hash;
+
+    private SolutionFingerprint(int[] canonicalValues) {
+        this.canonicalValues = canonicalValues;
+        this.hash = Arrays.hashCode(canonicalValues);
+    }
+
+    /**
+     * Builds the fingerprint of a solution buffer.
+     *
+     * @param taskList            the list of tasks.
+     * @param solutionValues      the solution buffer, see "ScheduledTask.copySolutionValues".
+     * @param phased_releaseTimes controls the generation of phases.
+     * @return the fingerprint of the solution.
+     */
+    public static SolutionFingerprint of(ArrayList<Task> taskList, int[] solutionValues, boolean phased_releaseTimes) {
+        Map<Integer, Integer> resourceNames = new HashMap<>();     // maps the resource of the solution to its canonical name
+        ArrayList<Integer> values = new ArrayList<>();
+        for (Task task : taskList) {
+            if (task instanceof TaskInstance) continue;
+            int taskID = task.getIdentifier();
+            // release time and deadline are read relative to the phase, see "ScheduledTask.readScheduledTaskValues"
+            int phase = task.isPeriodic() && phased_releaseTimes ? task.getPhase() : 0;
+            values.add(solutionValues[taskID * 4 + 2]);
+            values.add(solutionValues[taskID * 4] - phase);
+            values.add(solutionValues[taskID * 4 + 1] - phase);
+            values.add(task.isPeriodic() ? task.getPeriod() : 0);
+            values.add(phase);
+
+            ArrayList<Integer> residency = new ArrayList<>(task.getResourceConstraint());
+            Collections.sort(residency);
+            values.add(residency.size());
+            values.addAll(residency);
+
+            ArrayList<Integer> predecessors = new ArrayList<>(task.getPredecessors());
+            Collections.sort(predecessors);
+            values.add(predecessors.size());
+            values.addAll(predecessors);
+
+            // resources are -1 if the model did not assign them, they are then derived from the schedule alone
+            int resource = solutionValues[taskID * 4 + 3];
+            values.add(resource == -1 ? -1 : resourceNames.computeIfAbsent(resource, r -> resourceNames.size()));
+        }
+        return new SolutionFingerprint(values.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SolutionFingerprint that)) return false;
+        return hash == that.hash && Arrays.equals(canonicalValues, that.canonicalValues);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -5,8 +5,10 @@ import dt.tsg.InputParams.InputParameters;
 import dt.tsg.cspModel.ModelTask;
 import dt.tsg.task.Task;
 import dt.tsg.task.TaskInstance;
+import dt.tsg.utils.GenerationException;
 import dt.tsg.utils.RandomNumberGeneration;
 import dt.tsg.utils.Utils;
+import dt.tsg.utils.Utils.ScheduledTask;
 
 import java.io.*;
 import java.util.*;
@@ -26,8 +28,14 @@ public class TaskSet {
     private int num_residency_constraints;   //total number of residency constraints in the task set
     private final CpSolver solver;                        //the solver with which the model has been solved
     private final Map<Integer, ModelTask> modelTaskMap;   //the map for the tasks represented in the model
+    private final ArrayList<ScheduledTask> scheduledTasks;  //the scheduled tasks of the solution this task set is built from
 
     public TaskSet(ArrayList<Task> taskList, int num_resources, Map<Integer, ModelTask> modelTaskMap, CpSolver solver) {
+        this(taskList, num_resources, modelTaskMap, solver, null);
+    }
+
+    public TaskSet(ArrayList<Task> taskList, int num_resources, Map<Integer, ModelTask> modelTaskMap, CpSolver solver, ArrayList<ScheduledTask> scheduledTasks) {
+        this.scheduledTasks = scheduledTasks;
         this.taskList = taskList;
         this.num_tasks = 0;
         this.num_resources = num_resources;
@@ -173,7 +181,12 @@ public class TaskSet {
             for (int i = 0; i < this.num_resources; i++) {
                 wcetPerResource.add(i, 0);
                 for (Task task : taskList) {
-                    int resourceID = (int) solver.value(modelTaskMap.get(task.getIdentifier()).getResource());
+                    int resourceID;
+                    if (scheduledTasks != null) {
+                        resourceID = scheduledTasks.get(task.getIdentifier()).resource();
+                    } else {
+                        resourceID = (int) solver.value(modelTaskMap.get(task.getIdentifier()).getResource());
+                    }
                     if (resourceID == i) wcetPerResource.set(i, wcetPerResource.get(i) + task.getWCET());
                 }
             }
@@ -214,7 +227,7 @@ public class TaskSet {
 
         StringBuilder data = new StringBuilder("\t\"data\" : [\n");
 
-        Random random = new Random();
+        Random random = utils.getStream(Utils.Stream.FORMAT);
         // build a String for each task
         for (Task task : taskList) {
 
@@ -378,38 +391,40 @@ public class TaskSet {
      */
     public boolean saveToFile(String content, String name, String suffix) throws IOException {
 
-        File dir = new File("output/");
-        if (!dir.exists()) {
-            boolean dirCreated = dir.mkdirs();
-            if (!dirCreated) {
-                System.out.println("Failed creating directory for output file at \"output/\"");
-                System.exit(-1);
+        // task sets that are saved concurrently must not pick the same file name
+        synchronized (TaskSet.class) {
+            File dir = new File("output/");
+            if (!dir.exists()) {
+                boolean dirCreated = dir.mkdirs();
+                if (!dirCreated) {
+                    System.out.println("Failed creating directory for output file at \"output/\"");
+                    throw new GenerationException(GenerationException.Reason.IO, "Failed creating directory for output file at \"output/\"");
+                }
             }
-        }
 
-        File newFile = new File("output/" + name + suffix);
-        int index = 0;
-        // Check that a file with this name does not already exist
-        while (newFile.exists()) {
-            newFile = new File("output/" + name + index + suffix);
-            index++;
-        }
-
-        // Write to the file and catch exceptions
-        BufferedWriter bufferedWriter = null;
-        boolean success = false;
-        try {
-            bufferedWriter = new BufferedWriter(new FileWriter(newFile));
-            bufferedWriter.write(content);
-        } finally {
-            if (bufferedWriter != null) {
-                bufferedWriter.close();
-                success = true;
+            File newFile = new File("output/" + name + suffix);
+            int index = 0;
+            // Check that a file with this name does not already exist
+            while (newFile.exists()) {
+                newFile = new File("output/" + name + index + suffix);
+                index++;
             }
-        }
 
-        return success;
+            // Write to the file and catch exceptions
+            BufferedWriter bufferedWriter = null;
+            boolean success = false;
+            try {
+                bufferedWriter = new BufferedWriter(new FileWriter(newFile));
+                bufferedWriter.write(content);
+            } finally {
+                if (bufferedWriter != null) {
+                    bufferedWriter.close();
+                    success = true;
+                }
+            }
 
+            return success;
+        }
     }
 
     @Override
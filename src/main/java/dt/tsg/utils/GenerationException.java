@@ -0,0 +1,33 @@
+package dt.tsg.utils;
+
+/**
+ * Signals that a generation cannot continue, instead of terminating the JVM.
+ * The framework can be embedded in other applications, so only "TaskGenerationFramework.main" turns this exception into an exit code.
+ */
+public class GenerationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The cause of the failure.
+     * INVALID_INPUT if the input parameters are inconsistent or could not be read, NO_TASK_LIST if no task list was generated,
+     * IO if an input or output file could not be created, and TGFF if the TGFF executable failed.
+     */
+    public enum Reason {INVALID_INPUT, NO_TASK_LIST, IO, TGFF}
+
+    private final Reason reason;
+
+    public GenerationException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public GenerationException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
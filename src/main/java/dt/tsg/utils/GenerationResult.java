@@ -1,15 +1,29 @@
 package dt.tsg.utils;
 
 import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverStatus;
+import com.google.ortools.sat.SatParameters;
 import dt.tsg.cspModel.DynamicConstraints;
+import dt.tsg.cspModel.InfeasibilityExplanation.ConstraintGroup;
+import dt.tsg.cspModel.ModelMetrics;
 import dt.tsg.cspModel.ModelTask;
+import dt.tsg.task.Task;
 import dt.tsg.taskSet.TaskSet;
+import dt.tsg.utils.Utils.ScheduledTask;
 
 import java.util.ArrayList;
 import java.util.Map;
 
 public class GenerationResult {
 
+    /**
+     * The outcome of a generation.
+     * SUCCESS if a task set was generated, INFEASIBLE if the solver or the feasibility pre-checks proved that the CP Model has no solution,
+     * TIMEOUT if the time limits ran out before a solution was found, STOPPED if the search was stopped without a time limit before a solution was found,
+     * MODEL_INVALID if the solver rejected the CP Model, and ERROR if the solver failed.
+     */
+    public enum Status {SUCCESS, INFEASIBLE, TIMEOUT, STOPPED, MODEL_INVALID, ERROR}
+
     public ArrayList<Integer> startHints = new ArrayList<>();
     public ArrayList<Integer> wcetHints = new ArrayList<>();
     public ArrayList<Integer> endHints = new ArrayList<>();
@@ -22,6 +36,19 @@ public class GenerationResult {
     public ArrayList<Integer> resourceValues = new ArrayList<>();
     public ArrayList<Integer> dynamicValues = new ArrayList<>();
     public TaskSet taskSet = null;
+    public ArrayList<String> formattedTaskSets = new ArrayList<>();    // the formatted task sets of all solutions, ordered by the solution number
+    public ArrayList<String> dotFiles = new ArrayList<>();             // the dot files of all solutions, ordered like the formatted task sets
+    public ModelMetrics modelMetrics = null;
+    public Status status = null;                    // null until the solver returned
+    public String solverStats = "";                 // the response statistics of the solver
+    public ArrayList<String> preCheckViolations = new ArrayList<>();   // the violated feasibility pre-checks, if the task list was rejected before the CP Model was built
+    public ArrayList<ConstraintGroup> infeasibilityCore = null;         // the conflicting constraint groups if the infeasibility was explained, see "InfeasibilityExplanation"
+    public double wallTime = 0;                     // the wall-clock time of the solver in seconds
+    public double deterministicTime = 0;            // the deterministic time of the solver
+    public ArrayList<Task> modelTaskList = null;    // the complete list of tasks the schedule was generated for, before post-processing, see "TaskGenerationFramework.mutateTaskSet"
+    public int[] solution = null;                   // the solution buffer of the first solution, see "ScheduledTask.copySolutionValues"
+    public ArrayList<String> warnings = null;       // the warnings of the generation if it was part of a batch, see "TaskGenerationFramework.generateBatch"
+    public long seed = 0;                           // the seed of the generation if it was part of a batch
 
     public GenerationResult(ArrayList<Integer> startHints, ArrayList<Integer> wcetHints, ArrayList<Integer> endHints, ArrayList<Integer> dynamicHints) {
         this.startHints = startHints;
@@ -41,14 +68,20 @@ public class GenerationResult {
      * @param solver             the solver object.
      * @param dynamicConstraints the dynamic constraints object.
      * @param modelTaskMap       maps the task ids to the corresponding Model Tasks.
+     * @param scheduledTasks     the scheduled tasks, used for the resources of Model Tasks without a resource IntVar.
      */
-    public void storeValues(CpSolver solver, DynamicConstraints dynamicConstraints, Map<Integer, ModelTask> modelTaskMap) {
+    public void storeValues(CpSolver solver, DynamicConstraints dynamicConstraints, Map<Integer, ModelTask> modelTaskMap, ArrayList<ScheduledTask> scheduledTasks) {
 
-        for (ModelTask modelTask : modelTaskMap.values()) {
+        for (Map.Entry<Integer, ModelTask> entry : modelTaskMap.entrySet()) {
+            ModelTask modelTask = entry.getValue();
             this.startValues.add((int) solver.value(modelTask.getStart()));
             this.wcetValues.add((int) solver.value(modelTask.getWcet()));
             this.endValues.add((int) solver.value(modelTask.getEnd()));
-            this.resourceValues.add((int) solver.value(modelTask.getResource()));
+            if (modelTask.getResource() != null) {
+                this.resourceValues.add((int) solver.value(modelTask.getResource()));
+            } else {
+                this.resourceValues.add(scheduledTasks.get(entry.getKey()).resource());
+            }
         }
 
         this.dynamicValues.add((int) solver.value(dynamicConstraints.getCp_releasetime_min()));
@@ -61,5 +94,44 @@ public class GenerationResult {
 
     }
 
+    /**
+     * Saves the values of a schedule that was not generated by the solver, see "HeuristicEngine".
+     *
+     * @param scheduledTasks the scheduled tasks, ordered by the task id.
+     */
+    public void storeValues(ArrayList<ScheduledTask> scheduledTasks) {
+        for (ScheduledTask scheduledTask : scheduledTasks) {
+            this.startValues.add(scheduledTask.start());
+            this.wcetValues.add(scheduledTask.wcet());
+            this.endValues.add(scheduledTask.end());
+            this.resourceValues.add(scheduledTask.resource());
+        }
+    }
 
+    /**
+     * Saves the outcome of the solver and its statistics.
+     *
+     * @param solverStatus the status returned by the solver, null if the solver threw an exception.
+     * @param solver       the solver object.
+     */
+    public void storeSolverResponse(CpSolverStatus solverStatus, CpSolver solver) {
+        if (solverStatus == null) {
+            // the solver failed before it produced a response, so there are no statistics
+            this.status = Status.ERROR;
+            return;
+        }
+        switch (solverStatus) {
+            case OPTIMAL, FEASIBLE -> this.status = Status.SUCCESS;
+            case INFEASIBLE -> this.status = Status.INFEASIBLE;
+            case MODEL_INVALID -> this.status = Status.MODEL_INVALID;
+            default -> {
+                // the search stopped before it found a solution or proved that there is none, without a time limit it was stopped by "stopSearch"
+                SatParameters.Builder parameters = solver.getParameters();
+                this.status = parameters.hasMaxTimeInSeconds() || parameters.hasMaxDeterministicTime() ? Status.TIMEOUT : Status.STOPPED;
+            }
+        }
+        this.solverStats = solver.responseStats();
+        this.wallTime = solver.wallTime();
+        this.deterministicTime = solver.response().getDeterministicTime();
+    }
 }
@@ -2,22 +2,125 @@ package dt.tsg.utils;
 
 import com.google.ortools.sat.CpSolver;
 import com.google.ortools.sat.CpSolverStatus;
+import com.google.ortools.sat.IntVar;
 import dt.tsg.cspModel.DynamicConstraints;
 import dt.tsg.cspModel.ModelTask;
 import dt.tsg.task.Task;
 import dt.tsg.task.TaskInstance;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.*;
+import java.util.function.ToLongFunction;
 import java.util.stream.IntStream;
 
 public class Utils {
 
+    /**
+     * The random number streams of the stages of a generation, see "getStream".
+     * GENERATION is the stream of "random", the other streams are used by a single stage, so that a stage can not shift the random numbers of another one.
+     * SOLUTION only seeds the Utils of the solutions that are post-processed concurrently, see "forSolution".
+     */
+    public enum Stream {GENERATION, SCHEDULING_LIMIT, RESIDENCY, FORMAT, TGFF, SOLVER, SOLUTION}
+
     public boolean debug;
     public Random random;
+    private final long seed;                        // the seed of the generation, all streams are derived from it
+    private final Map<Stream, Random> streams = new EnumMap<>(Stream.class);
+
+    /**
+     * Creates a Utils object whose random numbers are derived from a seed, a generation with the same seed and inputs generates the same task list.
+     *
+     * @param debug controls the debug output.
+     * @param seed  the seed of the generation.
+     */
+    public Utils(boolean debug, long seed) {
+        this.debug = debug;
+        this.seed = seed;
+        this.random = getStream(Stream.GENERATION);
+    }
 
+    /**
+     * Creates a Utils object with the given random number generator, which is the GENERATION stream.
+     * The seed of the other streams is drawn from a copy of the generator, so the generator keeps the sequence it had before the streams existed.
+     *
+     * @param debug  controls the debug output.
+     * @param random the random number generator.
+     */
     public Utils(boolean debug, Random random) {
         this.debug = debug;
+        this.seed = copyOf(random).nextLong();
         this.random = random;
+        this.streams.put(Stream.GENERATION, random);
+    }
+
+    /**
+     * Returns an independent copy of a random number generator in the same state, the generator itself is not advanced.
+     * A generator that can not be copied, e.g. ThreadLocalRandom, is replaced by an unseeded one.
+     */
+    private static Random copyOf(Random random) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(random);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                Object copy = in.readObject();
+                if (copy instanceof Random copiedRandom && copy != random) return copiedRandom;
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            // fall through to an unseeded generator
+        }
+        return new Random(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Derives the seed of a child from the seed of its parent, e.g. the seed of a task set of a batch from the root seed.
+     * SplittableRandom mixes its seed, so the children of neighbouring keys get independent seeds.
+     *
+     * @param parentSeed the seed of the parent.
+     * @param key        the key of the child, e.g. the index of the task set.
+     * @return the seed of the child.
+     */
+    public static long deriveSeed(long parentSeed, long key) {
+        return new SplittableRandom(parentSeed + key * 0x9E3779B97F4A7C15L).nextLong();
+    }
+
+    /**
+     * Returns the random number stream of a stage, it is created with a seed derived from the seed of the generation on first use.
+     *
+     * @param stream the stage.
+     * @return the random number generator of the stage.
+     */
+    public synchronized Random getStream(Stream stream) {
+        return streams.computeIfAbsent(stream, s -> new Random(deriveSeed(seed, s.ordinal())));
+    }
+
+    /**
+     * Returns a Utils object with its own streams for the post-processing of one solution.
+     * Solutions that are post-processed concurrently draw their random numbers from their own streams, so they do not depend on the order of the threads.
+     *
+     * @param solutionNum the number of the solution.
+     * @return the Utils object of the solution, its seed is derived from the seed of the generation and the number of the solution.
+     */
+    public Utils forSolution(int solutionNum) {
+        return new Utils(debug, deriveSeed(deriveSeed(seed, Stream.SOLUTION.ordinal()), solutionNum));
+    }
+
+    /**
+     * Returns the random seed of the CP-Solver, it is derived from the seed of the generation.
+     *
+     * @return a non-negative seed.
+     */
+    public int getSolverSeed() {
+        return (int) (deriveSeed(seed, Stream.SOLVER.ordinal()) & Integer.MAX_VALUE);
+    }
+
+    public long getSeed() {
+        return seed;
     }
 
     /**
@@ -122,17 +225,97 @@ public class Utils {
          * @param scheduledTasks the scheduled task list.
          */
         public static void buildScheduledTaskList(ArrayList<Task> taskList, CpSolver solver, Map<Integer, ModelTask> modelTaskMap, ArrayList<ScheduledTask> scheduledTasks) {
+            boolean cumulativeResources = false;
             for (int taskID = 0; taskID < taskList.size(); ++taskID) {
+                int resource = -1;
+                if (modelTaskMap.get(taskID).getResource() != null) {
+                    resource = (int) solver.value(modelTaskMap.get(taskID).getResource());
+                } else {
+                    cumulativeResources = true;
+                }
                 ScheduledTask scheduledTask = new ScheduledTask(
                         taskID,
                         (int) solver.value(modelTaskMap.get(taskID).getStart()),
                         (int) solver.value(modelTaskMap.get(taskID).getEnd()),
                         (int) solver.value(modelTaskMap.get(taskID).getWcet()),
-                        (int) solver.value(modelTaskMap.get(taskID).getResource()),
+                        resource,
                         taskList.get(taskID).getPredecessors().stream().mapToInt(i -> i).toArray(),
                         taskList.get(taskID).getPeriod());
                 scheduledTasks.add(scheduledTask);
             }
+            // the model did not assign resources, derive them from the schedule
+            if (cumulativeResources) assignResourcesByIntervalColouring(scheduledTasks);
+        }
+
+        /**
+         * Copies the values of a solution into a compact buffer, so that the solution can be processed after the solver moved on.
+         * The buffer holds start, end, wcet and resource (-1 if the Model Task has no resource IntVar) of every task, ordered by the task ids.
+         *
+         * @param modelTaskMap maps the task ids to the corresponding Model Tasks.
+         * @param value        returns the value of an IntVar in the solution.
+         * @return the solution buffer.
+         */
+        public static int[] copySolutionValues(Map<Integer, ModelTask> modelTaskMap, ToLongFunction<IntVar> value) {
+            int[] solutionValues = new int[modelTaskMap.size() * 4];
+            for (int taskID = 0; taskID < modelTaskMap.size(); ++taskID) {
+                ModelTask modelTask = modelTaskMap.get(taskID);
+                solutionValues[taskID * 4] = (int) (value.applyAsLong(modelTask.getStartVar()) + modelTask.getOffset());
+                solutionValues[taskID * 4 + 1] = (int) (value.applyAsLong(modelTask.getEndVar()) + modelTask.getOffset());
+                solutionValues[taskID * 4 + 2] = (int) value.applyAsLong(modelTask.getWcet());
+                solutionValues[taskID * 4 + 3] = modelTask.getResource() != null ? (int) value.applyAsLong(modelTask.getResource()) : -1;
+            }
+            return solutionValues;
+        }
+
+        /**
+         * Builds a list of scheduled tasks from a solution buffer, see "copySolutionValues".
+         *
+         * @param taskList       the list of tasks.
+         * @param solutionValues the solution buffer.
+         * @param scheduledTasks the scheduled task list.
+         */
+        public static void buildScheduledTaskList(ArrayList<Task> taskList, int[] solutionValues, ArrayList<ScheduledTask> scheduledTasks) {
+            boolean cumulativeResources = false;
+            for (int taskID = 0; taskID < taskList.size(); ++taskID) {
+                int resource = solutionValues[taskID * 4 + 3];
+                if (resource == -1) cumulativeResources = true;
+                ScheduledTask scheduledTask = new ScheduledTask(
+                        taskID,
+                        solutionValues[taskID * 4],
+                        solutionValues[taskID * 4 + 1],
+                        solutionValues[taskID * 4 + 2],
+                        resource,
+                        taskList.get(taskID).getPredecessors().stream().mapToInt(i -> i).toArray(),
+                        taskList.get(taskID).getPeriod());
+                scheduledTasks.add(scheduledTask);
+            }
+            // the model did not assign resources, derive them from the schedule
+            if (cumulativeResources) assignResourcesByIntervalColouring(scheduledTasks);
+        }
+
+        /**
+         * Assigns a resource to every scheduled task by colouring the interval graph of the schedule.
+         * Tasks are visited in the order of their start times, and each task is assigned to the lowest resource that is free at its start time.
+         * The number of used resources is equal to the maximum number of overlapping tasks, which the cumulative constraint limits to the number of resources.
+         *
+         * @param scheduledTasks the scheduled task list. Entries are replaced by scheduled tasks with the assigned resource.
+         */
+        public static void assignResourcesByIntervalColouring(ArrayList<ScheduledTask> scheduledTasks) {
+            ArrayList<ScheduledTask> sortedTasks = new ArrayList<>(scheduledTasks);
+            sortedTasks.sort(Comparator.comparingInt(ScheduledTask::start).thenComparingInt(ScheduledTask::end));
+
+            PriorityQueue<int[]> busyResources = new PriorityQueue<>(Comparator.comparingInt((int[] busy) -> busy[0]));     // {end, resource} of all running tasks
+            PriorityQueue<Integer> freeResources = new PriorityQueue<>();
+            int usedResources = 0;
+            for (ScheduledTask st : sortedTasks) {
+                // free all resources whose task has ended before this task starts
+                while (!busyResources.isEmpty() && busyResources.peek()[0] <= st.start()) {
+                    freeResources.add(busyResources.poll()[1]);
+                }
+                int resource = freeResources.isEmpty() ? usedResources++ : freeResources.poll();
+                busyResources.add(new int[]{st.end(), resource});
+                scheduledTasks.set(st.taskID(), new ScheduledTask(st.taskID(), st.start(), st.end(), st.wcet(), resource, st.predecessor(), st.period()));
+            }
         }
     }
 
@@ -237,7 +420,7 @@ public class Utils {
                     }
                     String domainTmp = "[" + periodStart + "," + periodEnd + "]";
                     domainLine.append(String.format("%-20s", domainTmp));
-                    String cpdomainTmp = "[" + modelTaskMap.get(assignedTask.taskID).getStart().getDomain().min() + "," + modelTaskMap.get(assignedTask.taskID).getEnd().getDomain().max() + "]";
+                    String cpdomainTmp = "[" + modelTaskMap.get(assignedTask.taskID).getStartMin() + "," + modelTaskMap.get(assignedTask.taskID).getEndMax() + "]";
                     cpdomainLine.append(String.format("%-20s", cpdomainTmp));
                     // Generate phase/period line
                     String phasePeriod = taskList.get(assignedTask.taskID).getPhase() + "/" + assignedTask.period;
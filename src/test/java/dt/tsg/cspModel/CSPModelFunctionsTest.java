@@ -0,0 +1,248 @@
+package dt.tsg.cspModel;
+
+import com.google.ortools.Loader;
+import com.google.ortools.sat.*;
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.task.Task;
+import dt.tsg.utils.GenerationResult;
+import dt.tsg.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CSPModelFunctionsTest {
+
+    @Test
+    void interchangeableResourceGroups() {
+        // task 0 may use every resource, task 1 only resources 2 and 3
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new Task(0));
+        Task constrainedTask = new Task(1);
+        constrainedTask.addResourceConstraint(new int[]{2, 3});
+        taskList.add(constrainedTask);
+
+        ArrayList<ArrayList<Integer>> groups = CSPModelFunctions.getInterchangeableResourceGroups(taskList, 4);
+
+        assertEquals(List.of(List.of(0, 1), List.of(2, 3)), groups);
+
+        // task 2 distinguishes resource 2 from resource 3
+        Task singleResourceTask = new Task(2);
+        singleResourceTask.addResourceConstraint(2);
+        taskList.add(singleResourceTask);
+
+        groups = CSPModelFunctions.getInterchangeableResourceGroups(taskList, 4);
+
+        assertEquals(List.of(List.of(0, 1)), groups);
+    }
+
+    @Test
+    void symmetryBreakingKeepsOneAssignmentOfInterchangeableResources() {
+        Loader.loadNativeLibraries();
+        Utils utils = new Utils(false, new Random());
+
+        // three tasks that run at the same time on three interchangeable resources: 3! equivalent assignments
+        assertEquals(6, countResourceAssignments(false, utils));
+        assertEquals(1, countResourceAssignments(true, utils));
+    }
+
+    @Test
+    void searchModeFollowsTheRequestedWorkers() {
+        Loader.loadNativeLibraries();
+        Utils utils = new Utils(false, new Random());
+
+        // a parallel request keeps the parallel search, even if the budget only leases one worker
+        CpSolver solver = new CpSolver();
+        CSPModelFunctions.setSolverParameters(solver, InputParameters.SolverProfile.HINT, 4, 1, 1, utils);
+        assertFalse(solver.getParameters().getEnumerateAllSolutions());
+        assertEquals(1, solver.getParameters().getNumWorkers());
+
+        // a single requested worker enumerates all solutions
+        solver = new CpSolver();
+        CSPModelFunctions.setSolverParameters(solver, InputParameters.SolverProfile.HINT, 1, 1, 1, utils);
+        assertTrue(solver.getParameters().getEnumerateAllSolutions());
+    }
+
+    @Test
+    void solverTimeLimitsStopTheSearch() {
+        Loader.loadNativeLibraries();
+        Utils utils = new Utils(false, new Random());
+
+        // subset sum without a solution, all weights are even but the sum is odd, the solver has to search without presolve
+        CpModel cspModel = new CpModel();
+        int numVars = 60;
+        Literal[] literals = new Literal[numVars];
+        long[] weights = new long[numVars];
+        for (int i = 0; i < numVars; i++) {
+            literals[i] = cspModel.newBoolVar("x_" + i);
+            weights[i] = 2L * (1000 + 37L * i);
+        }
+        cspModel.addEquality(LinearExpr.weightedSum(literals, weights), 30001);
+
+        CpSolver solver = new CpSolver();
+        CSPModelFunctions.setSolverParameters(solver, 1, 1, utils);
+        CSPModelFunctions.setSolverTimeLimits(solver, 0.5, 0);
+        CpSolverStatus status = solver.solve(cspModel);
+
+        GenerationResult generationResult = new GenerationResult();
+        generationResult.storeSolverResponse(status, solver);
+        assertEquals(GenerationResult.Status.TIMEOUT, generationResult.status);
+        assertFalse(generationResult.solverStats.isEmpty());
+        assertTrue(generationResult.wallTime < 5);
+    }
+
+    @Test
+    void solverResponseWithoutTimeLimitOrSolve() {
+        Loader.loadNativeLibraries();
+
+        // the solver throws before it produces a response, the result reports the failure instead of the statistics
+        CpSolver failedSolver = new CpSolver();
+        assertThrows(NullPointerException.class, () -> failedSolver.solve(null));
+        GenerationResult generationResult = new GenerationResult();
+        generationResult.storeSolverResponse(null, failedSolver);
+        assertEquals(GenerationResult.Status.ERROR, generationResult.status);
+        assertTrue(generationResult.solverStats.isEmpty());
+
+        // the same subset sum without a solution, the search is stopped from another thread instead of a time limit
+        CpModel cspModel = new CpModel();
+        int numVars = 60;
+        Literal[] literals = new Literal[numVars];
+        long[] weights = new long[numVars];
+        for (int i = 0; i < numVars; i++) {
+            literals[i] = cspModel.newBoolVar("x_" + i);
+            weights[i] = 2L * (1000 + 37L * i);
+        }
+        cspModel.addEquality(LinearExpr.weightedSum(literals, weights), 30001);
+        CpSolver solver = new CpSolver();
+        CSPModelFunctions.setSolverParameters(solver, 1, 1, new Utils(false, new Random()));
+        Thread stopper = new Thread(() -> {
+            // the search can only be stopped once it runs
+            while (!Thread.currentThread().isInterrupted()) {
+                solver.stopSearch();
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        stopper.start();
+        CpSolverStatus status = solver.solve(cspModel);
+        stopper.interrupt();
+
+        generationResult = new GenerationResult();
+        generationResult.storeSolverResponse(status, solver);
+        assertEquals(CpSolverStatus.UNKNOWN, status);
+        assertEquals(GenerationResult.Status.STOPPED, generationResult.status);
+    }
+
+    @Test
+    void solutionDistanceConstraintKeepsTheMinimumDistance() {
+        Loader.loadNativeLibraries();
+
+        // three tasks with a WCET in [1, 4] on one of three resources, the previous solution has WCET 1 on resource 0 for all tasks
+        for (InputParameters.DistanceMetric metric : InputParameters.DistanceMetric.values()) {
+            for (int minDistance : new int[]{5, 7}) {
+                CpModel cspModel = new CpModel();
+                ArrayList<Task> taskList = new ArrayList<>();
+                Map<Integer, ModelTask> modelTaskMap = new HashMap<>();
+                int[] previousSolution = new int[3 * 4];
+                for (int taskID = 0; taskID < 3; taskID++) {
+                    taskList.add(new Task(taskID));
+                    ModelTask modelTask = new ModelTask();
+                    modelTask.setWcet(cspModel.newIntVar(1, 4, "wcet_" + taskID));
+                    modelTask.setResource(cspModel.newIntVar(0, 2, "resource_" + taskID));
+                    modelTaskMap.put(taskID, modelTask);
+                    previousSolution[taskID * 4 + 1] = 1;
+                    previousSolution[taskID * 4 + 2] = 1;
+                }
+                CSPModelFunctions.addSolutionDistanceConstraint(cspModel, modelTaskMap, taskList, previousSolution, minDistance, metric, 4, 3);
+
+                CpSolver solver = new CpSolver();
+                solver.getParameters().setNumWorkers(1);
+                CpSolverStatus status = solver.solve(cspModel);
+                // 6 variables differ at most once each
+                if (metric == InputParameters.DistanceMetric.HAMMING && minDistance == 7) {
+                    assertEquals(CpSolverStatus.INFEASIBLE, status);
+                    continue;
+                }
+                assertEquals(CpSolverStatus.OPTIMAL, status);
+                int distance = 0;
+                for (ModelTask modelTask : modelTaskMap.values()) {
+                    long wcet = solver.value(modelTask.getWcet());
+                    long resource = solver.value(modelTask.getResource());
+                    distance += metric == InputParameters.DistanceMetric.HAMMING ? (wcet != 1 ? 1 : 0) + (resource != 0 ? 1 : 0) : (wcet - 1) + resource;
+                }
+                assertTrue(distance >= minDistance, metric + " distance " + distance + " is smaller than " + minDistance);
+            }
+        }
+    }
+
+    private int countResourceAssignments(boolean symmetryBreaking, Utils utils) {
+        int numTasks = 3;
+        int numResou = 3;
+        CpModel cspModel = new CpModel();
+        ArrayList<Task> taskList = new ArrayList<>();
+        Map<Integer, ModelTask> modelTaskMap = new HashMap<>();
+        for (int taskID = 0; taskID < numTasks; taskID++) {
+            taskList.add(new Task(taskID));
+            ModelTask modelTask = new ModelTask();
+            modelTask.setStart(cspModel.newConstant(0));
+            modelTask.setWcet(cspModel.newConstant(1));
+            modelTask.setEnd(cspModel.newConstant(1));
+            modelTask.setResource(cspModel.newIntVar(0, numResou - 1, "resource_" + taskID));
+            modelTaskMap.put(taskID, modelTask);
+        }
+        CSPModelFunctions.addNoOverlapConstraintsToModel(taskList, cspModel, modelTaskMap, new TaskWindowIndex(modelTaskMap), utils);
+        if (symmetryBreaking) {
+            CSPModelFunctions.addResourceSymmetryBreakingToModel(taskList, cspModel, modelTaskMap, numResou, utils);
+        }
+
+        IntVar[] resources = new IntVar[numTasks];
+        for (int taskID = 0; taskID < numTasks; taskID++) {
+            resources[taskID] = modelTaskMap.get(taskID).getResource();
+        }
+        cspModel.addDecisionStrategy(resources, DecisionStrategyProto.VariableSelectionStrategy.CHOOSE_FIRST, DecisionStrategyProto.DomainReductionStrategy.SELECT_MIN_VALUE);
+
+        CpSolver solver = new CpSolver();
+        solver.getParameters().setEnumerateAllSolutions(true);
+        solver.getParameters().setCpModelPresolve(false);
+        ResourceAssignmentCounter counter = new ResourceAssignmentCounter(resources);
+        solver.solve(cspModel, counter);
+        return counter.getAssignments().size();
+    }
+
+    /**
+     * Collects the distinct resource assignments, solutions may differ in auxiliary literals only.
+     */
+    private static class ResourceAssignmentCounter extends CpSolverSolutionCallback {
+
+        private final IntVar[] resources;
+        private final ArrayList<List<Long>> assignments = new ArrayList<>();
+
+        ResourceAssignmentCounter(IntVar[] resources) {
+            this.resources = resources;
+        }
+
+        @Override
+        public void onSolutionCallback() {
+            ArrayList<Long> assignment = new ArrayList<>();
+            for (IntVar resource : resources) {
+                assignment.add(value(resource));
+            }
+            if (!assignments.contains(assignment)) assignments.add(assignment);
+        }
+
+        ArrayList<List<Long>> getAssignments() {
+            return assignments;
+        }
+    }
+}
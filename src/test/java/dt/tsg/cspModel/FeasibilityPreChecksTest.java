@@ -0,0 +1,101 @@
+package dt.tsg.cspModel;
+
+import com.google.ortools.Loader;
+import com.google.ortools.sat.CpModel;
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.task.Task;
+import dt.tsg.task.TaskGenerationFramework;
+import dt.tsg.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeasibilityPreChecksTest {
+
+    @Test
+    void windowsMatchTheModelDomains() {
+        Loader.loadNativeLibraries();
+        Random random = new Random();
+        Utils utils = new Utils(false, random);
+        TaskGenerationFramework tgf = new TaskGenerationFramework(false, random);
+
+        for (int iteration = 0; iteration < 20; iteration++) {
+            InputParameters inputs = new InputParameters();
+            inputs.setPhasedReleaseTimes(random.nextBoolean());
+            inputs.setMin_releaseTime(random.nextInt(-1, 3));
+            inputs.setMax_deadline(random.nextBoolean() ? -1 : random.nextInt(6, 12));
+
+            ArrayList<Task> taskList = new ArrayList<>();
+            int numTasks = random.nextInt(1, 8);
+            for (int taskID = 0; taskID < numTasks; taskID++) {
+                boolean periodic = random.nextBoolean();
+                Task task = new Task(taskID, periodic ? 10 : 0, periodic, false);
+                if (periodic && inputs.PhasedReleaseTimes()) task.setPhase(random.nextInt(0, 5));
+                taskList.add(task);
+            }
+            int limit = 30;
+            taskList.addAll(tgf.generateModelReadyPeriodicTaskInstances(taskList, limit, false));
+
+            CpModel cspModel = new CpModel();
+            DynamicConstraints dynamicConstraints = CSPModelFunctions.buildDynamicConstraints(cspModel, limit, inputs);
+            Map<Integer, ModelTask> modelTaskMap = CSPModelFunctions.buildCSPModelTasksAndConstraints(cspModel, limit, taskList, 2, dynamicConstraints, inputs.PhasedReleaseTimes(), false, utils, inputs);
+
+            int[][] windows = FeasibilityPreChecks.getWindows(taskList, limit, inputs);
+            for (Task task : taskList) {
+                ModelTask modelTask = modelTaskMap.get(task.getIdentifier());
+                assertEquals(modelTask.getStartMin(), windows[task.getIdentifier()][0]);
+                assertEquals(modelTask.getEndMax(), windows[task.getIdentifier()][1]);
+            }
+        }
+    }
+
+    @Test
+    void violatedConditionsAreReported() {
+        InputParameters inputs = new InputParameters();
+
+        // three aperiodic tasks pinned to resource 0 of two resources, limit 2
+        ArrayList<Task> taskList = new ArrayList<>();
+        for (int taskID = 0; taskID < 3; taskID++) {
+            Task task = new Task(taskID, 0, false, true);
+            task.addResourceConstraint(0);
+            taskList.add(task);
+        }
+        ArrayList<String> violations = FeasibilityPreChecks.check(taskList, 2, 2, inputs);
+        assertEquals(1, violations.size());
+        assertTrue(violations.get(0).contains("[0]"));
+        // a third resource that is not used by the pinned tasks does not help
+        assertEquals(1, FeasibilityPreChecks.check(taskList, 2, 3, inputs).size());
+        // without the residency constraints the tasks fit onto two resources
+        taskList.forEach(Task::removeResourceConstraints);
+        assertTrue(FeasibilityPreChecks.check(taskList, 2, 2, inputs).isEmpty());
+
+        // a precedence chain of three periodic tasks with period 2
+        taskList = new ArrayList<>();
+        for (int taskID = 0; taskID < 3; taskID++) {
+            taskList.add(new Task(taskID, 2, true, false));
+            if (taskID > 0) {
+                taskList.get(taskID).addPredecessor(taskID - 1);
+                taskList.get(taskID - 1).addSuccessors(taskID);
+            }
+        }
+        violations = FeasibilityPreChecks.check(taskList, 2, 3, inputs);
+        assertEquals(1, violations.size());
+        assertTrue(violations.get(0).startsWith("Task 2"));
+
+        // the minimum WCET does not fit between the minimum release time and the maximum deadline
+        taskList = new ArrayList<>();
+        taskList.add(new Task(0, 0, false, false));
+        inputs.setMin_WCET(4);
+        inputs.setMin_releaseTime(2);
+        inputs.setMax_deadline(5);
+        violations = FeasibilityPreChecks.check(taskList, 10, 1, inputs);
+        assertTrue(violations.get(0).contains("does not fit into the window [2,5]"));
+        inputs.setMax_deadline(6);
+        assertTrue(FeasibilityPreChecks.check(taskList, 10, 1, inputs).isEmpty());
+    }
+}
@@ -0,0 +1,57 @@
+package dt.tsg.cspModel;
+
+import com.google.ortools.Loader;
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.cspModel.InfeasibilityExplanation.ConstraintGroup;
+import dt.tsg.task.Task;
+import dt.tsg.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class InfeasibilityExplanationTest {
+
+    @Test
+    void conflictingInputParametersAreNamed() {
+        Loader.loadNativeLibraries();
+        Utils utils = new Utils(false, new Random());
+        InputParameters inputs = new InputParameters();
+
+        // three aperiodic tasks pinned to resource 0 of two resources, limit 2
+        ArrayList<Task> taskList = new ArrayList<>();
+        for (int taskID = 0; taskID < 3; taskID++) {
+            Task task = new Task(taskID, 0, false, true);
+            task.addResourceConstraint(0);
+            taskList.add(task);
+        }
+        assertEquals(List.of(ConstraintGroup.RESIDENCY, ConstraintGroup.SCHEDULING_LIMIT), InfeasibilityExplanation.explain(taskList, 2, 2, inputs, utils));
+
+        // a precedence chain of three periodic tasks with period 2, the periods are always enforced
+        taskList = new ArrayList<>();
+        for (int taskID = 0; taskID < 3; taskID++) {
+            taskList.add(new Task(taskID, 2, true, false));
+            if (taskID > 0) {
+                taskList.get(taskID).addPredecessor(taskID - 1);
+                taskList.get(taskID - 1).addSuccessors(taskID);
+            }
+        }
+        assertEquals(List.of(ConstraintGroup.PRECEDENCE), InfeasibilityExplanation.explain(taskList, 2, 3, inputs, utils));
+
+        // the minimum WCET does not fit between the minimum release time and the maximum deadline, relaxing any of them helps
+        taskList = new ArrayList<>();
+        taskList.add(new Task(0, 10, true, false));
+        inputs.setMin_WCET(4);
+        inputs.setMin_releaseTime(2);
+        inputs.setMax_deadline(5);
+        assertEquals(List.of(ConstraintGroup.RELEASE_TIME, ConstraintGroup.DEADLINE, ConstraintGroup.WCET), InfeasibilityExplanation.explain(taskList, 10, 1, inputs, utils));
+
+        // a feasible task list has no explanation
+        inputs.setMax_deadline(6);
+        assertNull(InfeasibilityExplanation.explain(taskList, 10, 1, inputs, utils));
+    }
+}
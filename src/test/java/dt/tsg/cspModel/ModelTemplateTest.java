@@ -0,0 +1,57 @@
+package dt.tsg.cspModel;
+
+import com.google.ortools.Loader;
+import com.google.ortools.sat.BoolVar;
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.Literal;
+import dt.tsg.task.Task;
+import dt.tsg.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelTemplateTest {
+
+    @Test
+    void boundModelTasksKeepTheResourcePresenceLiterals() {
+        Loader.loadNativeLibraries();
+        Utils utils = new Utils(false, new Random());
+
+        // two aperiodic tasks that may use both resources, so every task has a presence literal per resource
+        ArrayList<Task> taskList = new ArrayList<>();
+        CpModel cspModel = new CpModel();
+        Map<Integer, ModelTask> modelTaskMap = new HashMap<>();
+        for (int taskID = 0; taskID < 2; taskID++) {
+            taskList.add(new Task(taskID));
+            ModelTask modelTask = new ModelTask();
+            modelTask.setStart(cspModel.newIntVar(0, 10, "start_" + taskID));
+            modelTask.setWcet(cspModel.newIntVar(1, 10, "wcet_" + taskID));
+            modelTask.setEnd(cspModel.newIntVar(1, 20, "end_" + taskID));
+            modelTask.setResource(cspModel.newIntVar(0, 1, "resource_" + taskID));
+            modelTaskMap.put(taskID, modelTask);
+        }
+        CSPModelFunctions.addPerResourceNoOverlapConstraintsToModel(taskList, cspModel, modelTaskMap, 2, utils);
+
+        ModelTemplate template = new ModelTemplate(cspModel, modelTaskMap, null, 0);
+        CpModel clone = template.instantiate();
+        Map<Integer, ModelTask> boundModelTaskMap = template.bindModelTasks(clone, taskList);
+
+        for (int taskID = 0; taskID < 2; taskID++) {
+            Map<Integer, Literal> presence = modelTaskMap.get(taskID).getResourcePresence();
+            Map<Integer, Literal> boundPresence = boundModelTaskMap.get(taskID).getResourcePresence();
+            assertEquals(presence.keySet(), boundPresence.keySet());
+            presence.forEach((resource, literal) -> assertEquals(literal.getIndex(), boundPresence.get(resource).getIndex()));
+        }
+
+        // hints on the bound literals are added to the clone, not to the template
+        clone.addHint((BoolVar) boundModelTaskMap.get(0).getResourcePresence().get(1), 1);
+        assertEquals(1, clone.model().getSolutionHint().getVarsCount());
+        assertTrue(template.instantiate().model().getSolutionHint().getVarsList().isEmpty());
+    }
+}
@@ -0,0 +1,57 @@
+package dt.tsg.cspModel;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SolverCoreBudgetTest {
+
+    @Test
+    void workersDependOnModelSizeAndSolvesInFlight() {
+        int totalCores = SolverCoreBudget.getTotalCores();
+        SolverCoreBudget.setTotalCores(8);
+        try {
+            // small models are solved single-threaded
+            SolverCoreBudget.Lease small = SolverCoreBudget.acquire(0, 1000);
+            assertEquals(1, small.workers());
+            // a large model gets a fair share of the cores
+            SolverCoreBudget.Lease large = SolverCoreBudget.acquire(0, 1_000_000);
+            assertEquals(4, large.workers());
+            // the next one gets at most the free cores and a smaller share
+            SolverCoreBudget.Lease secondLarge = SolverCoreBudget.acquire(0, 1_000_000);
+            assertEquals(2, secondLarge.workers());
+            // a fixed number of workers is capped at the free cores and exhausts the budget
+            SolverCoreBudget.Lease fixed = SolverCoreBudget.acquire(2, 10);
+            assertEquals(1, fixed.workers());
+            // without free cores, a fixed number of workers is capped at one worker
+            SolverCoreBudget.Lease capped = SolverCoreBudget.acquire(3, 10);
+            assertEquals(1, capped.workers());
+            SolverCoreBudget.Lease exhausted = SolverCoreBudget.acquire(0, 1_000_000);
+            assertEquals(1, exhausted.workers());
+            assertEquals(10, SolverCoreBudget.getCoresInUse());
+            assertEquals(6, SolverCoreBudget.getSolvesInFlight());
+
+            small.close();
+            large.close();
+            secondLarge.close();
+            fixed.close();
+            capped.close();
+            exhausted.close();
+            // a lease is returned only once
+            exhausted.close();
+            assertEquals(0, SolverCoreBudget.getCoresInUse());
+            assertEquals(0, SolverCoreBudget.getSolvesInFlight());
+
+            // a medium model alone gets one worker per SMALL_MODEL_SIZE
+            try (SolverCoreBudget.Lease medium = SolverCoreBudget.acquire(0, 3 * SolverCoreBudget.SMALL_MODEL_SIZE)) {
+                assertEquals(3, medium.workers());
+                // a fixed number of workers within the free cores is granted
+                try (SolverCoreBudget.Lease fixedWithinFreeCores = SolverCoreBudget.acquire(2, 10)) {
+                    assertEquals(2, fixedWithinFreeCores.workers());
+                }
+            }
+        } finally {
+            SolverCoreBudget.setTotalCores(totalCores);
+        }
+    }
+}
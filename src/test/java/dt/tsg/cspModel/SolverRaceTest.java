@@ -0,0 +1,92 @@
+package dt.tsg.cspModel;
+
+import com.google.ortools.Loader;
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolverSolutionCallback;
+import com.google.ortools.sat.CpSolverStatus;
+import com.google.ortools.sat.LinearExpr;
+import com.google.ortools.sat.Literal;
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.InputParams.InputParameters.SolverProfile;
+import dt.tsg.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class SolverRaceTest {
+
+    @Test
+    void raceDoesNotWaitForTheStoppedSolvers() {
+        Loader.loadNativeLibraries();
+        CpModel cspModel = new CpModel();
+        cspModel.newIntVar(0, 10, "x");
+        InputParameters inputs = new InputParameters();
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(1);
+        int coresInUse = SolverCoreBudget.getCoresInUse();
+
+        // the solver of the first racer blocks in its solution callback and can not be stopped, the race must not wait for it
+        CountDownLatch release = new CountDownLatch(1);
+        IntFunction<CpSolverSolutionCallback> callbackFactory = racer -> new CpSolverSolutionCallback() {
+            @Override
+            public void onSolutionCallback() {
+                if (racer != 0) return;
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        try {
+            SolverRace.Result result = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> SolverRace.race(cspModel, List.of(SolverProfile.HINT, SolverProfile.AUTOMATIC), inputs, 1, callbackFactory, new Utils(false, 42L)));
+            assertEquals(SolverProfile.AUTOMATIC, result.profile());
+            assertEquals(CpSolverStatus.OPTIMAL, result.status());
+            // the blocked racer keeps its worker thread until its solver returns
+            assertEquals(coresInUse + 1, SolverCoreBudget.getCoresInUse());
+        } finally {
+            release.countDown();
+        }
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            while (SolverCoreBudget.getCoresInUse() > coresInUse) Thread.sleep(10);
+        });
+    }
+
+    @Test
+    void raceWithoutConclusiveResultIsLostByEveryRacer() {
+        Loader.loadNativeLibraries();
+        // subset sum without a solution, all weights are even but the sum is odd, the solver has to search without presolve
+        CpModel cspModel = new CpModel();
+        int numVars = 60;
+        Literal[] literals = new Literal[numVars];
+        long[] weights = new long[numVars];
+        for (int i = 0; i < numVars; i++) {
+            literals[i] = cspModel.newBoolVar("x_" + i);
+            weights[i] = 2L * (1000 + 37L * i);
+        }
+        cspModel.addEquality(LinearExpr.weightedSum(literals, weights), 30001);
+        InputParameters inputs = new InputParameters();
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(3);
+        inputs.setTimeLimit(0.3);
+        int wins = SolverRace.getWins(SolverProfile.HINT);
+        int losses = SolverRace.getLosses(SolverProfile.HINT);
+
+        // a diverse pool searches for one solution per solve, the racers use the solution count of the search
+        SolverRace.Result result = SolverRace.race(cspModel, List.of(SolverProfile.HINT, SolverProfile.HINT), inputs, 1, racer -> new CpSolverSolutionCallback() {
+            @Override
+            public void onSolutionCallback() {
+            }
+        }, new Utils(false, 42L));
+        assertEquals(CpSolverStatus.UNKNOWN, result.status());
+        assertEquals(1, result.solver().getParameters().getSolutionPoolSize());
+        assertEquals(wins, SolverRace.getWins(SolverProfile.HINT));
+        assertEquals(losses + 2, SolverRace.getLosses(SolverProfile.HINT));
+    }
+}
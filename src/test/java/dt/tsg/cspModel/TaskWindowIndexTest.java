@@ -0,0 +1,56 @@
+package dt.tsg.cspModel;
+
+import com.google.ortools.Loader;
+import com.google.ortools.sat.CpModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskWindowIndexTest {
+
+    @Test
+    void overlappingPairsMatchAllPairComparison() {
+        Loader.loadNativeLibraries();
+        Random random = new Random();
+
+        for (int iteration = 0; iteration < 20; iteration++) {
+            CpModel cspModel = new CpModel();
+            Map<Integer, ModelTask> modelTaskMap = new HashMap<>();
+            int numTasks = random.nextInt(1, 60);
+            for (int taskID = 0; taskID < numTasks; taskID++) {
+                int start = random.nextInt(0, 100);
+                int end = start + random.nextInt(1, 20);
+                ModelTask modelTask = new ModelTask();
+                modelTask.setStart(cspModel.newIntVar(start, end - 1, "start_" + taskID));
+                modelTask.setEnd(cspModel.newIntVar(start + 1, end, "end_" + taskID));
+                modelTaskMap.put(taskID, modelTask);
+            }
+
+            // compare every pair of tasks the same way the CP Model functions did before the index existed
+            ArrayList<int[]> expectedPairs = new ArrayList<>();
+            for (int first = 0; first < numTasks; first++) {
+                for (int second = first + 1; second < numTasks; second++) {
+                    ModelTask firstModelTask = modelTaskMap.get(first);
+                    ModelTask secondModelTask = modelTaskMap.get(second);
+                    if (firstModelTask.getEndMax() < secondModelTask.getStartMin()) continue;
+                    if (firstModelTask.getStartMin() > secondModelTask.getEndMax()) continue;
+                    expectedPairs.add(new int[]{first, second});
+                }
+            }
+
+            TaskWindowIndex windowIndex = new TaskWindowIndex(modelTaskMap);
+            ArrayList<int[]> pairs = windowIndex.getOverlappingPairs();
+            assertEquals(expectedPairs.size(), pairs.size());
+            for (int i = 0; i < pairs.size(); i++) {
+                assertArrayEquals(expectedPairs.get(i), pairs.get(i));
+                assertEquals(true, windowIndex.overlaps(pairs.get(i)[1], pairs.get(i)[0]));
+            }
+        }
+    }
+}
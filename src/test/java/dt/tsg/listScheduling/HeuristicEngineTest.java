@@ -0,0 +1,110 @@
+package dt.tsg.listScheduling;
+
+import com.google.ortools.Loader;
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverStatus;
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.cspModel.CSPModelFunctions;
+import dt.tsg.cspModel.DynamicConstraints;
+import dt.tsg.cspModel.ModelTask;
+import dt.tsg.cspModel.TaskWindowIndex;
+import dt.tsg.task.Task;
+import dt.tsg.task.TaskGenerationFramework;
+import dt.tsg.task.TaskInstance;
+import dt.tsg.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HeuristicEngineTest {
+
+    @Test
+    void scheduleIsASolutionOfTheModel() {
+        Loader.loadNativeLibraries();
+        // some random task lists are infeasible, the seed fixes task lists that the engine solves
+        Random random = new Random(42);
+        Utils utils = new Utils(false, random);
+        TaskGenerationFramework tgf = new TaskGenerationFramework(false, random);
+
+        for (int iteration = 0; iteration < 20; iteration++) {
+            InputParameters inputs = new InputParameters();
+            inputs.setPhasedReleaseTimes(random.nextBoolean());
+            inputs.setMin_releaseTime(random.nextInt(-1, 2));
+            inputs.setMax_deadline(random.nextBoolean() ? -1 : 9);
+            inputs.setMin_WCET(random.nextInt(-1, 3));
+
+            // periodic tasks with period 10 and aperiodic tasks, precedence relations only point to tasks with a smaller id
+            ArrayList<Task> taskList = new ArrayList<>();
+            int numTasks = random.nextInt(1, 7);
+            for (int taskID = 0; taskID < numTasks; taskID++) {
+                boolean periodic = random.nextBoolean();
+                Task task = new Task(taskID, periodic ? 10 : 0, periodic, false);
+                if (periodic && inputs.PhasedReleaseTimes()) task.setPhase(random.nextInt(0, 3));
+                if (random.nextBoolean()) task.addResourceConstraint(random.nextInt(3));
+                if (taskID > 0 && random.nextBoolean()) {
+                    int predID = random.nextInt(taskID);
+                    task.addPredecessor(predID);
+                    taskList.get(predID).addSuccessors(taskID);
+                }
+                taskList.add(task);
+            }
+            int limit = 40;
+            taskList.addAll(tgf.generateModelReadyPeriodicTaskInstances(taskList, limit, false));
+
+            HeuristicEngine.Result result = HeuristicEngine.solve(taskList, limit, 3, inputs, utils);
+            int[] schedule = result.schedule();
+            assertNotNull(schedule);
+
+            // fixing the original tasks to the schedule must leave a feasible model
+            CpModel cspModel = new CpModel();
+            DynamicConstraints dynamicConstraints = CSPModelFunctions.buildDynamicConstraints(cspModel, limit, inputs);
+            Map<Integer, ModelTask> modelTaskMap = CSPModelFunctions.buildCSPModelTasksAndConstraints(cspModel, limit, taskList, 3, dynamicConstraints, inputs.PhasedReleaseTimes(), false, utils, inputs);
+            CSPModelFunctions.addPerResourceNoOverlapConstraintsToModel(taskList, cspModel, modelTaskMap, 3, utils);
+            CSPModelFunctions.addPrecedenceConstraintsToModel(taskList, cspModel, modelTaskMap, new TaskWindowIndex(modelTaskMap), utils);
+            for (Task task : taskList) {
+                if (task instanceof TaskInstance) continue;
+                ModelTask modelTask = modelTaskMap.get(task.getIdentifier());
+                cspModel.addEquality(modelTask.getStartVar(), schedule[task.getIdentifier() * 4]);
+                cspModel.addEquality(modelTask.getWcet(), schedule[task.getIdentifier() * 4 + 2]);
+                cspModel.addEquality(modelTask.getResource(), schedule[task.getIdentifier() * 4 + 3]);
+            }
+            CpSolver solver = new CpSolver();
+            solver.getParameters().setNumWorkers(1);
+            assertEquals(CpSolverStatus.OPTIMAL, solver.solve(cspModel));
+        }
+    }
+
+    @Test
+    void repairPlacesTheTaskThatDidNotFitFirst() {
+        Utils utils = new Utils(false, new Random());
+        InputParameters inputs = new InputParameters();
+        inputs.setMin_WCET(2);
+
+        // the aperiodic task 0 may use both resources, the periodic tasks 1 and 2 only resource 0 and need it for their whole period
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new Task(0, 0, false, false));
+        for (int taskID = 1; taskID <= 2; taskID++) {
+            Task task = new Task(taskID, 4, true, true);
+            task.addResourceConstraint(0);
+            taskList.add(task);
+        }
+        inputs.setMax_WCET(2);
+        assertNotNull(HeuristicEngine.solve(taskList, 4, 2, inputs, utils).schedule());
+
+        // a third periodic task on resource 0 does not fit, the engine gives up after the configured number of passes
+        Task task = new Task(3, 4, true, true);
+        task.addResourceConstraint(0);
+        taskList.add(task);
+        inputs.setHeuristicIterations(5);
+        HeuristicEngine.Result result = HeuristicEngine.solve(taskList, 4, 2, inputs, utils);
+        assertNull(result.schedule());
+        assertEquals(5, result.iterations());
+    }
+}
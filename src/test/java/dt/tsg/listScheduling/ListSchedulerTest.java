@@ -0,0 +1,153 @@
+package dt.tsg.listScheduling;
+
+import com.google.ortools.Loader;
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverStatus;
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.cspModel.CSPModelFunctions;
+import dt.tsg.cspModel.DynamicConstraints;
+import dt.tsg.cspModel.ModelTask;
+import dt.tsg.task.Task;
+import dt.tsg.task.TaskGenerationFramework;
+import dt.tsg.task.TaskInstance;
+import dt.tsg.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ListSchedulerTest {
+
+    @Test
+    void scheduleIsASolutionOfTheModel() {
+        Loader.loadNativeLibraries();
+        Random random = new Random();
+        Utils utils = new Utils(false, random);
+        TaskGenerationFramework tgf = new TaskGenerationFramework(false, random);
+
+        for (int iteration = 0; iteration < 20; iteration++) {
+            InputParameters inputs = new InputParameters();
+            inputs.setNoOverlapEncoding(InputParameters.NoOverlapEncoding.values()[iteration % 3]);
+            inputs.setMin_WCET(random.nextInt(-1, 3));
+            inputs.setMin_deadline(random.nextBoolean() ? -1 : 4);
+
+            // periodic tasks with period 10 and aperiodic tasks, precedence relations only point to tasks with a smaller id
+            ArrayList<Task> taskList = new ArrayList<>();
+            int numTasks = random.nextInt(1, 7);
+            for (int taskID = 0; taskID < numTasks; taskID++) {
+                boolean periodic = random.nextBoolean();
+                Task task = new Task(taskID, periodic ? 10 : 0, periodic, false);
+                if (random.nextBoolean()) task.addResourceConstraint(random.nextInt(3));
+                if (taskID > 0 && random.nextBoolean()) {
+                    int predID = random.nextInt(taskID);
+                    task.addPredecessor(predID);
+                    taskList.get(predID).addSuccessors(taskID);
+                }
+                taskList.add(task);
+            }
+            int limit = 30;
+            taskList.addAll(tgf.generateModelReadyPeriodicTaskInstances(taskList, limit, false));
+
+            CpModel cspModel = new CpModel();
+            DynamicConstraints dynamicConstraints = CSPModelFunctions.buildDynamicConstraints(cspModel, limit, inputs);
+            Map<Integer, ModelTask> modelTaskMap = CSPModelFunctions.buildCSPModelTasksAndConstraints(cspModel, limit, taskList, 3, dynamicConstraints, false, false, utils, inputs);
+
+            int[] schedule = ListScheduler.schedule(taskList, modelTaskMap, 3, new HashMap<>(), inputs, utils);
+            assertNotNull(schedule);
+
+            // fixing the original tasks to the schedule must leave a feasible model
+            for (Task task : taskList) {
+                if (task instanceof TaskInstance) continue;
+                ModelTask modelTask = modelTaskMap.get(task.getIdentifier());
+                cspModel.addEquality(modelTask.getStartVar(), schedule[task.getIdentifier() * 4]);
+                cspModel.addEquality(modelTask.getWcet(), schedule[task.getIdentifier() * 4 + 2]);
+                if (modelTask.getResource() != null)
+                    cspModel.addEquality(modelTask.getResource(), schedule[task.getIdentifier() * 4 + 3]);
+            }
+            CpSolver solver = new CpSolver();
+            solver.getParameters().setNumWorkers(1);
+            assertEquals(CpSolverStatus.OPTIMAL, solver.solve(cspModel));
+        }
+    }
+
+    @Test
+    void preferredWCETIsUsedIfTheTaskFits() {
+        Loader.loadNativeLibraries();
+        Utils utils = new Utils(false, new Random());
+        InputParameters inputs = new InputParameters();
+
+        // two aperiodic tasks on one resource, task 1 runs after task 0
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new Task(0, 0, false, false));
+        taskList.add(new Task(1, 0, false, false));
+        taskList.get(1).addPredecessor(0);
+        taskList.get(0).addSuccessors(1);
+
+        CpModel cspModel = new CpModel();
+        DynamicConstraints dynamicConstraints = CSPModelFunctions.buildDynamicConstraints(cspModel, 10, inputs);
+        Map<Integer, ModelTask> modelTaskMap = CSPModelFunctions.buildCSPModelTasksAndConstraints(cspModel, 10, taskList, 1, dynamicConstraints, false, false, utils, inputs);
+
+        int[] schedule = ListScheduler.schedule(taskList, modelTaskMap, 1, Map.of(0, 6, 1, 5), inputs, utils);
+        assertNotNull(schedule);
+        // task 0 runs with its preferred WCET, task 1 falls back to the minimum WCET
+        assertEquals(0, schedule[0]);
+        assertEquals(6, schedule[2]);
+        assertEquals(6, schedule[4]);
+        assertEquals(1, schedule[6]);
+
+        // three tasks of WCET 4 do not fit into the limit of 10
+        taskList.add(new Task(2, 0, false, false));
+        inputs.setMin_WCET(4);
+        cspModel = new CpModel();
+        dynamicConstraints = CSPModelFunctions.buildDynamicConstraints(cspModel, 10, inputs);
+        modelTaskMap = CSPModelFunctions.buildCSPModelTasksAndConstraints(cspModel, 10, taskList, 1, dynamicConstraints, false, false, utils, inputs);
+        assertNull(ListScheduler.schedule(taskList, modelTaskMap, 1, new HashMap<>(), inputs, utils));
+    }
+
+    @Test
+    void taskWithWCETZeroIsNotPlacedInsideAnotherTask() {
+        Loader.loadNativeLibraries();
+        Utils utils = new Utils(false, new Random());
+        InputParameters inputs = new InputParameters();
+        inputs.setMin_WCET(0);
+
+        // task 0 occupies resource 0, task 1 with WCET 0 is released on resource 0 by task 2 on resource 1
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new Task(0, 0, false, false));
+        taskList.add(new Task(1, 0, false, false));
+        taskList.add(new Task(2, 0, false, false));
+        taskList.get(0).addResourceConstraint(0);
+        taskList.get(1).addResourceConstraint(0);
+        taskList.get(2).addResourceConstraint(1);
+        taskList.get(1).addPredecessor(2);
+        taskList.get(2).addSuccessors(1);
+
+        CpModel cspModel = new CpModel();
+        DynamicConstraints dynamicConstraints = CSPModelFunctions.buildDynamicConstraints(cspModel, 10, inputs);
+        Map<Integer, ModelTask> modelTaskMap = CSPModelFunctions.buildCSPModelTasksAndConstraints(cspModel, 10, taskList, 2, dynamicConstraints, false, false, utils, inputs);
+
+        int[] schedule = ListScheduler.schedule(taskList, modelTaskMap, 2, Map.of(0, 4, 1, 0, 2, 1), inputs, utils);
+        assertNotNull(schedule);
+        // the CP-Solver only allows a task with WCET 0 on the start or end of another task on the same resource
+        assertEquals(0, schedule[0]);
+        assertEquals(4, schedule[1]);
+        assertEquals(0, schedule[6]);
+        assertEquals(4, schedule[4]);
+
+        for (Task task : taskList) {
+            ModelTask modelTask = modelTaskMap.get(task.getIdentifier());
+            cspModel.addEquality(modelTask.getStartVar(), schedule[task.getIdentifier() * 4]);
+            cspModel.addEquality(modelTask.getWcet(), schedule[task.getIdentifier() * 4 + 2]);
+        }
+        CpSolver solver = new CpSolver();
+        solver.getParameters().setNumWorkers(1);
+        assertEquals(CpSolverStatus.OPTIMAL, solver.solve(cspModel));
+    }
+}
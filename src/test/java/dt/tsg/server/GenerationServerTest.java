@@ -0,0 +1,87 @@
+package dt.tsg.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GenerationServerTest {
+
+    static final String INPUT = String.join("\n",
+            "Basic",
+            "tasknum 4 6",
+            "resourcenum 2 2",
+            "residencyconstraints 0 0",
+            "totalprecedencerelations 1 1",
+            "periodpercentage 0 0",
+            "periodlength 4 8",
+            "subgraphnumber 0",
+            "numberofworkerthreads 1",
+            "solutioncount 1",
+            "releasetimes -1 -1",
+            "deadlines -1 -1",
+            "wcet -1 -1",
+            "");
+
+    @Test
+    void jsonLinesRoundTrip() {
+        String text = "line 1\nline \"2\"\t\\";
+        Map<String, Object> request = JsonLines.parse("{\"id\": 7, \"text\": " + JsonLines.quote(text) + ", \"p\": 0.5, \"flag\": true, \"none\": null, \"u\": \"\\u0041\"}");
+        assertEquals(7L, request.get("id"));
+        assertEquals(text, request.get("text"));
+        assertEquals(0.5, request.get("p"));
+        assertEquals(true, request.get("flag"));
+        assertTrue(request.containsKey("none"));
+        assertEquals("A", request.get("u"));
+        assertTrue(JsonLines.parse("{}").isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> JsonLines.parse("{\"id\": 1"));
+        assertThrows(IllegalArgumentException.class, () -> JsonLines.parse("{\"id\": [1]}"));
+        assertThrows(IllegalArgumentException.class, () -> JsonLines.parse("{\"id\": 1} trailing"));
+    }
+
+    @Test
+    void serverAnswersEveryRequestWithOneLine() throws IOException {
+        GenerationServer server = new GenerationServer();
+        String requests = String.join("\n",
+                "{\"id\":\"a\",\"command\":\"generate\",\"input\":" + JsonLines.quote(INPUT) + ",\"seed\":42}",
+                "{\"id\":\"b\",\"input\":" + JsonLines.quote(INPUT) + ",\"seed\":42}",
+                "not json",
+                "",
+                "{\"id\":3,\"command\":\"unknown\"}",
+                "{\"id\":4,\"input\":\"Neither\\ntasknum 1 1\"}",
+                "{\"id\":5,\"command\":\"status\"}",
+                "{\"id\":6,\"command\":\"shutdown\"}",
+                "{\"id\":7,\"command\":\"status\"}");
+        StringWriter responses = new StringWriter();
+        server.serve(new BufferedReader(new StringReader(requests)), responses);
+
+        // the blank line is skipped and the request after the shutdown is not read
+        String[] lines = responses.toString().split("\n");
+        assertEquals(7, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"a\",\"status\":\"SUCCESS\",\"seed\":42,"));
+        assertTrue(lines[0].contains("\"metrics\":{\"numberOfTasks\":"));
+        // the same seed generates the same task set on the warmed framework
+        assertTrue(lines[1].startsWith("{\"id\":\"b\",\"status\":\"SUCCESS\",\"seed\":42,"));
+        assertEquals(taskSets(lines[0]), taskSets(lines[1]));
+        assertTrue(lines[2].startsWith("{\"id\":null,\"status\":\"ERROR\",\"reason\":\"INVALID_REQUEST\""));
+        assertTrue(lines[3].startsWith("{\"id\":3,\"status\":\"ERROR\",\"reason\":\"INVALID_REQUEST\""));
+        assertTrue(lines[4].startsWith("{\"id\":4,\"status\":\"ERROR\",\"reason\":\"INVALID_INPUT\""));
+        assertTrue(lines[5].startsWith("{\"id\":5,\"status\":\"OK\""));
+        assertTrue(lines[5].contains("\"requests\":6,\"inFlight\":0,\"statusCounts\":{\"ERROR\":3,\"SUCCESS\":2},\"frameworks\":1,\"idleFrameworks\":1"));
+        assertEquals("{\"id\":6,\"status\":\"SHUTDOWN\"}", lines[6]);
+        assertFalse(server.isRunning());
+    }
+
+    private static String taskSets(String response) {
+        return response.substring(response.indexOf("\"taskSets\":"), response.indexOf(",\"metrics\":"));
+    }
+}
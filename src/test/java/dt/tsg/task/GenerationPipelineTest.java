@@ -0,0 +1,117 @@
+package dt.tsg.task;
+
+import dt.tsg.InputParams.InputParameters;
+import dt.tsg.utils.GenerationResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GenerationPipelineTest {
+
+    static final boolean DEBUG = false;
+
+    @Test
+    void pipelineGeneratesTheTaskSetsOfTheBatch() {
+
+        InputParameters inputs = new InputParameters();
+        inputs.setMin_number_of_tasks(4);
+        inputs.setMax_number_of_tasks(12);
+        inputs.setMin_number_of_resources(2);
+        inputs.setMax_number_of_resources(4);
+        inputs.setMin_residency_constraints(0);
+        inputs.setMax_residency_constraints(0);
+        inputs.setMin_total_precedence_relations(2);
+        inputs.setMax_total_precedence_relations(2);
+        inputs.setMin_period_percentage(0);
+        inputs.setMax_period_percentage(0);
+        inputs.setSchedulingLimit(30);
+        inputs.setSubgraphNumber(0);
+        inputs.setPhasedReleaseTimes(false);
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(2);
+
+        // the seeds are derived like in a batch, the deterministic solver then finds the same task sets
+        List<GenerationResult> batch = new TaskGenerationFramework(DEBUG, 42L, new ArrayList<>()).generateBatch(inputs, false, 8, 2);
+        GenerationPipeline pipeline = new GenerationPipeline(new TaskGenerationFramework(DEBUG, 42L, new ArrayList<>()), 1, 2, 1, 2);
+        List<GenerationResult> pipelined = pipeline.run(inputs, false, 8);
+        assertEquals(8, pipelined.size());
+        for (int i = 0; i < 8; i++) {
+            assertEquals(GenerationResult.Status.SUCCESS, pipelined.get(i).status);
+            assertEquals(batch.get(i).seed, pipelined.get(i).seed);
+            assertEquals(batch.get(i).formattedTaskSets, pipelined.get(i).formattedTaskSets);
+            assertEquals(pipelined.get(i).formattedTaskSets.size(), pipelined.get(i).dotFiles.size());
+        }
+
+        // every stage processed every task set, and its queue never held more than its capacity
+        assertEquals(3, pipeline.getStageMetrics().size());
+        for (GenerationPipeline.StageMetrics metrics : pipeline.getStageMetrics()) {
+            assertEquals(8, metrics.getProcessed());
+            assertEquals(0, metrics.getQueueDepth());
+            assertTrue(metrics.getMaxQueueDepth() <= 2);
+        }
+        assertTrue(pipeline.toJson().startsWith("[{\"stage\":\"TASK_LIST\",\"threads\":1,\"queueCapacity\":2,"));
+
+        // a failing task set skips the remaining stages
+        inputs.setSubgraphNumber(20);
+        List<GenerationResult> failed = pipeline.run(inputs, false, 3);
+        failed.forEach(generationResult -> assertEquals(GenerationResult.Status.ERROR, generationResult.status));
+        assertEquals(3, pipeline.getStageMetrics().get(0).getProcessed());
+        assertEquals(0, pipeline.getStageMetrics().get(1).getProcessed());
+
+        assertThrows(IllegalArgumentException.class, () -> new GenerationPipeline(new TaskGenerationFramework(DEBUG, 42L, new ArrayList<>()), 1, 0, 1, 2));
+    }
+
+    @Test
+    void pipelineKeepsTheDotFilesOfStreamedSolutions() {
+
+        InputParameters inputs = new InputParameters();
+        inputs.setMin_number_of_tasks(6);
+        inputs.setMax_number_of_tasks(6);
+        inputs.setMin_number_of_resources(3);
+        inputs.setMax_number_of_resources(3);
+        inputs.setMin_residency_constraints(0);
+        inputs.setMax_residency_constraints(0);
+        inputs.setMin_total_precedence_relations(2);
+        inputs.setMax_total_precedence_relations(2);
+        inputs.setMin_period_percentage(0);
+        inputs.setMax_period_percentage(0);
+        inputs.setSchedulingLimit(20);
+        inputs.setSubgraphNumber(0);
+        inputs.setPhasedReleaseTimes(false);
+        inputs.setPostHocPrecedence(true);
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(4);
+        inputs.setSolutionConsumerThreads(2);
+
+        // the additional solutions are post-processed while the search runs, the first solution after it
+        List<GenerationResult> pipelined = new GenerationPipeline(new TaskGenerationFramework(DEBUG, 7L, new ArrayList<>()), 1, 2, 1, 2).run(inputs, false, 4);
+        for (GenerationResult generationResult : pipelined) {
+            assertEquals(GenerationResult.Status.SUCCESS, generationResult.status);
+            assertEquals(generationResult.formattedTaskSets.size(), generationResult.dotFiles.size());
+            // the post-hoc precedence relations differ between the solutions, the first dot file belongs to the task set of the first solution
+            assertEquals(generationResult.taskSet.generateDot(generationResult.taskSet.getTaskList()), generationResult.dotFiles.get(0));
+        }
+    }
+
+    @Test
+    void errorInAStageStopsThePipeline() {
+
+        // an Error is not turned into an ERROR result, it must not leave the pipeline waiting for the task set
+        InputParameters inputs = new InputParameters() {
+            @Override
+            public int getMin_number_of_tasks() {
+                throw new AssertionError("stage failed");
+            }
+        };
+        GenerationPipeline pipeline = new GenerationPipeline(new TaskGenerationFramework(DEBUG, 42L, new ArrayList<>()), 1, 1, 1, 1);
+        AssertionError error = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> assertThrows(AssertionError.class, () -> pipeline.run(inputs, false, 3)));
+        assertEquals("stage failed", error.getMessage());
+    }
+}
@@ -2,15 +2,27 @@ package dt.tsg.task;
 
 import dt.tsg.InputParams.InputParameters;
 import dt.tsg.InputParams.TGFFInputParameters;
+import dt.tsg.cspModel.InfeasibilityExplanation;
+import dt.tsg.cspModel.ModelMetrics;
+import dt.tsg.cspModel.Neighbourhood;
+import dt.tsg.cspModel.SolverRace;
+import dt.tsg.utils.GenerationException;
 import dt.tsg.utils.GenerationResult;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.Random;
 
 import static java.lang.System.gc;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 class TaskGenerationFrameworkTest {
@@ -124,6 +136,893 @@ class TaskGenerationFrameworkTest {
         this.printHints(generationResult);
     }
 
+    /**
+     * Checks that no two scheduled tasks of the first solution overlap on the same resource.
+     */
+    private void assertNoOverlapOnResources(GenerationResult generationResult) {
+        // the values of the first solution come first, one per task of the complete task list
+        int numTasks = generationResult.modelMetrics.getNumberOfTasks();
+        assertTrue(generationResult.startValues.size() >= numTasks);
+        for (int i = 0; i < numTasks; i++) {
+            for (int j = i + 1; j < numTasks; j++) {
+                if (!Objects.equals(generationResult.resourceValues.get(i), generationResult.resourceValues.get(j)))
+                    continue;
+                boolean overlap = generationResult.startValues.get(i) < generationResult.endValues.get(j) && generationResult.startValues.get(j) < generationResult.endValues.get(i);
+                assertFalse(overlap, "Tasks " + i + " and " + j + " overlap on resource " + generationResult.resourceValues.get(i));
+            }
+        }
+    }
+
+    @Test
+    void generateBasicTaskSetPerResourceNoOverlap() {
+
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, new Random());
+
+        InputParameters inputs = new InputParameters();
+
+        // Tasks
+        inputs.setMin_number_of_tasks(8);
+        inputs.setMax_number_of_tasks(8);
+        // Resources
+        inputs.setMin_number_of_resources(3);
+        inputs.setMax_number_of_resources(3);
+        // Residency
+        inputs.setMin_residency_constraints(2);
+        inputs.setMax_residency_constraints(2);
+        // Precedence
+        inputs.setMin_total_precedence_relations(3);
+        inputs.setMax_total_precedence_relations(3);
+        // Periods
+        inputs.setMin_period_percentage(100);
+        inputs.setMax_period_percentage(100);
+        inputs.setMin_period_length(4);
+        inputs.setMax_period_length(6);
+        // Schedule Generation Limit == Hyperperiod
+        inputs.setSchedulingLimit(-1);
+        // set releasetime , deadline, wcet
+        inputs.setMin_releaseTime(-1);
+        inputs.setMax_releaseTime(-1);
+        inputs.setMin_deadline(-1);
+        inputs.setMax_deadline(-1);
+        inputs.setMin_WCET(-1);
+        inputs.setMax_WCET(-1);
+        // set subgraph number
+        inputs.setSubgraphNumber(0);
+
+        // set distributions
+        inputs.setResidency_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodicity_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodLength_distribution(InputParameters.Distribution.UNIFORM);
+
+        // set generation options
+        inputs.setMultiResidency(true);
+        inputs.setPhasedReleaseTimes(false);
+        inputs.setPostHocPrecedence(false);
+        inputs.setPostHocResidency(false);
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(1);
+        inputs.setNoOverlapEncoding(InputParameters.NoOverlapEncoding.PERRESOURCE);
+
+        GenerationResult generationResult = tgf.GenerateBasicTaskSet(inputs, true);
+
+        assertNotNull(generationResult.taskSet);
+        assertNoOverlapOnResources(generationResult);
+    }
+
+    @Test
+    void generateBasicTaskSetPeriodicInstances() {
+
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, new Random());
+
+        InputParameters inputs = new InputParameters();
+
+        // Tasks
+        inputs.setMin_number_of_tasks(6);
+        inputs.setMax_number_of_tasks(6);
+        // Resources
+        inputs.setMin_number_of_resources(3);
+        inputs.setMax_number_of_resources(3);
+        // Residency
+        inputs.setMin_residency_constraints(1);
+        inputs.setMax_residency_constraints(1);
+        // Precedence
+        inputs.setMin_total_precedence_relations(2);
+        inputs.setMax_total_precedence_relations(2);
+        // Periods
+        inputs.setMin_period_percentage(100);
+        inputs.setMax_period_percentage(100);
+        inputs.setMin_period_length(4);
+        inputs.setMax_period_length(6);
+        // Schedule Generation Limit == Hyperperiod
+        inputs.setSchedulingLimit(-1);
+        // set releasetime , deadline, wcet
+        inputs.setMin_releaseTime(-1);
+        inputs.setMax_releaseTime(-1);
+        inputs.setMin_deadline(-1);
+        inputs.setMax_deadline(-1);
+        inputs.setMin_WCET(-1);
+        inputs.setMax_WCET(-1);
+        // set subgraph number
+        inputs.setSubgraphNumber(0);
+
+        // set distributions
+        inputs.setResidency_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodicity_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodLength_distribution(InputParameters.Distribution.UNIFORM);
+
+        // set generation options
+        inputs.setMultiResidency(false);
+        inputs.setPhasedReleaseTimes(true);
+        inputs.setPostHocPrecedence(false);
+        inputs.setPostHocResidency(false);
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(1);
+
+        GenerationResult generationResult = tgf.GenerateBasicTaskSet(inputs, true);
+
+        assertNotNull(generationResult.taskSet);
+        assertNoOverlapOnResources(generationResult);
+        // model metrics
+        ModelMetrics modelMetrics = generationResult.modelMetrics;
+        assertNotNull(modelMetrics);
+        int numTasks = generationResult.taskSet.getTaskList().size();
+        assertEquals(numTasks, modelMetrics.getNumberOfTasks());
+        assertEquals(generationResult.taskSet.getTaskList().stream().filter(task -> task instanceof TaskInstance).count(), modelMetrics.getNumberOfPeriodicInstances());
+        assertEquals((long) numTasks * (numTasks - 1) / 2, modelMetrics.getNoOverlapPairsCreated() + modelMetrics.getNoOverlapPairsSkipped());
+        assertTrue(modelMetrics.getNumberOfVariables() > 0);
+        assertTrue(modelMetrics.getConstraintCounts().containsKey("NO_OVERLAP"));
+        assertTrue(modelMetrics.getStageTimes().containsKey("buildCSPModelTasksAndConstraints"));
+        assertTrue(modelMetrics.getStageTimes().containsKey("solve"));
+        assertTrue(modelMetrics.toJson().startsWith("{\"numberOfTasks\":" + numTasks));
+        // periodic task instances are shifted copies of their original task
+        for (Task task : generationResult.taskSet.getTaskList()) {
+            if (!(task instanceof TaskInstance taskInstance)) continue;
+            int instanceID = task.getIdentifier();
+            int originalID = taskInstance.getOriginal_task_ID();
+            int offset = taskInstance.getInstance_number() * task.getPeriod();
+            assertEquals(generationResult.startValues.get(originalID) + offset, generationResult.startValues.get(instanceID));
+            assertEquals(generationResult.endValues.get(originalID) + offset, generationResult.endValues.get(instanceID));
+            assertEquals(generationResult.wcetValues.get(originalID), generationResult.wcetValues.get(instanceID));
+            assertEquals(generationResult.resourceValues.get(originalID), generationResult.resourceValues.get(instanceID));
+        }
+    }
+
+    @Test
+    void generateBasicTaskSetReusesCachedModel() {
+
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, new Random());
+
+        InputParameters inputs = new InputParameters();
+
+        // Tasks
+        inputs.setMin_number_of_tasks(6);
+        inputs.setMax_number_of_tasks(6);
+        // Resources
+        inputs.setMin_number_of_resources(3);
+        inputs.setMax_number_of_resources(3);
+        // Residency
+        inputs.setMin_residency_constraints(0);
+        inputs.setMax_residency_constraints(0);
+        // Precedence
+        inputs.setMin_total_precedence_relations(0);
+        inputs.setMax_total_precedence_relations(0);
+        // Periods
+        inputs.setMin_period_percentage(100);
+        inputs.setMax_period_percentage(100);
+        inputs.setMin_period_length(10);
+        inputs.setMax_period_length(10);
+        // Schedule Generation Limit == Hyperperiod
+        inputs.setSchedulingLimit(-1);
+        // set releasetime , deadline, wcet
+        inputs.setMin_releaseTime(-1);
+        inputs.setMax_releaseTime(-1);
+        inputs.setMin_deadline(-1);
+        inputs.setMax_deadline(-1);
+        inputs.setMin_WCET(-1);
+        inputs.setMax_WCET(-1);
+        // set subgraph number
+        inputs.setSubgraphNumber(0);
+
+        // set distributions
+        inputs.setResidency_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodicity_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodLength_distribution(InputParameters.Distribution.UNIFORM);
+
+        // set generation options
+        inputs.setMultiResidency(false);
+        inputs.setPhasedReleaseTimes(false);
+        inputs.setPostHocPrecedence(false);
+        inputs.setPostHocResidency(false);
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(1);
+        inputs.setModelCacheSize(2);
+
+        // every task set has the same structure, only the first one builds the model
+        for (int i = 0; i < 3; i++) {
+            GenerationResult generationResult = tgf.GenerateBasicTaskSet(inputs, true);
+            assertNotNull(generationResult.taskSet);
+            assertNoOverlapOnResources(generationResult);
+            assertEquals(i > 0, generationResult.modelMetrics.isTemplateReused());
+        }
+        assertEquals(1, tgf.modelTemplateCache.getMisses());
+        assertEquals(2, tgf.modelTemplateCache.getHits());
+        assertEquals(1, tgf.modelTemplateCache.size());
+    }
+
+    @Test
+    void generateBasicTaskSetStreamsAdditionalSolutions() {
+
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, new Random());
+
+        InputParameters inputs = new InputParameters();
+
+        // Tasks
+        inputs.setMin_number_of_tasks(6);
+        inputs.setMax_number_of_tasks(6);
+        // Resources
+        inputs.setMin_number_of_resources(3);
+        inputs.setMax_number_of_resources(3);
+        // Residency
+        inputs.setMin_residency_constraints(0);
+        inputs.setMax_residency_constraints(0);
+        // Precedence
+        inputs.setMin_total_precedence_relations(0);
+        inputs.setMax_total_precedence_relations(0);
+        // Periods
+        inputs.setMin_period_percentage(100);
+        inputs.setMax_period_percentage(100);
+        inputs.setMin_period_length(10);
+        inputs.setMax_period_length(10);
+        // Schedule Generation Limit == Hyperperiod
+        inputs.setSchedulingLimit(-1);
+        // set releasetime , deadline, wcet
+        inputs.setMin_releaseTime(-1);
+        inputs.setMax_releaseTime(-1);
+        inputs.setMin_deadline(-1);
+        inputs.setMax_deadline(-1);
+        inputs.setMin_WCET(-1);
+        inputs.setMax_WCET(-1);
+        // set subgraph number
+        inputs.setSubgraphNumber(0);
+
+        // set distributions
+        inputs.setResidency_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodicity_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodLength_distribution(InputParameters.Distribution.UNIFORM);
+
+        // set generation options
+        inputs.setMultiResidency(false);
+        inputs.setPhasedReleaseTimes(false);
+        inputs.setPostHocPrecedence(true);
+        inputs.setPostHocResidency(true);
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(3);
+        inputs.setSolutionConsumerThreads(2);
+
+        GenerationResult generationResult = tgf.GenerateBasicTaskSet(inputs, true);
+        assertNotNull(generationResult.taskSet);
+        assertNoOverlapOnResources(generationResult);
+
+        // the first solution is read from the solver, the additional solutions are streamed during the search and duplicates are dropped
+        ModelMetrics modelMetrics = generationResult.modelMetrics;
+        assertEquals(3, modelMetrics.getSolutionsFound());
+        assertEquals(modelMetrics.getSolutionsFound() - modelMetrics.getDuplicateSolutions(), generationResult.formattedTaskSets.size());
+        generationResult.formattedTaskSets.forEach(formattedTaskSet -> assertFalse(formattedTaskSet.isEmpty()));
+
+        // every streamed solution draws from its own streams, so a fixed seed reproduces the additional task sets
+        GenerationResult first = new TaskGenerationFramework(DEBUG, 11L, new ArrayList<>()).GenerateBasicTaskSet(inputs, true);
+        GenerationResult second = new TaskGenerationFramework(DEBUG, 11L, new ArrayList<>()).GenerateBasicTaskSet(inputs, true);
+        assertEquals(first.formattedTaskSets, second.formattedTaskSets);
+    }
+
+    @Test
+    void generateBasicTaskSetWithSolverProfiles() {
+
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, new Random());
+
+        InputParameters inputs = new InputParameters();
+
+        // Tasks
+        inputs.setMin_number_of_tasks(8);
+        inputs.setMax_number_of_tasks(8);
+        // Resources
+        inputs.setMin_number_of_resources(3);
+        inputs.setMax_number_of_resources(3);
+        // Residency
+        inputs.setMin_residency_constraints(0);
+        inputs.setMax_residency_constraints(2);
+        // Precedence
+        inputs.setMin_total_precedence_relations(0);
+        inputs.setMax_total_precedence_relations(3);
+        // Periods
+        inputs.setMin_period_percentage(50);
+        inputs.setMax_period_percentage(50);
+        inputs.setMin_period_length(10);
+        inputs.setMax_period_length(10);
+        // Schedule Generation Limit == Hyperperiod
+        inputs.setSchedulingLimit(-1);
+        // set releasetime , deadline, wcet
+        inputs.setMin_releaseTime(-1);
+        inputs.setMax_releaseTime(-1);
+        inputs.setMin_deadline(-1);
+        inputs.setMax_deadline(-1);
+        inputs.setMin_WCET(-1);
+        inputs.setMax_WCET(-1);
+        // set subgraph number
+        inputs.setSubgraphNumber(0);
+
+        // set distributions
+        inputs.setResidency_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodicity_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodLength_distribution(InputParameters.Distribution.UNIFORM);
+
+        // set generation options
+        inputs.setMultiResidency(false);
+        inputs.setPhasedReleaseTimes(false);
+        inputs.setPostHocPrecedence(false);
+        inputs.setPostHocResidency(false);
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(1);
+
+        // every profile solves the model on its own
+        for (InputParameters.SolverProfile profile : InputParameters.SolverProfile.values()) {
+            inputs.setSolverProfile(profile);
+            GenerationResult generationResult = tgf.GenerateBasicTaskSet(inputs, true);
+            assertNotNull(generationResult.taskSet);
+            assertNoOverlapOnResources(generationResult);
+            assertEquals(profile.toString(), generationResult.modelMetrics.getSolverProfile());
+        }
+
+        // racing profiles, the HINT profile races with two seeds
+        ArrayList<InputParameters.SolverProfile> race = new ArrayList<>(List.of(InputParameters.SolverProfile.HINT, InputParameters.SolverProfile.HINT, InputParameters.SolverProfile.AUTOMATIC));
+        inputs.setSolverRace(race);
+        int racesBefore = 0;
+        for (InputParameters.SolverProfile profile : InputParameters.SolverProfile.values()) {
+            racesBefore += SolverRace.getWins(profile);
+        }
+        GenerationResult generationResult = tgf.GenerateBasicTaskSet(inputs, true);
+        assertNotNull(generationResult.taskSet);
+        assertNoOverlapOnResources(generationResult);
+        assertTrue(race.contains(InputParameters.SolverProfile.valueOf(generationResult.modelMetrics.getSolverProfile())));
+        int racesAfter = 0;
+        for (InputParameters.SolverProfile profile : InputParameters.SolverProfile.values()) {
+            racesAfter += SolverRace.getWins(profile);
+        }
+        assertEquals(racesBefore + 1, racesAfter);
+    }
+
+    @Test
+    void generateBasicTaskSetWithTimeLimits() {
+
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, new Random());
+
+        InputParameters inputs = new InputParameters();
+
+        // Tasks
+        inputs.setMin_number_of_tasks(12);
+        inputs.setMax_number_of_tasks(12);
+        // Resources
+        inputs.setMin_number_of_resources(3);
+        inputs.setMax_number_of_resources(3);
+        // Residency
+        inputs.setMin_residency_constraints(2);
+        inputs.setMax_residency_constraints(4);
+        // Precedence
+        inputs.setMin_total_precedence_relations(2);
+        inputs.setMax_total_precedence_relations(4);
+        // Periods
+        inputs.setMin_period_percentage(50);
+        inputs.setMax_period_percentage(50);
+        inputs.setMin_period_length(10);
+        inputs.setMax_period_length(10);
+        // Schedule Generation Limit == Hyperperiod
+        inputs.setSchedulingLimit(-1);
+        // set releasetime , deadline, wcet
+        inputs.setMin_releaseTime(-1);
+        inputs.setMax_releaseTime(-1);
+        inputs.setMin_deadline(-1);
+        inputs.setMax_deadline(-1);
+        inputs.setMin_WCET(-1);
+        inputs.setMax_WCET(-1);
+        // set subgraph number
+        inputs.setSubgraphNumber(0);
+
+        // set distributions
+        inputs.setResidency_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodicity_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodLength_distribution(InputParameters.Distribution.UNIFORM);
+
+        // set generation options
+        inputs.setMultiResidency(false);
+        inputs.setPhasedReleaseTimes(false);
+        inputs.setPostHocPrecedence(false);
+        inputs.setPostHocResidency(false);
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(1);
+
+        // a budget that suffices, the result reports the status and the statistics of the solver
+        inputs.setTimeLimit(60);
+        inputs.setDeterministicTimeLimit(60);
+        GenerationResult generationResult = tgf.GenerateBasicTaskSet(inputs, true);
+        assertEquals(GenerationResult.Status.SUCCESS, generationResult.status);
+        assertNotNull(generationResult.taskSet);
+        assertFalse(generationResult.solverStats.isEmpty());
+        assertTrue(generationResult.deterministicTime <= 60);
+    }
+
+    @Test
+    void generateBasicTaskSetWithListSchedulingHints() {
+
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, new Random());
+
+        InputParameters inputs = new InputParameters();
+
+        // Tasks
+        inputs.setMin_number_of_tasks(12);
+        inputs.setMax_number_of_tasks(12);
+        // Resources
+        inputs.setMin_number_of_resources(3);
+        inputs.setMax_number_of_resources(3);
+        // Residency
+        inputs.setMin_residency_constraints(2);
+        inputs.setMax_residency_constraints(4);
+        // Precedence
+        inputs.setMin_total_precedence_relations(2);
+        inputs.setMax_total_precedence_relations(4);
+        // Periods
+        inputs.setMin_period_percentage(50);
+        inputs.setMax_period_percentage(50);
+        inputs.setMin_period_length(10);
+        inputs.setMax_period_length(10);
+        // Schedule Generation Limit == Hyperperiod
+        inputs.setSchedulingLimit(-1);
+        // set releasetime , deadline, wcet
+        inputs.setMin_releaseTime(-1);
+        inputs.setMax_releaseTime(-1);
+        inputs.setMin_deadline(-1);
+        inputs.setMax_deadline(-1);
+        inputs.setMin_WCET(-1);
+        inputs.setMax_WCET(-1);
+        // set subgraph number
+        inputs.setSubgraphNumber(0);
+
+        // set distributions
+        inputs.setResidency_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodicity_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodLength_distribution(InputParameters.Distribution.UNIFORM);
+
+        // set generation options
+        inputs.setMultiResidency(false);
+        inputs.setPhasedReleaseTimes(false);
+        inputs.setPostHocPrecedence(false);
+        inputs.setPostHocResidency(false);
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(1);
+
+        // the list schedule hints the start, end, WCET and resource of every task that is not a periodic instance
+        inputs.setHintStrategy(InputParameters.HintStrategy.LISTSCHEDULING);
+        for (InputParameters.NoOverlapEncoding encoding : InputParameters.NoOverlapEncoding.values()) {
+            inputs.setNoOverlapEncoding(encoding);
+            GenerationResult generationResult = tgf.GenerateBasicTaskSet(inputs, true);
+            assertEquals(GenerationResult.Status.SUCCESS, generationResult.status);
+            assertNoOverlapOnResources(generationResult);
+            assertEquals(generationResult.wcetHints.size(), generationResult.startHints.size());
+            assertEquals(generationResult.wcetHints.size(), generationResult.endHints.size());
+            assertEquals(6, generationResult.dynamicHints.size());
+        }
+    }
+
+    @Test
+    void generateBasicTaskSetWithHeuristicEngine() {
+
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, new Random());
+
+        InputParameters inputs = new InputParameters();
+
+        // Tasks
+        inputs.setMin_number_of_tasks(1000);
+        inputs.setMax_number_of_tasks(1000);
+        // Resources
+        inputs.setMin_number_of_resources(100);
+        inputs.setMax_number_of_resources(100);
+        // Residency
+        inputs.setMin_residency_constraints(100);
+        inputs.setMax_residency_constraints(100);
+        // Precedence
+        inputs.setMin_total_precedence_relations(100);
+        inputs.setMax_total_precedence_relations(100);
+        // Periods
+        inputs.setMin_period_percentage(50);
+        inputs.setMax_period_percentage(50);
+        inputs.setMin_period_length(20);
+        inputs.setMax_period_length(20);
+        // Schedule Generation Limit, 10 instances of every periodic task
+        inputs.setSchedulingLimit(200);
+        // set releasetime , deadline, wcet
+        inputs.setMin_releaseTime(-1);
+        inputs.setMax_releaseTime(-1);
+        inputs.setMin_deadline(-1);
+        inputs.setMax_deadline(-1);
+        inputs.setMin_WCET(-1);
+        inputs.setMax_WCET(-1);
+        // set subgraph number
+        inputs.setSubgraphNumber(0);
+
+        // set distributions
+        inputs.setResidency_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodicity_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodLength_distribution(InputParameters.Distribution.UNIFORM);
+
+        // set generation options
+        inputs.setMultiResidency(false);
+        inputs.setPhasedReleaseTimes(false);
+        inputs.setPostHocPrecedence(false);
+        inputs.setPostHocResidency(false);
+        inputs.setSolutionCount(2);
+
+        // the schedule is constructed without the CP-Solver and formatted like a solution of the CP-Solver
+        inputs.setEngine(InputParameters.Engine.HEURISTIC);
+        GenerationResult generationResult = tgf.GenerateBasicTaskSet(inputs, true);
+        assertEquals(GenerationResult.Status.SUCCESS, generationResult.status);
+        assertNotNull(generationResult.taskSet);
+        assertEquals("HEURISTIC", generationResult.modelMetrics.getEngine());
+        assertTrue(generationResult.modelMetrics.getHeuristicIterations() >= 1);
+        assertEquals(0, generationResult.modelMetrics.getNumberOfVariables());
+        assertEquals(generationResult.modelMetrics.getSolutionsFound() - generationResult.modelMetrics.getDuplicateSolutions(), generationResult.formattedTaskSets.size());
+
+        // the values of the first solution are stored once
+        int numTasks = generationResult.startValues.size();
+        assertEquals(generationResult.modelMetrics.getNumberOfTasks(), numTasks);
+        for (int i = 0; i < numTasks; i++) {
+            assertTrue(generationResult.resourceValues.get(i) >= 0 && generationResult.resourceValues.get(i) < 100);
+            for (int j = i + 1; j < numTasks; j++) {
+                if (!Objects.equals(generationResult.resourceValues.get(i), generationResult.resourceValues.get(j)))
+                    continue;
+                boolean overlap = generationResult.startValues.get(i) < generationResult.endValues.get(j) && generationResult.startValues.get(j) < generationResult.endValues.get(i);
+                assertFalse(overlap, "Tasks " + i + " and " + j + " overlap on resource " + generationResult.resourceValues.get(i));
+            }
+        }
+    }
+
+    @Test
+    void mixedPeriodicTaskSetEscalatesSchedulingLimit() {
+
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, new Random());
+
+        InputParameters inputs = new InputParameters();
+        inputs.setSchedulingLimit(-1);
+        inputs.setMin_releaseTime(-1);
+        inputs.setMax_releaseTime(-1);
+        inputs.setMin_deadline(-1);
+        inputs.setMax_deadline(-1);
+        inputs.setMin_WCET(-1);
+        inputs.setMax_WCET(-1);
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(1);
+
+        // one periodic task with period 2 and three aperiodic tasks on one resource
+        // limit 2 holds 4 tasks, limit 4 holds 5 tasks and limit 8 holds 7 tasks, only the last one fits
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new Task(0, 2, true, false));
+        for (int taskID = 1; taskID < 4; taskID++) {
+            taskList.add(new Task(taskID, 0, false, false));
+        }
+        int limit = 2;
+        taskList.addAll(tgf.generateModelReadyPeriodicTaskInstances(taskList, limit, false));
+
+        GenerationResult generationResult = tgf.solveWithLimitEscalation(limit, taskList, 1, inputs, false);
+        assertEquals(GenerationResult.Status.SUCCESS, generationResult.status);
+        assertEquals(2, generationResult.modelMetrics.getLimitEscalations());
+        assertEquals(8, generationResult.modelMetrics.getSchedulingLimit());
+        // the periodic task has instances at 2, 4 and 6
+        assertEquals(7, taskList.size());
+        assertNoOverlapOnResources(generationResult);
+
+        // without escalations the attempt stays infeasible
+        taskList.removeIf(task -> task instanceof TaskInstance);
+        taskList.addAll(tgf.generateModelReadyPeriodicTaskInstances(taskList, limit, false));
+        inputs.setMaxLimitEscalations(0);
+        generationResult = tgf.solveWithLimitEscalation(limit, taskList, 1, inputs, false);
+        assertEquals(GenerationResult.Status.INFEASIBLE, generationResult.status);
+        assertEquals(0, generationResult.modelMetrics.getLimitEscalations());
+        // 4 tasks do not fit into limit 2 on one resource, the feasibility pre-checks reject the task list before the CP Model is built
+        assertFalse(generationResult.preCheckViolations.isEmpty());
+        assertEquals(0, generationResult.modelMetrics.getNumberOfVariables());
+
+        // the solver proves the same without the pre-checks
+        inputs.setFeasibilityPreChecks(false);
+        generationResult = tgf.solveWithLimitEscalation(limit, taskList, 1, inputs, false);
+        assertEquals(GenerationResult.Status.INFEASIBLE, generationResult.status);
+        assertTrue(generationResult.preCheckViolations.isEmpty());
+    }
+
+    @Test
+    void mutatedTaskSetKeepsTheTasksOutsideTheNeighbourhood() {
+
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, new Random());
+
+        InputParameters inputs = new InputParameters();
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(1);
+
+        // two chains of aperiodic tasks and one periodic task on two resources
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new Task(0, 10, true, false));
+        for (int taskID = 1; taskID < 7; taskID++) {
+            taskList.add(new Task(taskID, 0, false, false));
+        }
+        for (int taskID = 2; taskID < 7; taskID++) {
+            if (taskID == 4) continue;
+            taskList.get(taskID).addPredecessor(taskID - 1);
+            taskList.get(taskID - 1).addSuccessors(taskID);
+        }
+        int limit = 40;
+        taskList.addAll(tgf.generateModelReadyPeriodicTaskInstances(taskList, limit, false));
+
+        GenerationResult solved = tgf.solveWithLimitEscalation(limit, taskList, 2, inputs, false);
+        assertEquals(GenerationResult.Status.SUCCESS, solved.status);
+        assertNotNull(solved.solution);
+
+        for (Neighbourhood.Kind kind : Neighbourhood.Kind.values()) {
+            GenerationResult mutated = tgf.mutateTaskSet(solved, inputs, kind);
+            assertEquals(GenerationResult.Status.SUCCESS, mutated.status);
+            assertEquals(kind.toString(), mutated.modelMetrics.getNeighbourhood());
+            assertNoOverlapOnResources(mutated);
+
+            // only the free tasks differ from the solved task set, and at least one of them changed
+            int changedTasks = 0;
+            for (int taskID = 0; taskID < 7; taskID++) {
+                if (solved.solution[taskID * 4] != mutated.solution[taskID * 4] || solved.solution[taskID * 4 + 2] != mutated.solution[taskID * 4 + 2])
+                    changedTasks++;
+            }
+            assertTrue(changedTasks >= 1 && changedTasks <= mutated.modelMetrics.getNeighbourhoodSize());
+            // a subgraph is one of the chains or the periodic task
+            if (kind == Neighbourhood.Kind.SUBGRAPH) assertTrue(mutated.modelMetrics.getNeighbourhoodSize() <= 3);
+
+            // the mutated task set can be mutated again
+            assertNotNull(tgf.mutateTaskSet(mutated, inputs, null).status);
+        }
+
+        // a task set without a solution can not be mutated
+        assertThrows(IllegalArgumentException.class, () -> tgf.mutateTaskSet(new GenerationResult(), inputs, null));
+    }
+
+    @Test
+    void diverseSolutionPoolSolvesOncePerSolution() {
+
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, new Random());
+
+        InputParameters inputs = new InputParameters();
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(3);
+        inputs.setMinSolutionDistance(4);
+
+        // six aperiodic tasks on two resources leave room for many different WCETs
+        ArrayList<Task> taskList = new ArrayList<>();
+        for (int taskID = 0; taskID < 6; taskID++) {
+            taskList.add(new Task(taskID, 0, false, false));
+        }
+        GenerationResult generationResult = tgf.solveWithLimitEscalation(40, taskList, 2, inputs, false);
+        assertEquals(GenerationResult.Status.SUCCESS, generationResult.status);
+        assertEquals(3, generationResult.formattedTaskSets.size());
+        assertEquals(3, generationResult.modelMetrics.getSolutionsFound());
+        assertTrue(generationResult.modelMetrics.getStageTimes().containsKey("diverseSolutions"));
+
+        // 6 tasks can not differ in 13 WCETs and resources, only the first solution is found
+        inputs.setMinSolutionDistance(13);
+        generationResult = tgf.solveWithLimitEscalation(40, taskList, 2, inputs, false);
+        assertEquals(GenerationResult.Status.SUCCESS, generationResult.status);
+        assertEquals(1, generationResult.formattedTaskSets.size());
+
+        // the first solve uses up the deterministic time limit of the task set, the pool stops without solving again
+        inputs.setMinSolutionDistance(4);
+        generationResult = new TaskGenerationFramework(DEBUG, new Random(3)).solveWithLimitEscalation(40, taskList, 2, inputs, false);
+        inputs.setDeterministicTimeLimit(generationResult.deterministicTime);
+        TaskGenerationFramework limitedTgf = new TaskGenerationFramework(DEBUG, new Random(3));
+        generationResult = limitedTgf.solveWithLimitEscalation(40, taskList, 2, inputs, false);
+        assertEquals(GenerationResult.Status.SUCCESS, generationResult.status);
+        assertEquals(1, generationResult.formattedTaskSets.size());
+        assertTrue(limitedTgf.warnings.stream().anyMatch(warning -> warning.contains("The time limits of the task set ran out.")));
+    }
+
+    @Test
+    void generateBatchIsReproducibleAndKeepsTheOrder() {
+
+        InputParameters inputs = new InputParameters();
+        inputs.setMin_number_of_tasks(4);
+        inputs.setMax_number_of_tasks(12);
+        inputs.setMin_number_of_resources(2);
+        inputs.setMax_number_of_resources(4);
+        inputs.setMin_residency_constraints(0);
+        inputs.setMax_residency_constraints(0);
+        inputs.setMin_total_precedence_relations(2);
+        inputs.setMax_total_precedence_relations(2);
+        inputs.setMin_period_percentage(0);
+        inputs.setMax_period_percentage(0);
+        inputs.setSchedulingLimit(30);
+        inputs.setMin_releaseTime(-1);
+        inputs.setMax_releaseTime(-1);
+        inputs.setMin_deadline(-1);
+        inputs.setMax_deadline(-1);
+        inputs.setMin_WCET(-1);
+        inputs.setMax_WCET(-1);
+        inputs.setSubgraphNumber(0);
+        inputs.setPhasedReleaseTimes(false);
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(1);
+        inputs.setModelCacheSize(4);
+
+        // the task lists only depend on the seed of the framework, not on the order in which the worker threads finish
+        List<GenerationResult> firstBatch = new TaskGenerationFramework(DEBUG, new Random(7)).generateBatch(inputs, false, 8, 4);
+        List<GenerationResult> secondBatch = new TaskGenerationFramework(DEBUG, new Random(7)).generateBatch(inputs, false, 8, 2);
+        for (int i = 0; i < 8; i++) {
+            assertEquals(firstBatch.get(i).seed, secondBatch.get(i).seed);
+        }
+
+        // the seed of the streams is not drawn from the random number generator of the caller, which keeps its sequence
+        Random random = new Random(7);
+        new TaskGenerationFramework(DEBUG, random);
+        assertEquals(new Random(7).nextLong(), random.nextLong());
+
+        // with a root seed, a single task set of a batch is generated again without the other ones, including the solver search
+        TaskGenerationFramework seeded = new TaskGenerationFramework(DEBUG, 42L, new ArrayList<>());
+        List<GenerationResult> seededBatch = seeded.generateBatch(inputs, false, 6, 3);
+        GenerationResult regenerated = new TaskGenerationFramework(DEBUG, 42L, new ArrayList<>()).regenerateBatchTaskSet(inputs, false, 4);
+        assertEquals(seededBatch.get(4).seed, regenerated.seed);
+        assertEquals(seededBatch.get(4).formattedTaskSets, regenerated.formattedTaskSets);
+        assertEquals(8, firstBatch.size());
+        assertEquals(8, secondBatch.size());
+        for (int i = 0; i < 8; i++) {
+            assertEquals(GenerationResult.Status.SUCCESS, firstBatch.get(i).status);
+            assertEquals(GenerationResult.Status.SUCCESS, secondBatch.get(i).status);
+            assertEquals(firstBatch.get(i).modelMetrics.getNumberOfTasks(), secondBatch.get(i).modelMetrics.getNumberOfTasks());
+            assertEquals(firstBatch.get(i).modelMetrics.getNumberOfResources(), secondBatch.get(i).modelMetrics.getNumberOfResources());
+            assertNotNull(firstBatch.get(i).warnings);
+            assertNoOverlapOnResources(firstBatch.get(i));
+        }
+    }
+
+    @Test
+    void invalidInputsThrowInsteadOfExiting() {
+
+        InputParameters inputs = new InputParameters();
+        inputs.setMin_number_of_tasks(2);
+        inputs.setMax_number_of_tasks(3);
+        inputs.setMin_number_of_resources(1);
+        inputs.setMax_number_of_resources(1);
+        inputs.setMin_residency_constraints(5);
+        inputs.setMax_residency_constraints(5);
+        inputs.setMin_total_precedence_relations(0);
+        inputs.setMax_total_precedence_relations(0);
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(1);
+
+        // more residency constraints than tasks can not be repaired
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, new Random());
+        GenerationException exception = assertThrows(GenerationException.class, () -> tgf.GenerateBasicTaskSet(inputs, false));
+        assertEquals(GenerationException.Reason.INVALID_INPUT, exception.getReason());
+
+        // more subgraphs than tasks do not pass the sanity checks
+        inputs.setMin_residency_constraints(0);
+        inputs.setMax_residency_constraints(0);
+        inputs.setSubgraphNumber(20);
+        exception = assertThrows(GenerationException.class, inputs::executeSanityChecks);
+        assertEquals(GenerationException.Reason.INVALID_INPUT, exception.getReason());
+
+        // a batch reports the failure in the generation results
+        List<GenerationResult> batch = tgf.generateBatch(inputs, false, 2, 2);
+        assertEquals(2, batch.size());
+        batch.forEach(generationResult -> assertEquals(GenerationResult.Status.ERROR, generationResult.status));
+
+        // the default policy never retries, a policy with a maximum retries below it
+        assertFalse(tgf.getResourceEscalationPolicy().retryWithAdditionalResource(1));
+        assertTrue(ResourceEscalationPolicy.upTo(3).retryWithAdditionalResource(2));
+        assertFalse(ResourceEscalationPolicy.upTo(3).retryWithAdditionalResource(3));
+    }
+
+    @Test
+    void infeasibleConfigurationIsExplainedAndMemoized() {
+
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, new Random());
+
+        InputParameters inputs = new InputParameters();
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(1);
+        inputs.setMaxLimitEscalations(0);
+        inputs.setFeasibilityPreChecks(false);
+        inputs.setExplainInfeasibility(true);
+
+        // one periodic task with period 2 and three aperiodic tasks do not fit into limit 2 on one resource
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new Task(0, 2, true, false));
+        for (int taskID = 1; taskID < 4; taskID++) {
+            taskList.add(new Task(taskID, 0, false, false));
+        }
+        int limit = 2;
+        taskList.addAll(tgf.generateModelReadyPeriodicTaskInstances(taskList, limit, false));
+
+        GenerationResult generationResult = tgf.solveWithLimitEscalation(limit, taskList, 1, inputs, false);
+        assertEquals(GenerationResult.Status.INFEASIBLE, generationResult.status);
+        assertEquals(List.of(InfeasibilityExplanation.ConstraintGroup.SCHEDULING_LIMIT), generationResult.infeasibilityCore);
+        assertFalse(generationResult.modelMetrics.isInfeasibilityMemoHit());
+
+        // the same configuration is rejected by the memo without building the CP Model
+        generationResult = tgf.solveWithLimitEscalation(limit, taskList, 1, inputs, false);
+        assertEquals(GenerationResult.Status.INFEASIBLE, generationResult.status);
+        assertEquals(List.of(InfeasibilityExplanation.ConstraintGroup.SCHEDULING_LIMIT), generationResult.infeasibilityCore);
+        assertTrue(generationResult.modelMetrics.isInfeasibilityMemoHit());
+        assertEquals(0, generationResult.modelMetrics.getNumberOfVariables());
+
+        // another task list with the same scheduling limit and number of resources is solved, it fits
+        ArrayList<Task> otherTaskList = new ArrayList<>();
+        otherTaskList.add(new Task(0, 0, false, false));
+        generationResult = tgf.solveWithLimitEscalation(limit, otherTaskList, 1, inputs, false);
+        assertEquals(GenerationResult.Status.SUCCESS, generationResult.status);
+        assertFalse(generationResult.modelMetrics.isInfeasibilityMemoHit());
+
+        // the worker threads of a batch share the memo
+        assertSame(tgf.getInfeasibilityMemo(inputs), tgf.newCacheHolder().infeasibilityMemo);
+    }
+
+    @Test
+    void generateBasicTaskSetCumulativeResources() {
+
+        TaskGenerationFramework tgf = new TaskGenerationFramework(DEBUG, new Random());
+
+        InputParameters inputs = new InputParameters();
+
+        // Tasks
+        inputs.setMin_number_of_tasks(10);
+        inputs.setMax_number_of_tasks(10);
+        // Resources
+        inputs.setMin_number_of_resources(3);
+        inputs.setMax_number_of_resources(3);
+        // Residency
+        inputs.setMin_residency_constraints(0);
+        inputs.setMax_residency_constraints(0);
+        // Precedence
+        inputs.setMin_total_precedence_relations(2);
+        inputs.setMax_total_precedence_relations(2);
+        // Periods
+        inputs.setMin_period_percentage(100);
+        inputs.setMax_period_percentage(100);
+        inputs.setMin_period_length(12);
+        inputs.setMax_period_length(12);
+        // Schedule Generation Limit == Hyperperiod
+        inputs.setSchedulingLimit(-1);
+        // set releasetime , deadline, wcet
+        inputs.setMin_releaseTime(-1);
+        inputs.setMax_releaseTime(-1);
+        inputs.setMin_deadline(-1);
+        inputs.setMax_deadline(-1);
+        inputs.setMin_WCET(2);
+        inputs.setMax_WCET(-1);
+        // set subgraph number
+        inputs.setSubgraphNumber(0);
+
+        // set distributions
+        inputs.setResidency_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodicity_distribution(InputParameters.Distribution.UNIFORM);
+        inputs.setPeriodLength_distribution(InputParameters.Distribution.UNIFORM);
+
+        // set generation options
+        inputs.setMultiResidency(false);
+        inputs.setPhasedReleaseTimes(false);
+        inputs.setPostHocPrecedence(false);
+        inputs.setPostHocResidency(true);
+        inputs.setNumberOfWorkerThreads(1);
+        inputs.setSolutionCount(1);
+        inputs.setNoOverlapEncoding(InputParameters.NoOverlapEncoding.CUMULATIVE);
+
+        GenerationResult generationResult = tgf.GenerateBasicTaskSet(inputs, false);
+
+        assertNotNull(generationResult.taskSet);
+        assertNoOverlapOnResources(generationResult);
+        for (int resource : generationResult.resourceValues) {
+            assertTrue(resource >= 0 && resource < 3, "Resource " + resource + " is not within [0,2]");
+        }
+    }
+
     @Test
     void generateBasicTaskSetN1000() {
         int iterations = 10;
@@ -0,0 +1,52 @@
+package dt.tsg.taskSet;
+
+import dt.tsg.task.Task;
+import dt.tsg.task.TaskInstance;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class SolutionFingerprintTest {
+
+    @Test
+    void fingerprintIgnoresResourceNamesAndInstances() {
+        // two periodic tasks with period 10 and one instance of task 0
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new Task(0, 10, true, false));
+        taskList.add(new Task(1, 10, true, false));
+        taskList.add(new TaskInstance(2, 10, true, false));
+
+        // {start, end, wcet, resource} per task
+        int[] solution = {0, 2, 2, 0, 1, 4, 3, 1, 10, 12, 2, 0};
+        int[] renamedResources = {0, 2, 2, 1, 1, 4, 3, 0, 10, 12, 2, 1};
+        int[] sharedResource = {0, 2, 2, 0, 2, 5, 3, 0, 10, 12, 2, 0};
+        int[] movedInstance = {0, 2, 2, 0, 1, 4, 3, 1, 11, 13, 2, 1};
+        int[] movedTask = {0, 2, 2, 0, 2, 5, 3, 1, 10, 12, 2, 0};
+
+        SolutionFingerprint fingerprint = SolutionFingerprint.of(taskList, solution, false);
+
+        assertEquals(fingerprint, SolutionFingerprint.of(taskList, renamedResources, false));
+        assertEquals(fingerprint.hashCode(), SolutionFingerprint.of(taskList, renamedResources, false).hashCode());
+        assertEquals(fingerprint, SolutionFingerprint.of(taskList, movedInstance, false));
+        assertNotEquals(fingerprint, SolutionFingerprint.of(taskList, sharedResource, false));
+        assertNotEquals(fingerprint, SolutionFingerprint.of(taskList, movedTask, false));
+    }
+
+    @Test
+    void fingerprintUsesReleaseTimesRelativeToThePhase() {
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new Task(0, 10, true, false));
+        int[] solution = {3, 5, 2, 0};
+        int[] shiftedSolution = {4, 6, 2, 0};
+
+        taskList.get(0).setPhase(1);
+        SolutionFingerprint fingerprint = SolutionFingerprint.of(taskList, solution, true);
+        taskList.get(0).setPhase(2);
+
+        // the same relative release time and deadline, but a different phase
+        assertNotEquals(fingerprint, SolutionFingerprint.of(taskList, shiftedSolution, true));
+    }
+}